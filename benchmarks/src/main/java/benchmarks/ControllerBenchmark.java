@@ -0,0 +1,121 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import controller.WordleController;
+import model.WordleModel;
+import utilities.Constants;
+import utilities.GuessCheck;
+import utilities.IllegalGuessException;
+
+/**
+ *
+ * Measures the controller's guess path for valid and invalid guesses, both
+ * through makeGuess, which throws, and checkGuess, which only returns a code. The
+ * answer is fixed and never guessed. Valid guesses are made on their own game,
+ * which is replaced outside of the measured time once every NUMBER_OF_GUESSES
+ * guesses, so the guess latency doesn't include creating a game.
+ *
+ * @author Luke Genova
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerBenchmark {
+
+	private static final String ANSWER = "crane";
+	private static final String[] VALID_GUESSES = {"slate", "pious", "lemon", "eerie", "adieu", "zymic"};
+
+	private WordleController controller;
+
+	/**
+	 * The game valid guesses are made on, which is replaced before it runs out
+	 * of guesses.
+	 */
+	@State(Scope.Thread)
+	public static class ValidGame {
+
+		WordleController controller;
+		int next = Constants.NUMBER_OF_GUESSES;
+
+		@Setup(Level.Invocation)
+		public void replaceIfFull() {
+			if (next == Constants.NUMBER_OF_GUESSES) {
+				controller = new WordleController(new WordleModel(ANSWER));
+				next = 0;
+			}
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		controller = new WordleController(new WordleModel(ANSWER));
+	}
+
+	@Benchmark
+	public int validGuess(ValidGame game) throws IllegalGuessException {
+		game.controller.makeGuess(VALID_GUESSES[game.next++]);
+		return game.controller.getAttempt();
+	}
+
+	@Benchmark
+	public String notInDictionary() {
+		return invalidGuess("qzxvw");
+	}
+
+	@Benchmark
+	public String tooShort() {
+		return invalidGuess("abc");
+	}
+
+	@Benchmark
+	public String hasDigits() {
+		return invalidGuess("ab1de");
+	}
+
+	@Benchmark
+	public GuessCheck checkNotInDictionary() {
+		return controller.checkGuess("qzxvw");
+	}
+
+	@Benchmark
+	public GuessCheck checkHasDigits() {
+		return controller.checkGuess("ab1de");
+	}
+
+	@Benchmark
+	public boolean isValidWord() {
+		return controller.isValidWord("slate");
+	}
+
+	@Benchmark
+	public boolean isValidWordMiss() {
+		return controller.isValidWord("qzxvw");
+	}
+
+	private String invalidGuess(String guess) {
+		try {
+			controller.makeGuess(guess);
+			return null;
+		} catch (IllegalGuessException e) {
+			return e.getMessage();
+		}
+	}
+
+}
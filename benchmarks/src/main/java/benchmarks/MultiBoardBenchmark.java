@@ -0,0 +1,80 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.BatchScorer;
+import model.PackedDictionary;
+import model.Scorer;
+import model.WordleModel;
+import utilities.Constants;
+
+/**
+ *
+ * Measures scoring a guess against every board of a multi board game, both in
+ * a single pass with the batch scorer and by scoring each board on its own.
+ * The guess changes on every call so that the branches can't be learned.
+ *
+ * @author Luke Genova
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiBoardBenchmark {
+
+	@Param({"1", "4", "8", "32"})
+	public int boards;
+
+	private PackedDictionary dictionary;
+	private long[] answers;
+	private BatchScorer scorer;
+	private int[] patterns;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		dictionary = WordleModel.getSharedDictionary();
+		answers = new long[boards];
+		for (int i = 0; i < boards; i++) {
+			answers[i] = dictionary.packedWordAt(i * 97 % dictionary.size());
+		}
+		scorer = new BatchScorer(answers, Constants.WORD_LENGTH);
+		patterns = new int[boards];
+	}
+
+	private long nextGuess() {
+		next = next + 1 == dictionary.size() ? 0 : next + 1;
+		return dictionary.packedWordAt(next);
+	}
+
+	@Benchmark
+	public int[] batch() {
+		scorer.score(nextGuess(), patterns);
+		return patterns;
+	}
+
+	@Benchmark
+	public int[] eachBoard() {
+		long guess = nextGuess();
+		for (int i = 0; i < boards; i++) {
+			patterns[i] = Scorer.score(guess, answers[i], Constants.WORD_LENGTH);
+		}
+		return patterns;
+	}
+
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.PackedDictionary;
+import model.Scorer;
+
+/**
+ *
+ * Measures scoring a guess against an answer, both for packed words and for
+ * strings. The packed words are also scored for the longest word length, whose
+ * words only fit in a long.
+ *
+ * @author Luke Genova
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScorerBenchmark {
+
+	private String guess;
+	private String answer;
+	private long packedGuess;
+	private long packedAnswer;
+	private long longGuess;
+	private long longAnswer;
+
+	@Setup
+	public void setUp() {
+		guess = "eerie";
+		answer = "there";
+		packedGuess = PackedDictionary.encode(guess);
+		packedAnswer = PackedDictionary.encode(answer);
+		longGuess = PackedDictionary.encode("territories");
+		longAnswer = PackedDictionary.encode("interesting");
+	}
+
+	@Benchmark
+	public int scorePacked() {
+		return Scorer.score(packedGuess, packedAnswer, 5);
+	}
+
+	@Benchmark
+	public int scorePackedLongWords() {
+		return Scorer.score(longGuess, longAnswer, 11);
+	}
+
+	@Benchmark
+	public int scoreStrings() {
+		return Scorer.score(guess, answer);
+	}
+
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.WordleModel;
+import utilities.Guess;
+import utilities.INDEX_RESULT;
+import view.TextRenderer;
+import view.WordleTextView;
+
+/**
+ *
+ * Measures rendering the text version of the board and the keyboard for a
+ * game that is half way through, both as separate strings and as one frame
+ * drawn into a renderer that is reused.
+ *
+ * @author Luke Genova
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TextViewBenchmark {
+
+	private Guess[] progress;
+	private INDEX_RESULT[] guessedCharacters;
+	private final TextRenderer renderer = new TextRenderer(false);
+	private final TextRenderer colorRenderer = new TextRenderer(true);
+
+	@Setup
+	public void setUp() {
+		WordleModel model = new WordleModel("crane");
+		model.makeGuess(0, "slate");
+		model.makeGuess(1, "pious");
+		model.makeGuess(2, "cramp");
+		progress = model.getProgress();
+		guessedCharacters = model.getGuessedCharacters();
+	}
+
+	@Benchmark
+	public String printProgress() {
+		return WordleTextView.printProgress(progress);
+	}
+
+	@Benchmark
+	public String printGuessedCharacters() {
+		return WordleTextView.printGuessedCharacters(guessedCharacters);
+	}
+
+	@Benchmark
+	public CharSequence renderFrame() {
+		return renderer.clear().progress(progress, 5).line("").guessedCharacters(guessedCharacters).getFrame();
+	}
+
+	@Benchmark
+	public CharSequence renderColorFrame() {
+		return colorRenderer.clear().progress(progress, 5).line("").guessedCharacters(guessedCharacters).getFrame();
+	}
+
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.DictionaryTrie;
+import model.WordleModel;
+
+/**
+ *
+ * Measures the queries the GUI makes on every key press: whether a word starts
+ * with the letters typed so far and which words do.
+ *
+ * @author Luke Genova
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrieBenchmark {
+
+	private DictionaryTrie trie;
+	private final int[] completions = new int[5];
+
+	@Setup
+	public void setUp() {
+		trie = DictionaryTrie.forDictionary(WordleModel.getSharedDictionary());
+	}
+
+	@Benchmark
+	public boolean hasPrefix() {
+		return trie.hasPrefix("cran");
+	}
+
+	@Benchmark
+	public boolean hasPrefixMiss() {
+		return trie.hasPrefix("cqx");
+	}
+
+	@Benchmark
+	public boolean contains() {
+		return trie.contains("crane");
+	}
+
+	@Benchmark
+	public int completions() {
+		return trie.completions("cr", completions);
+	}
+
+}
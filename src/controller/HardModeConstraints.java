@@ -0,0 +1,203 @@
+package controller;
+
+import model.PackedDictionary;
+import utilities.Constants;
+import utilities.Guess;
+import utilities.INDEX_RESULT;
+
+/**
+ * This class keeps track of the hints a hard mode game has revealed so far and
+ * checks that a new guess uses all of them. Instead of going back over every
+ * earlier guess, the hints are folded into a small state after each guess is
+ * scored: the letter that has to be at each index, the number of times each
+ * letter has to appear, and a bit mask of the letters that are not in the answer.
+ * Checking a guess only looks at its own letters, so it takes the same time no
+ * matter how many guesses have been made.
+ * 
+ * @author Luke Genova
+ *
+ */
+public class HardModeConstraints {
+	
+	/* Marks an index whose letter isn't known yet */
+	private static final byte UNKNOWN = -1;
+	
+	private final int wordLength;
+	
+	/* The alphabet index of the letter that has to be at each index, or UNKNOWN */
+	private final byte[] fixedLetters;
+	
+	/* The number of times each letter has to appear, stored by alphabet index */
+	private final byte[] requiredCounts;
+	
+	/* Bit masks of the letters that have a required count and the letters that are not in the answer */
+	private int requiredLetters;
+	private int excludedLetters;
+	
+	/**
+	 * HardModeConstraints constructor. A new game has no constraints.
+	 * 
+	 * @param wordLength The number of letters in a word of the game.
+	 */
+	public HardModeConstraints(int wordLength) {
+		this.wordLength = wordLength;
+		this.fixedLetters = new byte[wordLength];
+		this.requiredCounts = new byte[Constants.LETTERS_IN_ALPHABET];
+		for (int i = 0; i < wordLength; i++) {
+			fixedLetters[i] = UNKNOWN;
+		}
+	}
+	
+	/**
+	 * Copies the constraints of a game, so they can be read on another thread
+	 * while the game goes on.
+	 * 
+	 * @param other The constraints to copy.
+	 */
+	HardModeConstraints(HardModeConstraints other) {
+		this.wordLength = other.wordLength;
+		this.fixedLetters = other.fixedLetters.clone();
+		this.requiredCounts = other.requiredCounts.clone();
+		this.requiredLetters = other.requiredLetters;
+		this.excludedLetters = other.excludedLetters;
+	}
+	
+	/**
+	 * Adds the hints of a guess that was scored.
+	 * 
+	 * @param guess The guess and the result of each of its letters.
+	 */
+	public void update(Guess guess) {
+		String word = guess.getGuess();
+		INDEX_RESULT[] indices = guess.getIndices();
+		for (int i = 0; i < wordLength; i++) {
+			int letter = alphabetIndex(word.charAt(i));
+			if (indices[i] == INDEX_RESULT.CORRECT) {
+				fixedLetters[i] = (byte) letter;
+			}
+			if (appearsBefore(word, word.charAt(i), i)) {
+				continue;
+			}
+			
+			// The number of copies that weren't marked incorrect is how many times
+			// the answer has the letter at least.
+			int found = 0;
+			for (int j = i; j < wordLength; j++) {
+				if (Character.toLowerCase(word.charAt(j)) == Character.toLowerCase(word.charAt(i)) 
+						&& indices[j] != INDEX_RESULT.INCORRECT) {
+					found++;
+				}
+			}
+			if (found > requiredCounts[letter]) {
+				requiredCounts[letter] = (byte) found;
+				requiredLetters |= 1 << letter;
+			}
+			if (found == 0 && requiredCounts[letter] == 0) {
+				excludedLetters |= 1 << letter;
+			}
+		}
+	}
+	
+	/**
+	 * Checks if a guess uses every hint revealed so far.
+	 * 
+	 * @param guess A string of a valid guess of the game's word length.
+	 * @return A string explaining which hint the guess ignores, or null if it uses all of them.
+	 */
+	public String check(String guess) {
+		int guessLetters = 0;
+		for (int i = 0; i < wordLength; i++) {
+			int letter = alphabetIndex(guess.charAt(i));
+			if (fixedLetters[i] != UNKNOWN && fixedLetters[i] != letter) {
+				return "Guess is invalid in hard mode because letter " + (i + 1) + " must be " 
+						+ letterName(fixedLetters[i]) + ".";
+			}
+			if ((excludedLetters & (1 << letter)) != 0) {
+				return "Guess is invalid in hard mode because " + letterName(letter) + " is not in the answer.";
+			}
+			guessLetters |= 1 << letter;
+		}
+		
+		// Only the letters that have a required count are counted.
+		int required = requiredLetters;
+		while (required != 0) {
+			int letter = Integer.numberOfTrailingZeros(required);
+			required &= required - 1;
+			int count = 0;
+			if ((guessLetters & (1 << letter)) != 0) {
+				for (int i = 0; i < wordLength; i++) {
+					if (alphabetIndex(guess.charAt(i)) == letter) {
+						count++;
+					}
+				}
+			}
+			if (count < requiredCounts[letter]) {
+				String times = requiredCounts[letter] == 1 ? "" : " " + requiredCounts[letter] + " times";
+				return "Guess is invalid in hard mode because it must contain " + letterName(letter) + times + ".";
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Checks if a packed guess uses every hint revealed so far. It agrees with 
+	 * check, but doesn't build a message, so it is used when only the answer is needed.
+	 * 
+	 * @param packed The packed word of a guess of the game's word length.
+	 * @return A boolean of whether the guess uses every hint.
+	 */
+	public boolean allows(long packed) {
+		int guessLetters = 0;
+		for (int i = 0; i < wordLength; i++) {
+			int letter = PackedDictionary.letterAt(packed, i, wordLength);
+			if (fixedLetters[i] != UNKNOWN && fixedLetters[i] != letter) {
+				return false;
+			}
+			if ((excludedLetters & (1 << letter)) != 0) {
+				return false;
+			}
+			guessLetters |= 1 << letter;
+		}
+		
+		int required = requiredLetters & ~guessLetters;
+		if (required != 0) {
+			return false;
+		}
+		required = requiredLetters;
+		while (required != 0) {
+			int letter = Integer.numberOfTrailingZeros(required);
+			required &= required - 1;
+			if (requiredCounts[letter] == 1) {
+				continue;
+			}
+			int count = 0;
+			for (int i = 0; i < wordLength; i++) {
+				if (PackedDictionary.letterAt(packed, i, wordLength) == letter) {
+					count++;
+				}
+			}
+			if (count < requiredCounts[letter]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static int alphabetIndex(char letter) {
+		return Character.toLowerCase(letter) - 'a';
+	}
+	
+	private static char letterName(int alphabetIndex) {
+		return (char) ('A' + alphabetIndex);
+	}
+	
+	private static boolean appearsBefore(String word, char letter, int position) {
+		for (int i = 0; i < position; i++) {
+			if (Character.toLowerCase(word.charAt(i)) == Character.toLowerCase(letter)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,135 @@
+package controller;
+
+import metrics.Metrics;
+import model.MultiBoardModel;
+import utilities.GuessCheck;
+import utilities.IllegalGuessException;
+
+/**
+ * This class represents the controller of a game with several boards. It
+ * validates the user's guesses the same way as the classic controller, gives
+ * the valid ones to the model and determines when the game is over, which is
+ * once every board is solved or the user runs out of guesses.
+ * 
+ * @author Luke Genova
+ *
+ */
+public class MultiBoardController {
+	
+	private MultiBoardModel model;
+	
+	/*
+	 * Keeps track of how many attempts the user has. Used to index into the progress arrays.
+	 */
+	private int attempt;
+	
+	/**
+	 * MultiBoardController constructor.
+	 * @param model A model object that holds every board of the game.
+	 */
+	public MultiBoardController(MultiBoardModel model) {
+		this.model = model;
+		this.attempt = 1;
+	}
+	
+	/**
+	 * A method that determines if the game is over or not. 
+	 * 
+	 * @return A boolean whether the game has ended or not.
+	 */
+	public boolean isGameOver() {
+		return isWon() || attempt > model.getMode().getGuessLimit();
+	}
+	
+	/**
+	 * A method that determines if every board has been solved.
+	 * 
+	 * @return A boolean whether the user won the game.
+	 */
+	public boolean isWon() {
+		return model.getSolvedCount() == model.getBoardCount();
+	}
+	
+	/**
+	 * This method checks if the user's guess is a word in the 
+	 * dictionary. The answer list is checked before the rest of the guesses.
+	 * 
+	 * @param guess A string that represents the user's guess.
+	 * @return A boolean value (either true or false) on whether 
+	 * the guess is a valid word.
+	 */
+	public boolean isValidWord(String guess) {
+		return model.getWordLists().contains(guess);
+	}
+	
+	/**
+	 * Checks if a guess can be played, without making it.
+	 * 
+	 * @param guess A string that contains the user's guess to the game.
+	 * @return The result of the check, VALID if the guess can be played.
+	 */
+	public GuessCheck checkGuess(String guess) {
+		return WordleController.checkWord(guess, model.getWordLists(), null);
+	}
+	
+	/**
+	 * Makes a guess on every board if it can be played. A rejected guess only 
+	 * returns its code, so callers that expect a lot of invalid guesses don't pay
+	 * for an exception.
+	 * 
+	 * @param guess A string that contains the user's guess to the game.
+	 * @return The result of the check, VALID if the guess was made.
+	 */
+	public GuessCheck tryGuess(String guess) {
+		long start = Metrics.startTimer();
+		GuessCheck check = checkGuess(guess);
+		Metrics.VALIDATION.recordSince(start);
+		if (!check.isValid()) {
+			Metrics.guessRejected(check);
+			return check;
+		}
+		model.makeGuess(attempt-1, guess);
+		Metrics.GUESSES_ACCEPTED.increment();
+		this.attempt++;
+		return check;
+	}
+	
+	/**
+	 * Performs any work necessary when a guess occurs. Checks if the 
+	 * guess is valid and gives it to the model to be scored on every board.
+	 * 
+	 * @param guess A string that contains the user's guess to the game.
+	 * @throws IllegalGuessException An exception where the user typed a guess
+	 * that is invalid.
+	 */
+	public void makeGuess(String guess) throws IllegalGuessException {
+		GuessCheck check = tryGuess(guess);
+		if (!check.isValid()) {
+			throw new IllegalGuessException(check.getMessage(), check);
+		}
+	}
+	
+	/**
+	 * A getter method that returns the answers of every board, in order.
+	 * 
+	 * @return An array of strings of the answers.
+	 */
+	public String[] getAnswers() {
+		String[] answers = new String[model.getBoardCount()];
+		for (int board = 0; board < answers.length; board++) {
+			answers[board] = model.getAnswer(board);
+		}
+		return answers;
+	}
+	
+	/**
+	 * A getter method that returns how many attempts the user 
+	 * has made.
+	 * 
+	 * @return A integer that represents the number of attempts the user made.
+	 */
+	public int getAttempt() {
+		return attempt;
+	}
+
+}
@@ -1,10 +1,14 @@
 package controller;
 
-import java.util.Set;
+import java.util.function.Supplier;
 
+import metrics.Metrics;
+import model.PackedDictionary;
+import model.WordLists;
 import model.WordleModel;
-import utilities.Constants;
+import solver.Solver;
 import utilities.Guess;
+import utilities.GuessCheck;
 import utilities.IllegalGuessException;
 
 /**
@@ -14,6 +18,8 @@ import utilities.IllegalGuessException;
  * validated, it gives the input to the model. This class also determines 
  * when the game is over. Basically, the controller handles the game logistics.
  * 
+ * When the game is played in hard mode, the controller also rejects guesses 
+ * that don't use the hints revealed by the earlier guesses.
  * 
  * @author Luke Genova
  *
@@ -32,6 +38,11 @@ public class WordleController {
 	 */
 	private boolean guessedCorrectly;
 	
+	/*
+	 * The hints every guess has to use, or null if the game isn't in hard mode.
+	 */
+	private final HardModeConstraints constraints;
+	
 	/**
 	 * WordleController constructor.
 	 * @param model A model object that represents the model component of the MVC.
@@ -40,6 +51,11 @@ public class WordleController {
 		this.model = model;
 		this.attempt = 1;
 		this.guessedCorrectly = false;
+		if (model.getMode().isHardMode()) {
+			this.constraints = new HardModeConstraints(model.getMode().getWordLength());
+		} else {
+			this.constraints = null;
+		}
 	} 
 	
 	/**
@@ -50,7 +66,7 @@ public class WordleController {
 	public boolean isGameOver() {
 		if (guessedCorrectly) {
 			return true;
-		} else if (attempt > Constants.NUMBER_OF_GUESSES) {
+		} else if (attempt > model.getMode().getGuessLimit()) {
 			return true;
 		} else {
 			return false;
@@ -68,51 +84,59 @@ public class WordleController {
 	}
 	
 	/**
-	 * This method checks for any specific exceptions the user's guess 
-	 * contains. 
+	 * This method checks a guess in a single pass over its characters, which also
+	 * packs it for the dictionary lookup. Nothing is created, so rejecting a guess
+	 * is as cheap as accepting one. It is shared with the controller of multi 
+	 * board games.
 	 * 
 	 * @param guess A string of the original guess.
-	 * @return A string statement that shows the reason for the user's guess to be 
-	 * invalid.  
-	 */
-	private String checkingExceptions(String guess) {
-		String problem = "Guess is not a valid word in the dictionary.";
-		if (guess.length() > 5) {
-			problem = "Guess is invalid because its too long.";
-			return problem;
-		} else if (guess.length() < 5){
-			problem = "Guess is invalid because its too short.";
-			return problem;
-		} else {
-			for (int i = 0; i < guess.length(); i++) {
-				char letter = guess.charAt(i);
-				if (letter >= 48 && letter <= 57) {
-					problem = "Guess is invalid because it contains digits.";
-					return problem;
-				} else if (!(letter >= 'a' && letter <= 'z') && !(letter >= 'A' && letter <= 'Z')) {
-					problem = "Guess is invalid because it has characters that are not allowed.";
-					return problem;
-				} else {
-					continue;
-				}
+	 * @param wordLists The guesses of the game's word length.
+	 * @param constraints The hints the guess has to use, or null if the game isn't
+	 * in hard mode.
+	 * @return The result of the check, VALID if the guess can be played.
+	 */
+	static GuessCheck checkWord(String guess, WordLists wordLists, HardModeConstraints constraints) {
+		int wordLength = wordLists.getWordLength();
+		if (guess.length() > wordLength) {
+			return GuessCheck.TOO_LONG;
+		} else if (guess.length() < wordLength) {
+			return GuessCheck.TOO_SHORT;
+		}
+		long packed = 0;
+		for (int i = 0; i < wordLength; i++) {
+			char letter = guess.charAt(i);
+			int index;
+			if (letter >= 'a' && letter <= 'z') {
+				index = letter - 'a';
+			} else if (letter >= 'A' && letter <= 'Z') {
+				index = letter - 'A';
+			} else if (letter >= '0' && letter <= '9') {
+				return GuessCheck.DIGITS;
+			} else {
+				return GuessCheck.BAD_CHARACTERS;
 			}
-			
-			return problem;
+			packed = (packed << PackedDictionary.BITS_PER_LETTER) | index;
 		}
-		
+		if (!wordLists.contains(packed)) {
+			return GuessCheck.NOT_IN_DICTIONARY;
+		}
+		if (constraints != null && !constraints.allows(packed)) {
+			return GuessCheck.HARD_MODE_VIOLATION;
+		}
+		return GuessCheck.VALID;
 	}
 	
 	
 	/**
 	 * This method checks if the user's guess is a word in the 
-	 * dictionary.
+	 * dictionary. The answer list is checked before the rest of the guesses.
 	 * 
 	 * @param guess A string that represents the user's guess.
 	 * @return A boolean value (either true or false) on whether 
 	 */
-	private boolean isValidWord(String guess) {
-		Set<String> dictionary = model.getDictionary();
-		if (dictionary.contains(guess.toLowerCase())) {
+	public boolean isValidWord(String guess) {
+		WordLists wordLists = model.getWordLists();
+		if (wordLists.contains(guess)) {
 			return true;
 		} else {
 			return false;
@@ -120,28 +144,125 @@ public class WordleController {
 	}
 	
 	/**
-	 * Performs any work necessary when a guess occurs. Checks if the 
-	 * guess is the correct answer and notifies the model of the user's input.
+	 * Checks if a guess can be played, without making it.
 	 * 
 	 * @param guess A string that contains the user's guess to the game.
-	 * @throws IllegalGuessException An exception where the user typed a guess
-	 * that is invalid.
+	 * @return The result of the check, VALID if the guess can be played.
 	 */
-	public void makeGuess(String guess) throws IllegalGuessException {
-		
-		// Checks if the word is valid. If not, throw exception.
-		if (!isValidWord(guess)) {
-			String exception = checkingExceptions(guess);
-			throw new IllegalGuessException(exception);
+	public GuessCheck checkGuess(String guess) {
+		return checkWord(guess, model.getWordLists(), constraints);
+	}
+	
+	/**
+	 * Makes a guess if it can be played. A rejected guess only returns its code,
+	 * so callers that expect a lot of invalid guesses, such as bots, don't pay for
+	 * an exception.
+	 * 
+	 * @param guess A string that contains the user's guess to the game.
+	 * @return The result of the check, VALID if the guess was made.
+	 */
+	public GuessCheck tryGuess(String guess) {
+		long start = Metrics.startTimer();
+		GuessCheck check = checkGuess(guess);
+		Metrics.VALIDATION.recordSince(start);
+		if (!check.isValid()) {
+			Metrics.guessRejected(check);
+			return check;
 		}
 		model.makeGuess(attempt-1, guess);
+		Metrics.GUESSES_ACCEPTED.increment();
 		
 		// Check if the current guess was correct.
 		Guess current_guess = model.getProgress()[attempt-1];
+		if (constraints != null) {
+			constraints.update(current_guess);
+		}
 		this.attempt++;
 		if (current_guess.getIsCorrect() == true){
 			this.guessedCorrectly = true;
 		}
+		return check;
+	}
+	
+	/**
+	 * Performs any work necessary when a guess occurs. Checks if the 
+	 * guess is the correct answer and notifies the model of the user's input.
+	 * 
+	 * @param guess A string that contains the user's guess to the game.
+	 * @throws IllegalGuessException An exception where the user typed a guess
+	 * that is invalid.
+	 */
+	public void makeGuess(String guess) throws IllegalGuessException {
+		GuessCheck check = tryGuess(guess);
+		if (!check.isValid()) {
+			throw new IllegalGuessException(explain(guess, check), check);
+		}
+	}
+	
+	/**
+	 * Returns the message that explains why a guess was rejected. In hard mode,
+	 * the message names the hint the guess ignores.
+	 * 
+	 * @param guess A string that contains the rejected guess.
+	 * @param check The reason the guess was rejected.
+	 * @return A string of the message.
+	 */
+	public String explain(String guess, GuessCheck check) {
+		if (check == GuessCheck.HARD_MODE_VIOLATION && constraints != null) {
+			String exception = constraints.check(guess);
+			if (exception != null) {
+				return exception;
+			}
+		}
+		return check.getMessage();
+	}
+	
+	/**
+	 * Recommends the next guess by finding the word that is expected to narrow
+	 * down the possible answers the most. In hard mode, a recommendation that
+	 * ignores a hint is replaced by a word that could still be the answer, since 
+	 * those always use every hint.
+	 * 
+	 * @return A string of the recommended guess, or null if the game is over.
+	 */
+	public String suggestGuess() {
+		return hintTask().get();
+	}
+	
+	/**
+	 * Starts working out the first hint of the game's word lists in the background,
+	 * so the first hint the user asks for doesn't have to wait for it. Only views
+	 * that show hints need to call this.
+	 */
+	public void prepareHints() {
+		Solver.warmUp(model.getWordLists());
+	}
+	
+	/**
+	 * Takes what a hint of the current attempt needs from the game, so the hint can
+	 * be worked out on another thread while guesses are made. Working out a hint can
+	 * take a while, since it scores every word against the remaining answers. This
+	 * method has to be called on the thread that makes the guesses, the task it 
+	 * returns can run on any thread.
+	 * 
+	 * @return A task that returns the same recommendation as suggestGuess, or null 
+	 * if the game is over.
+	 */
+	public Supplier<String> hintTask() {
+		if (isGameOver()) {
+			return () -> null;
+		}
+		int[] candidates = model.remainingCandidates();
+		WordLists wordLists = model.getWordLists();
+		HardModeConstraints hints = constraints == null ? null : new HardModeConstraints(constraints);
+		return () -> {
+			String suggestion = Solver.forWordLists(wordLists).suggest(candidates);
+			if (hints != null && suggestion != null && hints.check(suggestion) != null 
+					&& candidates.length > 0) {
+				suggestion = wordLists.getAnswers().wordAt(candidates[0]);
+			}
+			return suggestion;
+		};
 	}
 	
 	/**
@@ -0,0 +1,43 @@
+package loadtest;
+
+import controller.WordleController;
+import model.WordleModel;
+
+/**
+ *
+ * This target plays games directly on controllers in the same process, so the
+ * latency that is measured is only the cost of WordleController.tryGuess.
+ * Invalid guesses are rejected with a code instead of an exception, the same
+ * way the server rejects them.
+ *
+ * @author Luke Genova
+ *
+ */
+public class InProcessTarget implements LoadTarget {
+
+	@Override
+	public Connection connect() {
+		return new Connection() {
+			@Override
+			public Game newGame() {
+				WordleController controller = new WordleController(new WordleModel());
+				return new Game() {
+					@Override
+					public boolean guess(String word) {
+						controller.tryGuess(word);
+						return controller.isGameOver();
+					}
+
+					@Override
+					public void end() {
+					}
+				};
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+	}
+
+}
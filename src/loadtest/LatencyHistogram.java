@@ -0,0 +1,141 @@
+package loadtest;
+
+/**
+ *
+ * This class records latencies in buckets that grow with the value, in the same
+ * way as HdrHistogram: every power of two is split into 64 equally sized buckets,
+ * so any recorded value is off by less than 1.6% while the whole range of a long
+ * only takes a few thousand counters. A histogram isn't thread safe. Every
+ * thread should record into its own histogram and merge them at the end.
+ *
+ * @author Luke Genova
+ *
+ */
+public class LatencyHistogram {
+
+	/* Values below this are counted exactly */
+	private static final int LINEAR_BUCKETS = 128;
+
+	/* Number of buckets each later power of two is split into */
+	private static final int SUB_BUCKETS = 64;
+	private static final int SUB_BUCKET_BITS = 6;
+
+	private static final int BUCKET_COUNT = LINEAR_BUCKETS + (64 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+	private final long[] counts = new long[BUCKET_COUNT];
+	private long total;
+	private long sum;
+	private long max;
+
+	/**
+	 * Records a value.
+	 *
+	 * @param value A non negative value, usually a latency in nanoseconds.
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		counts[bucketOf(value)]++;
+		total++;
+		sum += value;
+		if (value > max) {
+			max = value;
+		}
+	}
+
+	/**
+	 * Adds the values recorded by another histogram to this one.
+	 *
+	 * @param other The histogram to add.
+	 */
+	public void merge(LatencyHistogram other) {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] += other.counts[i];
+		}
+		total += other.total;
+		sum += other.sum;
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * Returns a value that the given percentage of recorded values are at or below.
+	 *
+	 * @param percentile A percentage between 0 and 100.
+	 * @return The highest value of the bucket the percentile falls in, or 0 if
+	 * nothing was recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(highestValueOf(i), max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return The number of values.
+	 */
+	public long getCount() {
+		return total;
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 *
+	 * @return The largest value, or 0 if nothing was recorded.
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns the average of the recorded values.
+	 *
+	 * @return The mean, or 0 if nothing was recorded.
+	 */
+	public double getMean() {
+		return total == 0 ? 0 : (double) sum / total;
+	}
+
+	/**
+	 * Returns the bucket a value is counted in.
+	 *
+	 * @param value A non negative value.
+	 * @return The index of the bucket.
+	 */
+	static int bucketOf(long value) {
+		if (value < LINEAR_BUCKETS) {
+			return (int) value;
+		}
+		// The top 7 bits of the value pick the bucket within its power of two.
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int sub = (int) (value >>> shift) - SUB_BUCKETS;
+		return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Returns the highest value that is counted in a bucket.
+	 *
+	 * @param bucket The index of the bucket.
+	 * @return The highest value of the bucket.
+	 */
+	static long highestValueOf(int bucket) {
+		if (bucket < LINEAR_BUCKETS) {
+			return bucket;
+		}
+		int shift = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+		long sub = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((sub + 1) << shift) - 1;
+	}
+
+}
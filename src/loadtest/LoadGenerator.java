@@ -0,0 +1,275 @@
+package loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import model.PackedDictionary;
+import model.WordleModel;
+import server.GameService;
+import server.WordleServer;
+
+/**
+ *
+ * This class puts load on the guess path and measures its latency. Every worker
+ * thread keeps a number of games open and makes random guesses in each game in
+ * turn, starting a new game whenever one ends. A share of the guesses are
+ * invalid (not in the dictionary, too short or with digits), since those take
+ * a different path through the controller.
+ *
+ * In closed loop mode (the default) every worker sends its next guess as soon
+ * as the last one is answered. In open loop mode guesses are sent at a fixed
+ * rate, and the latency of a guess is measured from when it should have been
+ * sent, so a slow response also counts against the guesses queued behind it.
+ *
+ * Latencies of accepted and rejected guesses are recorded in separate
+ * histograms and reported as percentiles. A request that fails is counted as
+ * an error and the worker connects again, starting its games over, so the
+ * run keeps going while the target is restarted or drops connections.
+ *
+ * Options (all optional):
+ *
+ * --target=local|server|inprocess  local starts a server in this process (default local)
+ * --host=name --port=number         the server to connect to with --target=server
+ * --threads=n                       the number of worker threads (default 4)
+ * --games=n                         the number of games each worker keeps open (default 2500)
+ * --seconds=n                       how long to run (default 10)
+ * --rate=n                          guesses per second over all workers, 0 for closed loop (default 0)
+ * --invalid=fraction                the share of guesses that are invalid (default 0.1)
+ *
+ * @author Luke Genova
+ *
+ */
+public class LoadGenerator {
+
+	private static final String[] INVALID_GUESSES = {"qzxvj", "abc", "ab1de", "toolong", "xx-yy"};
+
+	/* How long a worker waits before connecting again after the target couldn't be reached */
+	private static final long RECONNECT_DELAY = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private final LoadTarget target;
+	private final int threads;
+	private final int gamesPerThread;
+	private final double rate;
+	private final double invalidShare;
+
+	/**
+	 * LoadGenerator constructor.
+	 *
+	 * @param target The target to play games on.
+	 * @param threads The number of worker threads.
+	 * @param gamesPerThread The number of games each worker keeps open.
+	 * @param rate Guesses per second over all workers, or 0 for closed loop.
+	 * @param invalidShare The share of guesses that are invalid, between 0 and 1.
+	 */
+	public LoadGenerator(LoadTarget target, int threads, int gamesPerThread, double rate, double invalidShare) {
+		this.target = target;
+		this.threads = threads;
+		this.gamesPerThread = gamesPerThread;
+		this.rate = rate;
+		this.invalidShare = invalidShare;
+	}
+
+	public static void main(String[] args) throws Exception {
+		String targetName = option(args, "target", "local");
+		String host = option(args, "host", "localhost");
+		int port = Integer.parseInt(option(args, "port", Integer.toString(WordleServer.DEFAULT_PORT)));
+		int threads = Integer.parseInt(option(args, "threads", "4"));
+		int games = Integer.parseInt(option(args, "games", "2500"));
+		int seconds = Integer.parseInt(option(args, "seconds", "10"));
+		double rate = Double.parseDouble(option(args, "rate", "0"));
+		double invalid = Double.parseDouble(option(args, "invalid", "0.1"));
+
+		WordleServer server = null;
+		LoadTarget target;
+		if (targetName.equals("inprocess")) {
+			target = new InProcessTarget();
+		} else if (targetName.equals("server")) {
+			target = new ServerTarget(host, port);
+		} else {
+			server = new WordleServer(0, new GameService(seconds * 2L));
+			Thread serverThread = new Thread(server::serve, "wordle-server");
+			serverThread.setDaemon(true);
+			serverThread.start();
+			target = new ServerTarget("localhost", server.getPort());
+		}
+
+		LoadResult result = new LoadGenerator(target, threads, games, rate, invalid).run(seconds);
+		System.out.print(result);
+		if (server != null) {
+			server.close();
+		}
+	}
+
+	/**
+	 * Returns the value of a --name=value option.
+	 *
+	 * @param args The command line arguments.
+	 * @param name The name of the option.
+	 * @param defaultValue The value to use if the option isn't given.
+	 * @return The value of the option.
+	 */
+	private static String option(String[] args, String name, String defaultValue) {
+		String prefix = "--" + name + "=";
+		for (String arg : args) {
+			if (arg.startsWith(prefix)) {
+				return arg.substring(prefix.length());
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Runs the workers and collects their results.
+	 *
+	 * @param seconds How long to put load on the target.
+	 * @return The latencies and throughput of the run.
+	 * @throws InterruptedException If the load generator was interrupted.
+	 */
+	public LoadResult run(int seconds) throws InterruptedException {
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+		SplittableRandom root = new SplittableRandom();
+		List<Worker> workers = new ArrayList<Worker>();
+		List<Thread> workerThreads = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			Worker worker = new Worker(root.split(), deadline);
+			Thread thread = new Thread(worker, "load-worker-" + i);
+			workers.add(worker);
+			workerThreads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : workerThreads) {
+			thread.join();
+		}
+
+		LoadResult result = new LoadResult((System.nanoTime() - start) / 1e9, rate > 0);
+		for (Worker worker : workers) {
+			result.merge(worker.accepted, worker.rejected, worker.errors);
+		}
+		return result;
+	}
+
+	/**
+	 * A worker thread that plays its own games until the deadline.
+	 */
+	private class Worker implements Runnable {
+
+		private final LatencyHistogram accepted = new LatencyHistogram();
+		private final LatencyHistogram rejected = new LatencyHistogram();
+		private final SplittableRandom random;
+		private final long deadline;
+		private long errors;
+
+		Worker(SplittableRandom random, long deadline) {
+			this.random = random;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public void run() {
+			PackedDictionary dictionary = WordleModel.getSharedDictionary();
+			long interval = rate > 0 ? (long) (1e9 * threads / rate) : 0;
+			LoadTarget.Game[] games = new LoadTarget.Game[gamesPerThread];
+			LoadTarget.Connection connection = null;
+
+			int next = 0;
+			long intended = System.nanoTime();
+			while (intended < deadline) {
+				if (connection == null) {
+					connection = open(games);
+					if (connection == null) {
+						LockSupport.parkNanos(Math.min(RECONNECT_DELAY, Math.max(0, deadline - System.nanoTime())));
+						intended = interval > 0 ? intended + interval : System.nanoTime();
+						continue;
+					}
+				}
+
+				if (interval > 0) {
+					long wait = intended - System.nanoTime();
+					if (wait > 0) {
+						LockSupport.parkNanos(wait);
+					}
+				}
+
+				boolean invalid = random.nextDouble() < invalidShare;
+				String word = invalid 
+						? INVALID_GUESSES[random.nextInt(INVALID_GUESSES.length)] 
+						: dictionary.wordAt(random.nextInt(dictionary.size()));
+				long start = interval > 0 ? intended : System.nanoTime();
+				try {
+					boolean over = games[next].guess(word);
+					long latency = System.nanoTime() - start;
+					(invalid ? rejected : accepted).record(latency);
+
+					if (over) {
+						games[next].end();
+						games[next] = connection.newGame();
+					}
+				} catch (IOException e) {
+					// The games of a broken connection are lost, so they are started again on a new one.
+					failed(e);
+					closeQuietly(connection);
+					connection = null;
+				}
+				next = (next + 1) % games.length;
+				intended = interval > 0 ? intended + interval : System.nanoTime();
+			}
+			closeQuietly(connection);
+		}
+
+		/**
+		 * Opens a connection and starts every game of the worker on it.
+		 *
+		 * @param games An array that is filled with the new games.
+		 * @return The new connection, or null if it couldn't be opened.
+		 */
+		private LoadTarget.Connection open(LoadTarget.Game[] games) {
+			LoadTarget.Connection connection = null;
+			try {
+				connection = target.connect();
+				for (int i = 0; i < games.length; i++) {
+					games[i] = connection.newGame();
+				}
+				return connection;
+			} catch (IOException e) {
+				failed(e);
+				closeQuietly(connection);
+				return null;
+			}
+		}
+
+		/**
+		 * Counts an error. Only the first error of a worker is printed, so a
+		 * target that is down doesn't flood the output.
+		 *
+		 * @param e The exception of the request that failed.
+		 */
+		private void failed(IOException e) {
+			if (errors == 0) {
+				System.err.println(Thread.currentThread().getName() + ": " + e);
+			}
+			errors++;
+		}
+
+		/**
+		 * Closes a connection, ignoring any error.
+		 *
+		 * @param connection The connection to close, or null.
+		 */
+		private void closeQuietly(LoadTarget.Connection connection) {
+			if (connection == null) {
+				return;
+			}
+			try {
+				connection.close();
+			} catch (IOException e) {
+				// The connection is already broken.
+			}
+		}
+	}
+
+}
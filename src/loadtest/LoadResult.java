@@ -0,0 +1,90 @@
+package loadtest;
+
+/**
+ *
+ * This class holds the results of a load test: the latency histograms of the
+ * accepted and rejected guesses of every worker and how long the test ran.
+ *
+ * @author Luke Genova
+ *
+ */
+public class LoadResult {
+
+	private final LatencyHistogram accepted = new LatencyHistogram();
+	private final LatencyHistogram rejected = new LatencyHistogram();
+	private final double seconds;
+	private final boolean openLoop;
+	private long errors;
+
+	/**
+	 * LoadResult constructor.
+	 *
+	 * @param seconds How long the test ran.
+	 * @param openLoop A boolean of whether guesses were sent at a fixed rate.
+	 */
+	public LoadResult(double seconds, boolean openLoop) {
+		this.seconds = seconds;
+		this.openLoop = openLoop;
+	}
+
+	/**
+	 * Adds the results of one worker.
+	 *
+	 * @param workerAccepted The latencies of the valid guesses of the worker.
+	 * @param workerRejected The latencies of the invalid guesses of the worker.
+	 * @param workerErrors The number of connection errors of the worker.
+	 */
+	void merge(LatencyHistogram workerAccepted, LatencyHistogram workerRejected, long workerErrors) {
+		accepted.merge(workerAccepted);
+		rejected.merge(workerRejected);
+		errors += workerErrors;
+	}
+
+	/**
+	 * Returns the latencies of the valid guesses.
+	 *
+	 * @return A histogram of latencies in nanoseconds.
+	 */
+	public LatencyHistogram getAccepted() {
+		return accepted;
+	}
+
+	/**
+	 * Returns the latencies of the invalid guesses.
+	 *
+	 * @return A histogram of latencies in nanoseconds.
+	 */
+	public LatencyHistogram getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Returns the number of guesses per second.
+	 *
+	 * @return The throughput of the test.
+	 */
+	public double getThroughput() {
+		return (accepted.getCount() + rejected.getCount()) / seconds;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		result.append(String.format("%s loop, %.1f seconds, %.0f guesses per second, %d errors%n", 
+				openLoop ? "Open" : "Closed", seconds, getThroughput(), errors));
+		result.append(String.format("%-9s %10s %10s %10s %10s %10s %10s%n", 
+				"", "count", "mean", "p50", "p99", "p99.9", "max"));
+		appendRow(result, "accepted", accepted);
+		appendRow(result, "rejected", rejected);
+		result.append("Latencies are in microseconds.").append(System.lineSeparator());
+		return result.toString();
+	}
+
+	private static void appendRow(StringBuilder result, String name, LatencyHistogram histogram) {
+		result.append(String.format("%-9s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n", name, 
+				histogram.getCount(), histogram.getMean() / 1000, 
+				histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0, 
+				histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMax() / 1000.0));
+	}
+
+}
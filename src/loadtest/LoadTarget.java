@@ -0,0 +1,62 @@
+package loadtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ *
+ * This interface represents something the load generator can play games on,
+ * such as controllers in the same process or a server over a socket. Every
+ * worker thread of the load generator opens its own connection, so a
+ * connection and its games only have to be used by one thread.
+ *
+ * @author Luke Genova
+ *
+ */
+public interface LoadTarget {
+
+	/**
+	 * Opens a connection for one worker thread.
+	 *
+	 * @return A new connection.
+	 * @throws IOException If the connection can't be opened.
+	 */
+	Connection connect() throws IOException;
+
+	/**
+	 * A connection that can start games.
+	 */
+	interface Connection extends Closeable {
+
+		/**
+		 * Starts a new game.
+		 *
+		 * @return The new game.
+		 * @throws IOException If the game can't be started.
+		 */
+		Game newGame() throws IOException;
+	}
+
+	/**
+	 * A game that is being played.
+	 */
+	interface Game {
+
+		/**
+		 * Makes a guess. A guess that isn't valid is rejected without ending the game.
+		 *
+		 * @param word A string that contains the guess.
+		 * @return A boolean of whether the game is over after the guess.
+		 * @throws IOException If the guess couldn't be sent.
+		 */
+		boolean guess(String word) throws IOException;
+
+		/**
+		 * Ends the game and frees anything it holds.
+		 *
+		 * @throws IOException If the game couldn't be ended.
+		 */
+		void end() throws IOException;
+	}
+
+}
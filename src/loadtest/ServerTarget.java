@@ -0,0 +1,58 @@
+package loadtest;
+
+import java.io.IOException;
+
+import server.WordleClient;
+
+/**
+ *
+ * This target plays games on a WordleServer. Every connection is its own
+ * socket, and the latency that is measured includes the round trip.
+ *
+ * @author Luke Genova
+ *
+ */
+public class ServerTarget implements LoadTarget {
+
+	private final String host;
+	private final int port;
+
+	/**
+	 * ServerTarget constructor.
+	 *
+	 * @param host The host name of the server.
+	 * @param port The port of the server.
+	 */
+	public ServerTarget(String host, int port) {
+		this.host = host;
+		this.port = port;
+	}
+
+	@Override
+	public Connection connect() throws IOException {
+		WordleClient client = new WordleClient(host, port);
+		return new Connection() {
+			@Override
+			public Game newGame() throws IOException {
+				String id = client.newGame();
+				return new Game() {
+					@Override
+					public boolean guess(String word) throws IOException {
+						return client.send("GUESS " + id + " " + word).contains("\"over\":true");
+					}
+
+					@Override
+					public void end() throws IOException {
+						client.send("END " + id);
+					}
+				};
+			}
+
+			@Override
+			public void close() throws IOException {
+				client.close();
+			}
+		};
+	}
+
+}
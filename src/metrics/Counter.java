@@ -0,0 +1,63 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * This class counts how many times something happened. The count is kept in a
+ * LongAdder, which gives every thread that is counting at the same time its own
+ * cell, so counting from many games at once never makes the threads wait on
+ * each other. Nothing is counted while metrics are turned off.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class Counter {
+
+	private final String name;
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * Counter constructor.
+	 *
+	 * @param name A string that names the counter in dumps.
+	 */
+	Counter(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Adds one to the count if metrics are turned on.
+	 */
+	public void increment() {
+		if (Metrics.isEnabled()) {
+			count.increment();
+		}
+	}
+
+	/**
+	 * Returns the number of times the counter was incremented.
+	 *
+	 * @return The count.
+	 */
+	public long get() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns the name of the counter.
+	 *
+	 * @return A string of the name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Sets the count back to 0.
+	 */
+	void reset() {
+		count.reset();
+	}
+
+}
@@ -0,0 +1,204 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import utilities.GuessCheck;
+
+/**
+ *
+ * This class holds the counters and timers of the game. The model, the
+ * controllers and the views record into them on their hot paths, so recording
+ * has to be cheap: counters and timers are LongAdders that never make threads
+ * wait on each other, and while metrics are turned off recording costs a
+ * single volatile read.
+ *
+ * Metrics are off unless the system property wordle.metrics is true or they
+ * are turned on with setEnabled, which can also be done at runtime through the
+ * MBean wordle:type=Metrics once registerMBean has been called.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class Metrics {
+
+	/* Name of the MBean in the platform MBean server */
+	public static final String MBEAN_NAME = "wordle:type=Metrics";
+
+	public static final Counter GAMES_STARTED = new Counter("games.started");
+	public static final Counter GAMES_FINISHED = new Counter("games.finished");
+	public static final Counter GAMES_WON = new Counter("games.won");
+	public static final Counter GUESSES_ACCEPTED = new Counter("guesses.accepted");
+	public static final Counter GUESSES_REJECTED = new Counter("guesses.rejected");
+
+	/* Checking a guess against the dictionary and the hard mode hints */
+	public static final Timer VALIDATION = new Timer("validation");
+
+	/* Scoring a guess and updating the letters and the remaining answers */
+	public static final Timer SCORING = new Timer("scoring");
+
+	/* Loading the words of one length from the image or the text file */
+	public static final Timer DICTIONARY_LOAD = new Timer("dictionary.load");
+
+	/* Applying the changes of a guess to a view */
+	public static final Timer VIEW_UPDATE = new Timer("view.update");
+
+	private static final Counter[] COUNTERS = {GAMES_STARTED, GAMES_FINISHED, GAMES_WON, GUESSES_ACCEPTED,
+			GUESSES_REJECTED};
+	private static final Timer[] TIMERS = {VALIDATION, SCORING, DICTIONARY_LOAD, VIEW_UPDATE};
+
+	/* Rejected guesses by the reason they were rejected, indexed by the ordinal of the GuessCheck */
+	private static final LongAdder[] REJECTIONS = new LongAdder[GuessCheck.values().length];
+
+	static {
+		for (int i = 0; i < REJECTIONS.length; i++) {
+			REJECTIONS[i] = new LongAdder();
+		}
+	}
+
+	private static volatile boolean enabled = Boolean.getBoolean("wordle.metrics");
+
+	private Metrics() {
+	}
+
+	/**
+	 * Checks if metrics are being recorded.
+	 *
+	 * @return A boolean of whether metrics are turned on.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turns recording on or off. What was recorded before is kept.
+	 *
+	 * @param on A boolean of whether to record metrics.
+	 */
+	public static void setEnabled(boolean on) {
+		enabled = on;
+	}
+
+	/**
+	 * Starts timing some work.
+	 *
+	 * @return The System.nanoTime() of now, or 0 if metrics are turned off.
+	 */
+	public static long startTimer() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Counts a guess that was rejected.
+	 *
+	 * @param reason The reason the guess was rejected.
+	 */
+	public static void guessRejected(GuessCheck reason) {
+		if (!enabled) {
+			return;
+		}
+		GUESSES_REJECTED.increment();
+		REJECTIONS[reason.ordinal()].increment();
+	}
+
+	/**
+	 * Returns the number of rejected guesses for every reason.
+	 *
+	 * @return A map from the name of the reason to the count, in the order of GuessCheck.
+	 */
+	public static Map<String, Long> getRejections() {
+		Map<String, Long> rejections = new LinkedHashMap<String, Long>();
+		for (GuessCheck reason : GuessCheck.values()) {
+			if (!reason.isValid()) {
+				rejections.put(reason.name(), REJECTIONS[reason.ordinal()].sum());
+			}
+		}
+		return rejections;
+	}
+
+	/**
+	 * Forgets everything that was recorded.
+	 */
+	public static void reset() {
+		for (Counter counter : COUNTERS) {
+			counter.reset();
+		}
+		for (Timer timer : TIMERS) {
+			timer.reset();
+		}
+		for (LongAdder rejections : REJECTIONS) {
+			rejections.reset();
+		}
+	}
+
+	/**
+	 * Registers the MBean that shows the metrics and turns them on and off.
+	 * Registering more than once does nothing.
+	 */
+	public static synchronized void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(MBEAN_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(new MetricsBean(), name);
+			}
+		} catch (JMException e) {
+			System.err.println("Could not register the metrics MBean: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns every metric as lines of text.
+	 *
+	 * @return A string with one metric per line.
+	 */
+	public static String toText() {
+		StringBuilder text = new StringBuilder(512);
+		text.append("enabled ").append(enabled).append('\n');
+		for (Counter counter : COUNTERS) {
+			text.append(counter.getName()).append(' ').append(counter.get()).append('\n');
+		}
+		for (Map.Entry<String, Long> entry : getRejections().entrySet()) {
+			text.append("guesses.rejected[").append(entry.getKey()).append("] ").append(entry.getValue()).append('\n');
+		}
+		for (Timer timer : TIMERS) {
+			text.append(timer.getName()).append(' ').append(timer.snapshot()).append('\n');
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Returns every metric as a JSON object.
+	 *
+	 * @return A string of the JSON object.
+	 */
+	public static String toJson() {
+		StringBuilder json = new StringBuilder(512);
+		json.append("{\"enabled\":").append(enabled);
+		for (Counter counter : COUNTERS) {
+			json.append(",\"").append(counter.getName()).append("\":").append(counter.get());
+		}
+		json.append(",\"rejections\":{");
+		boolean first = true;
+		for (Map.Entry<String, Long> entry : getRejections().entrySet()) {
+			if (!first) {
+				json.append(',');
+			}
+			first = false;
+			json.append('"').append(entry.getKey()).append("\":").append(entry.getValue());
+		}
+		json.append('}');
+		for (Timer timer : TIMERS) {
+			json.append(",\"").append(timer.getName()).append("\":");
+			timer.snapshot().appendJson(json);
+		}
+		return json.append('}').toString();
+	}
+
+}
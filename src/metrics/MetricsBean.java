@@ -0,0 +1,85 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ *
+ * This class is the MBean that is registered for the metrics. Every method
+ * reads from or writes to Metrics.
+ *
+ * @author Luke Genova
+ *
+ */
+final class MetricsBean implements MetricsMXBean {
+
+	@Override
+	public boolean isEnabled() {
+		return Metrics.isEnabled();
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		Metrics.setEnabled(enabled);
+	}
+
+	@Override
+	public long getGamesStarted() {
+		return Metrics.GAMES_STARTED.get();
+	}
+
+	@Override
+	public long getGamesFinished() {
+		return Metrics.GAMES_FINISHED.get();
+	}
+
+	@Override
+	public long getGamesWon() {
+		return Metrics.GAMES_WON.get();
+	}
+
+	@Override
+	public long getGuessesAccepted() {
+		return Metrics.GUESSES_ACCEPTED.get();
+	}
+
+	@Override
+	public long getGuessesRejected() {
+		return Metrics.GUESSES_REJECTED.get();
+	}
+
+	@Override
+	public Map<String, Long> getRejections() {
+		return Metrics.getRejections();
+	}
+
+	@Override
+	public TimerSnapshot getValidation() {
+		return Metrics.VALIDATION.snapshot();
+	}
+
+	@Override
+	public TimerSnapshot getScoring() {
+		return Metrics.SCORING.snapshot();
+	}
+
+	@Override
+	public TimerSnapshot getDictionaryLoad() {
+		return Metrics.DICTIONARY_LOAD.snapshot();
+	}
+
+	@Override
+	public TimerSnapshot getViewUpdate() {
+		return Metrics.VIEW_UPDATE.snapshot();
+	}
+
+	@Override
+	public String dumpJson() {
+		return Metrics.toJson();
+	}
+
+	@Override
+	public void reset() {
+		Metrics.reset();
+	}
+
+}
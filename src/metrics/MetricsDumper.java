@@ -0,0 +1,104 @@
+package metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * This class writes every metric to a file on a background thread, so the
+ * numbers of a running game can be watched or collected by another program.
+ * The file is JSON if its name ends in .json and text otherwise. Every dump
+ * replaces the whole file by renaming a temporary file, so a reader never sees
+ * half of a dump, and a last dump is written when the program exits.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class MetricsDumper implements Closeable {
+
+	/* How often the metrics are written by default */
+	public static final long DEFAULT_PERIOD_SECONDS = 10;
+
+	private final Path file;
+	private final boolean json;
+	private final ScheduledExecutorService dumper;
+	private final Thread shutdownHook;
+
+	/**
+	 * Starts writing the metrics to a file.
+	 *
+	 * @param file The file the metrics are written to.
+	 * @param periodSeconds How often the metrics are written.
+	 * @return The dumper, which stops when it is closed.
+	 */
+	public static MetricsDumper start(Path file, long periodSeconds) {
+		return new MetricsDumper(file, periodSeconds);
+	}
+
+	private MetricsDumper(Path file, long periodSeconds) {
+		this.file = file;
+		this.json = file.getFileName().toString().endsWith(".json");
+		this.dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-dump");
+			thread.setDaemon(true);
+			return thread;
+		});
+		dumper.scheduleWithFixedDelay(this::dumpQuietly, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+		this.shutdownHook = new Thread(this::dumpQuietly, "metrics-final-dump");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	/**
+	 * Writes the metrics to the file now.
+	 *
+	 * @throws IOException If the file can't be written.
+	 */
+	public void dump() throws IOException {
+		String content = json ? Metrics.toJson() + "\n" : Metrics.toText();
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.write(temporary, content.getBytes(StandardCharsets.UTF_8));
+		try {
+			Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Writes the metrics, reporting a failure instead of throwing it, since the
+	 * dump runs on a thread nobody is waiting on.
+	 */
+	private void dumpQuietly() {
+		try {
+			dump();
+		} catch (IOException e) {
+			System.err.println("Could not write the metrics: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Stops the background thread and writes a last dump.
+	 *
+	 * @throws IOException If the last dump can't be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		dumper.shutdownNow();
+		try {
+			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+		} catch (IllegalStateException e) {
+			// The program is already exiting, and the hook writes the last dump.
+			return;
+		}
+		dump();
+	}
+
+}
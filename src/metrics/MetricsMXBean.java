@@ -0,0 +1,52 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ *
+ * This interface is the management view of the metrics. JMX tools such as
+ * JConsole show every getter as an attribute, and can turn recording on and
+ * off while the game is running.
+ *
+ * @author Luke Genova
+ *
+ */
+public interface MetricsMXBean {
+
+	boolean isEnabled();
+
+	void setEnabled(boolean enabled);
+
+	long getGamesStarted();
+
+	long getGamesFinished();
+
+	long getGamesWon();
+
+	long getGuessesAccepted();
+
+	long getGuessesRejected();
+
+	Map<String, Long> getRejections();
+
+	TimerSnapshot getValidation();
+
+	TimerSnapshot getScoring();
+
+	TimerSnapshot getDictionaryLoad();
+
+	TimerSnapshot getViewUpdate();
+
+	/**
+	 * Returns every metric as a JSON object.
+	 *
+	 * @return A string of the JSON object.
+	 */
+	String dumpJson();
+
+	/**
+	 * Forgets everything that was recorded.
+	 */
+	void reset();
+
+}
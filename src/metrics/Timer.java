@@ -0,0 +1,169 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * This class records how long something takes in a histogram that many threads
+ * can record into at once. Every power of two is split into 8 equally sized
+ * buckets, the same way as the LatencyHistogram of the load generator but with
+ * fewer buckets, so a value is off by less than 12.5% and a timer only needs a
+ * few hundred counters. Every bucket is a LongAdder, so recording never makes
+ * threads wait on each other.
+ *
+ * Timing starts with Metrics.startTimer(), which returns 0 while metrics are
+ * turned off, and recordSince ignores a start of 0. A timer that is turned off
+ * costs one volatile read.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class Timer {
+
+	/* Number of buckets each power of two is split into */
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private static final int BUCKET_COUNT = SUB_BUCKETS + (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final String name;
+	private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Timer constructor.
+	 *
+	 * @param name A string that names the timer in dumps.
+	 */
+	Timer(String name) {
+		this.name = name;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records the time since a start returned by Metrics.startTimer().
+	 *
+	 * @param start The System.nanoTime() the work started at, or 0 if metrics were
+	 * turned off when it started.
+	 */
+	public void recordSince(long start) {
+		if (start == 0) {
+			return;
+		}
+		record(System.nanoTime() - start);
+	}
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param nanos The duration in nanoseconds.
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		buckets[bucketOf(nanos)].increment();
+		sum.add(nanos);
+		max.accumulate(nanos);
+	}
+
+	/**
+	 * Returns the number of durations, their mean and their percentiles. Durations
+	 * recorded while the snapshot is taken may only be counted in part of it.
+	 *
+	 * @return The snapshot of the timer.
+	 */
+	public TimerSnapshot snapshot() {
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = buckets[i].sum();
+			total += counts[i];
+		}
+		long largest = max.get();
+		double mean = total == 0 ? 0 : (double) sum.sum() / total;
+		return new TimerSnapshot(total, mean, valueAt(counts, total, 50, largest),
+				valueAt(counts, total, 99, largest), valueAt(counts, total, 99.9, largest), largest);
+	}
+
+	/**
+	 * Returns the name of the timer.
+	 *
+	 * @return A string of the name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Forgets every recorded duration.
+	 */
+	void reset() {
+		for (LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		sum.reset();
+		max.reset();
+	}
+
+	/**
+	 * Returns a value that the given percentage of the counted values are at or below.
+	 *
+	 * @param counts The count of every bucket.
+	 * @param total The sum of the counts.
+	 * @param percentile A percentage between 0 and 100.
+	 * @param largest The largest recorded value.
+	 * @return The highest value of the bucket the percentile falls in, or 0 if
+	 * nothing was recorded.
+	 */
+	private static long valueAt(long[] counts, long total, double percentile, long largest) {
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(highestValueOf(i), largest);
+			}
+		}
+		return largest;
+	}
+
+	/**
+	 * Returns the bucket a value is counted in.
+	 *
+	 * @param value A non negative value.
+	 * @return The index of the bucket.
+	 */
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		// The top 4 bits of the value pick the bucket within its power of two.
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int sub = (int) (value >>> shift) - SUB_BUCKETS;
+		return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Returns the highest value that is counted in a bucket.
+	 *
+	 * @param bucket The index of the bucket.
+	 * @return The highest value of the bucket.
+	 */
+	static long highestValueOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+		long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((sub + 1) << shift) - 1;
+	}
+
+}
@@ -0,0 +1,114 @@
+package metrics;
+
+/**
+ *
+ * This class holds the durations a timer recorded at one point in time. It is
+ * shown as a composite value by JMX tools such as JConsole.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class TimerSnapshot {
+
+	private final long count;
+	private final double meanNanos;
+	private final long p50Nanos;
+	private final long p99Nanos;
+	private final long p999Nanos;
+	private final long maxNanos;
+
+	/**
+	 * TimerSnapshot constructor.
+	 *
+	 * @param count The number of durations.
+	 * @param meanNanos The mean duration in nanoseconds.
+	 * @param p50Nanos The median duration in nanoseconds.
+	 * @param p99Nanos The 99th percentile in nanoseconds.
+	 * @param p999Nanos The 99.9th percentile in nanoseconds.
+	 * @param maxNanos The longest duration in nanoseconds.
+	 */
+	public TimerSnapshot(long count, double meanNanos, long p50Nanos, long p99Nanos, long p999Nanos,
+			long maxNanos) {
+		this.count = count;
+		this.meanNanos = meanNanos;
+		this.p50Nanos = p50Nanos;
+		this.p99Nanos = p99Nanos;
+		this.p999Nanos = p999Nanos;
+		this.maxNanos = maxNanos;
+	}
+
+	/**
+	 * Returns the number of recorded durations.
+	 *
+	 * @return The count.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the mean duration.
+	 *
+	 * @return The mean in nanoseconds, or 0 if nothing was recorded.
+	 */
+	public double getMeanNanos() {
+		return meanNanos;
+	}
+
+	/**
+	 * Returns the median duration.
+	 *
+	 * @return The median in nanoseconds.
+	 */
+	public long getP50Nanos() {
+		return p50Nanos;
+	}
+
+	/**
+	 * Returns the duration 99% of the durations are at or below.
+	 *
+	 * @return The 99th percentile in nanoseconds.
+	 */
+	public long getP99Nanos() {
+		return p99Nanos;
+	}
+
+	/**
+	 * Returns the duration 99.9% of the durations are at or below.
+	 *
+	 * @return The 99.9th percentile in nanoseconds.
+	 */
+	public long getP999Nanos() {
+		return p999Nanos;
+	}
+
+	/**
+	 * Returns the longest duration.
+	 *
+	 * @return The longest duration in nanoseconds.
+	 */
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	/**
+	 * Appends the snapshot as a JSON object.
+	 *
+	 * @param json The builder to append to.
+	 */
+	void appendJson(StringBuilder json) {
+		json.append("{\"count\":").append(count)
+				.append(",\"meanNanos\":").append(Math.round(meanNanos))
+				.append(",\"p50Nanos\":").append(p50Nanos)
+				.append(",\"p99Nanos\":").append(p99Nanos)
+				.append(",\"p999Nanos\":").append(p999Nanos)
+				.append(",\"maxNanos\":").append(maxNanos).append('}');
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + count + " mean=" + Math.round(meanNanos) + "ns p50=" + p50Nanos + "ns p99="
+				+ p99Nanos + "ns p99.9=" + p999Nanos + "ns max=" + maxNanos + "ns";
+	}
+
+}
@@ -0,0 +1,77 @@
+package model;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ *
+ * This interface chooses the answer of each new game. A view asks its source
+ * for an answer every time it starts a game, so a seeded source gives the same
+ * games in the same order every time the program runs.
+ *
+ * @author Luke Genova
+ *
+ */
+@FunctionalInterface
+public interface AnswerSource {
+
+	/* Chooses any word, differently every run */
+	AnswerSource RANDOM = dictionary -> dictionary.wordAt(ThreadLocalRandom.current().nextInt(dictionary.size()));
+
+	/**
+	 * Chooses the answer of the next game.
+	 *
+	 * @param dictionary The answer list of the game's length, which can't be empty.
+	 * @return A string of a word in the dictionary.
+	 */
+	String nextAnswer(PackedDictionary dictionary);
+
+	/**
+	 * Returns a source that chooses the same sequence of answers for the same seed.
+	 *
+	 * @param seed The seed of the random number generator.
+	 * @return The answer source.
+	 */
+	static AnswerSource seeded(long seed) {
+		Random random = new Random(seed);
+		return dictionary -> {
+			synchronized (random) {
+				return dictionary.wordAt(random.nextInt(dictionary.size()));
+			}
+		};
+	}
+
+	/**
+	 * Returns a source that always chooses the same answer.
+	 *
+	 * @param answer A string of the answer, which has to be in the dictionary.
+	 * @return The answer source.
+	 */
+	static AnswerSource fixed(String answer) {
+		return dictionary -> answer;
+	}
+
+	/**
+	 * Returns a source that always chooses the daily puzzle of the same date.
+	 *
+	 * @param date The date of the puzzle.
+	 * @return The answer source.
+	 */
+	static AnswerSource daily(LocalDate date) {
+		return dictionary -> DailySchedule.forDictionary(dictionary).answerFor(date);
+	}
+
+	/**
+	 * Returns a source that chooses the daily puzzle of the day each game is
+	 * started on, so a game started after midnight gets the next day's puzzle.
+	 *
+	 * @param clock The clock that tells the date.
+	 * @return The answer source.
+	 */
+	static AnswerSource daily(Clock clock) {
+		return dictionary -> DailySchedule.forDictionary(dictionary).answerFor(LocalDate.now(clock));
+	}
+
+}
@@ -0,0 +1,130 @@
+package model;
+
+import utilities.Constants;
+import utilities.GameMode;
+
+/**
+ *
+ * This class scores a single guess against many answers at once. When the
+ * scorer is created, every answer is unpacked into one bit mask per letter of
+ * the alphabet that holds the indices where the answer has that letter, so the
+ * number of times the answer has the letter is the bit count of the mask. The
+ * masks of every answer for the same letter are stored next to each other.
+ *
+ * Scoring a guess groups its indices by letter, and then for every letter of
+ * the guess makes one pass over the masks of all of the answers. The correct
+ * indices of a letter are the guess mask and the answer mask combined, and the
+ * copies the answer has left over mark the first remaining indices of the guess
+ * as being in the wrong index. A guess of five different letters is five short
+ * passes over arrays with no nested loops over the letters of the answers, so
+ * a game with 32 boards costs a lot less than scoring the guess 32 times.
+ *
+ * The patterns are the same as the ones from Scorer.score.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class BatchScorer {
+
+	/* Value of the digits of a mask of indices, where every digit is 1 */
+	private static final int[] DIGIT_VALUES = new int[1 << GameMode.MAX_WORD_LENGTH];
+
+	static {
+		for (int mask = 1; mask < DIGIT_VALUES.length; mask++) {
+			int lowest = Integer.numberOfTrailingZeros(mask);
+			DIGIT_VALUES[mask] = DIGIT_VALUES[mask & (mask - 1)] + Scorer.patternCount(lowest);
+		}
+	}
+
+	private final int wordLength;
+	private final int answerCount;
+
+	/* Indices where every answer has a letter, stored at [letter * answerCount + answer] */
+	private final short[] positions;
+
+	/* The letters of the guess being scored and the indices where it has them */
+	private final int[] guessLetters;
+	private final int[] guessMasks;
+
+	/**
+	 * BatchScorer constructor.
+	 *
+	 * @param answers The packed words of the answers.
+	 * @param wordLength The number of letters in every word.
+	 */
+	public BatchScorer(long[] answers, int wordLength) {
+		this.wordLength = wordLength;
+		this.answerCount = answers.length;
+		this.positions = new short[Constants.LETTERS_IN_ALPHABET * answerCount];
+		this.guessLetters = new int[wordLength];
+		this.guessMasks = new int[wordLength];
+		for (int answer = 0; answer < answerCount; answer++) {
+			for (int i = 0; i < wordLength; i++) {
+				int letter = PackedDictionary.letterAt(answers[answer], i, wordLength);
+				positions[letter * answerCount + answer] |= 1 << i;
+			}
+		}
+	}
+
+	/**
+	 * Scores a guess against every answer. A scorer is not thread safe, because
+	 * it reuses its own scratch space.
+	 *
+	 * @param guess The packed word of the guess.
+	 * @param patterns An array with room for the pattern of every answer, in the
+	 * same order as the answers the scorer was created with.
+	 */
+	public void score(long guess, int[] patterns) {
+		// Groups the indices of the guess by letter.
+		int distinct = 0;
+		for (int i = 0; i < wordLength; i++) {
+			int letter = PackedDictionary.letterAt(guess, i, wordLength);
+			int slot = 0;
+			while (slot < distinct && guessLetters[slot] != letter) {
+				slot++;
+			}
+			if (slot == distinct) {
+				guessLetters[slot] = letter;
+				guessMasks[slot] = 0;
+				distinct++;
+			}
+			guessMasks[slot] |= 1 << i;
+		}
+
+		int n = answerCount;
+		for (int answer = 0; answer < n; answer++) {
+			patterns[answer] = 0;
+		}
+		for (int slot = 0; slot < distinct; slot++) {
+			int guessMask = guessMasks[slot];
+			int row = guessLetters[slot] * n;
+			for (int answer = 0; answer < n; answer++) {
+				int answerMask = positions[row + answer];
+				int correct = answerMask & guessMask;
+				int pattern = Scorer.CORRECT * DIGIT_VALUES[correct];
+
+				// The copies of the letter that weren't matched go to the first
+				// indices of the guess that aren't correct.
+				int left = Integer.bitCount(answerMask) - Integer.bitCount(correct);
+				int rest = guessMask & ~correct;
+				while (left > 0 && rest != 0) {
+					int lowest = rest & -rest;
+					pattern += Scorer.WRONG_INDEX * DIGIT_VALUES[lowest];
+					rest ^= lowest;
+					left--;
+				}
+				patterns[answer] += pattern;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of answers the scorer scores a guess against.
+	 *
+	 * @return An integer of the number of answers.
+	 */
+	public int getAnswerCount() {
+		return answerCount;
+	}
+
+}
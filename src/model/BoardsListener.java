@@ -0,0 +1,22 @@
+package model;
+
+/**
+ *
+ * This interface is implemented by anything that wants to know when a guess
+ * has been scored in a multi board game. Listeners are called on the thread
+ * that made the guess.
+ *
+ * @author Luke Genova
+ *
+ */
+@FunctionalInterface
+public interface BoardsListener {
+
+	/**
+	 * Called after a guess has been scored against every board.
+	 *
+	 * @param event The changes the guess made.
+	 */
+	void boardsScored(BoardsScored event);
+
+}
@@ -0,0 +1,97 @@
+package model;
+
+import utilities.Guess;
+import utilities.INDEX_RESULT;
+
+/**
+ *
+ * This event is published by a multi board model after a guess has been scored
+ * against every board that was still being played. It carries the result of the
+ * guess on each of those boards and the letters of the alphabet whose result
+ * changed on the keyboard.
+ *
+ * @author Luke Genova
+ *
+ */
+public class BoardsScored {
+
+	private final int row;
+	private final Guess[] results;
+	private final int[] changedLetters;
+	private final INDEX_RESULT[] changedResults;
+
+	/**
+	 * BoardsScored constructor.
+	 *
+	 * @param row The index of the guess in the progress of every board.
+	 * @param results The guess and its result on every board, null for boards that
+	 * were already solved before the guess.
+	 * @param changedLetters The alphabet indices (0 for 'a') of the letters whose result changed.
+	 * @param changedResults The new result of each changed letter.
+	 */
+	public BoardsScored(int row, Guess[] results, int[] changedLetters, INDEX_RESULT[] changedResults) {
+		this.row = row;
+		this.results = results;
+		this.changedLetters = changedLetters;
+		this.changedResults = changedResults;
+	}
+
+	/**
+	 * Returns the index of the guess in the progress of every board.
+	 *
+	 * @return The row of the guess.
+	 */
+	public int getRow() {
+		return row;
+	}
+
+	/**
+	 * Returns the number of boards of the game.
+	 *
+	 * @return An integer of the number of boards.
+	 */
+	public int getBoardCount() {
+		return results.length;
+	}
+
+	/**
+	 * Returns the result of the guess on a board.
+	 *
+	 * @param board The index of the board.
+	 * @return The guess and the result of each of its letters, or null if the board
+	 * was already solved before the guess.
+	 */
+	public Guess getResult(int board) {
+		return results[board];
+	}
+
+	/**
+	 * Returns how many letters of the alphabet changed their result.
+	 *
+	 * @return The number of changed letters.
+	 */
+	public int getChangedLetterCount() {
+		return changedLetters.length;
+	}
+
+	/**
+	 * Returns a letter whose result changed.
+	 *
+	 * @param i A number from 0 to getChangedLetterCount() - 1.
+	 * @return The alphabet index of the letter, 0 for 'a'.
+	 */
+	public int getChangedLetter(int i) {
+		return changedLetters[i];
+	}
+
+	/**
+	 * Returns the new result of a letter whose result changed.
+	 *
+	 * @param i A number from 0 to getChangedLetterCount() - 1.
+	 * @return The result of the letter.
+	 */
+	public INDEX_RESULT getChangedResult(int i) {
+		return changedResults[i];
+	}
+
+}
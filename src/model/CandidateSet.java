@@ -0,0 +1,143 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ *
+ * This class keeps track of the words of a dictionary that could still be the
+ * answer as a bit set, where bit i stands for the word at index i. Every time
+ * a guess is scored, its feedback is applied by combining the set with the
+ * shared letter masks of the dictionary, so the set shrinks without having to
+ * score any of the words.
+ *
+ * @author Luke Genova
+ *
+ */
+public class CandidateSet {
+
+	private final LetterMasks masks;
+	private final int wordLength;
+	private final long[] bits;
+
+	/**
+	 * CandidateSet constructor. Every word of the dictionary starts as a candidate.
+	 *
+	 * @param masks The letter masks of the dictionary.
+	 */
+	public CandidateSet(LetterMasks masks) {
+		this.masks = masks;
+		this.wordLength = masks.getWordLength();
+		int wordCount = masks.getWordCount();
+		this.bits = new long[LetterMasks.wordsFor(wordCount)];
+		Arrays.fill(bits, -1L);
+		if ((wordCount & 63) != 0) {
+			bits[bits.length-1] = (1L << (wordCount & 63)) - 1;
+		}
+	}
+
+	/**
+	 * Removes every word that would not have given the same feedback for a guess.
+	 *
+	 * @param guess The packed word of the guess.
+	 * @param pattern The feedback pattern of the guess.
+	 */
+	public void apply(long guess, int pattern) {
+		for (int i = 0; i < wordLength; i++) {
+			int letter = PackedDictionary.letterAt(guess, i, wordLength);
+			if (Scorer.digitAt(pattern, i) == Scorer.CORRECT) {
+				and(masks.atPosition(i, letter));
+			} else {
+				andNot(masks.atPosition(i, letter));
+			}
+		}
+
+		// The number of times a letter is marked correct or in the wrong index is
+		// how many times the answer has it at least. If one of the copies was marked
+		// incorrect, the answer has exactly that many.
+		for (int i = 0; i < wordLength; i++) {
+			int letter = PackedDictionary.letterAt(guess, i, wordLength);
+			if (appearsBefore(guess, letter, i, wordLength)) {
+				continue;
+			}
+			int found = 0;
+			boolean hasIncorrect = false;
+			for (int j = i; j < wordLength; j++) {
+				if (PackedDictionary.letterAt(guess, j, wordLength) == letter) {
+					if (Scorer.digitAt(pattern, j) == Scorer.INCORRECT) {
+						hasIncorrect = true;
+					} else {
+						found++;
+					}
+				}
+			}
+			if (found > 0) {
+				and(masks.atLeast(letter, found));
+			}
+			if (hasIncorrect && found < wordLength) {
+				andNot(masks.atLeast(letter, found + 1));
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of candidates left.
+	 *
+	 * @return An integer of the number of candidates.
+	 */
+	public int count() {
+		int count = 0;
+		for (long word : bits) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the dictionary indices of the candidates left.
+	 *
+	 * @return A sorted array of dictionary indices.
+	 */
+	public int[] toIndices() {
+		int[] indices = new int[count()];
+		int next = 0;
+		for (int i = 0; i < bits.length; i++) {
+			long word = bits[i];
+			while (word != 0) {
+				indices[next++] = (i << 6) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+			}
+		}
+		return indices;
+	}
+
+	/**
+	 * Checks if a letter appears in a word before an index.
+	 *
+	 * @param packed The packed word.
+	 * @param letter The alphabet index of the letter.
+	 * @param position The index to check up to.
+	 * @param wordLength The number of letters in the word.
+	 * @return A boolean of whether the letter appears before the index.
+	 */
+	private static boolean appearsBefore(long packed, int letter, int position, int wordLength) {
+		for (int i = 0; i < position; i++) {
+			if (PackedDictionary.letterAt(packed, i, wordLength) == letter) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void and(long[] mask) {
+		for (int i = 0; i < bits.length; i++) {
+			bits[i] &= mask[i];
+		}
+	}
+
+	private void andNot(long[] mask) {
+		for (int i = 0; i < bits.length; i++) {
+			bits[i] &= ~mask[i];
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * This class decides the answer of the daily puzzle. The answers are shuffled
+ * once with a seeded random number generator, and day n of the schedule is the
+ * nth word of the shuffled list, so finding the answer of a day is a single
+ * array lookup. The schedule only depends on the answer list and the seed, so
+ * every program with the same list agrees on the answer of every day without
+ * having to talk to each other. Once every answer has been used, the schedule
+ * starts over from the beginning.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class DailySchedule {
+
+	/* Day 0 of the schedule */
+	public static final LocalDate FIRST_DAY = LocalDate.of(2021, 6, 19);
+
+	/* The seed of the shared schedule */
+	public static final long DEFAULT_SEED = 20210619L;
+
+	/* Schedules that were already created for a dictionary */
+	private static final Map<PackedDictionary, DailySchedule> SCHEDULES = 
+			new ConcurrentHashMap<PackedDictionary, DailySchedule>();
+
+	private final PackedDictionary answers;
+
+	/* The dictionary index of the answer of every day, in the order they are used */
+	private final int[] order;
+
+	/**
+	 * DailySchedule constructor.
+	 *
+	 * @param answers The words that can be the answer. It can't be empty.
+	 * @param seed The seed of the shuffle.
+	 */
+	public DailySchedule(PackedDictionary answers, long seed) {
+		if (answers.size() == 0) {
+			throw new IllegalArgumentException("A schedule needs at least one answer.");
+		}
+		this.answers = answers;
+		this.order = new int[answers.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		// Fisher-Yates shuffle. java.util.Random is used because its sequence is
+		// the same in every Java version, so the schedule never changes.
+		Random random = new Random(seed);
+		for (int i = order.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int swap = order[i];
+			order[i] = order[j];
+			order[j] = swap;
+		}
+	}
+
+	/**
+	 * Returns the shared schedule of a dictionary, which uses the default seed.
+	 *
+	 * @param answers The words that can be the answer.
+	 * @return The schedule of the dictionary.
+	 */
+	public static DailySchedule forDictionary(PackedDictionary answers) {
+		return SCHEDULES.computeIfAbsent(answers, a -> new DailySchedule(a, DEFAULT_SEED));
+	}
+
+	/**
+	 * Returns the number of a day in the schedule.
+	 *
+	 * @param date The date of the day.
+	 * @return The number of days since FIRST_DAY, which is negative before it.
+	 */
+	public static long dayIndex(LocalDate date) {
+		return ChronoUnit.DAYS.between(FIRST_DAY, date);
+	}
+
+	/**
+	 * Returns the answer of a day.
+	 *
+	 * @param day The number of the day in the schedule.
+	 * @return A string of the answer.
+	 */
+	public String answerForDay(long day) {
+		return answers.wordAt(order[(int) Math.floorMod(day, (long) order.length)]);
+	}
+
+	/**
+	 * Returns the answer of a date.
+	 *
+	 * @param date The date of the day.
+	 * @return A string of the answer.
+	 */
+	public String answerFor(LocalDate date) {
+		return answerForDay(dayIndex(date));
+	}
+
+	/**
+	 * Returns how many days pass before the schedule starts over.
+	 *
+	 * @return The number of answers.
+	 */
+	public int length() {
+		return order.length;
+	}
+
+}
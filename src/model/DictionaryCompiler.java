@@ -0,0 +1,93 @@
+package model;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import utilities.GameMode;
+
+/**
+ *
+ * This is a build tool that compiles the text dictionary into the binary image
+ * that the model loads at start up. It should be run again whenever the text
+ * dictionary changes. If it isn't, the model notices that the image is out of
+ * date and falls back to reading the text file. The image records the size and
+ * modified time of the text files, so an image that is up to date is found
+ * without reading them.
+ *
+ * Usage: DictionaryCompiler [dictionary.txt] [dictionary.bin] [answers.txt]
+ *
+ * The words of every length from 4 to 11 letters get their own section of the
+ * image. The optional answer list is a text file of words that can be chosen as
+ * the answer. Every word in it must also be in the dictionary. When it isn't
+ * given, ./Answers.txt is used if it exists.
+ *
+ * @author Luke Genova
+ *
+ */
+public class DictionaryCompiler {
+
+	private static final String DEFAULT_TEXT_FILE = "./Dictionary.txt";
+	private static final String DEFAULT_IMAGE_FILE = "./Dictionary.bin";
+	private static final String DEFAULT_ANSWERS_FILE = "./Answers.txt";
+
+	public static void main(String[] args) {
+		String textFile = args.length > 0 ? args[0] : DEFAULT_TEXT_FILE;
+		String imageFile = args.length > 1 ? args[1] : DEFAULT_IMAGE_FILE;
+
+		String answersFile = args.length > 2 ? args[2] 
+				: Files.isRegularFile(Paths.get(DEFAULT_ANSWERS_FILE)) ? DEFAULT_ANSWERS_FILE : null;
+		Path text = Paths.get(textFile);
+		Path image = Paths.get(imageFile);
+		Path answerPath = answersFile != null ? Paths.get(answersFile) : null;
+
+		// Stamped before reading, so a file that changes while it is compiled makes the stamp stale.
+		long[] stamp = DictionaryImage.stamp(text, answerPath);
+		PackedDictionary[] dictionaries = PackedDictionary.loadAll(textFile);
+		PackedDictionary[] answerLists = answersFile != null ? PackedDictionary.loadAll(answersFile) : null;
+
+		List<DictionaryImage> sections = new ArrayList<DictionaryImage>();
+		int wordCount = 0;
+		int answerCount = 0;
+		for (int length = GameMode.MIN_WORD_LENGTH; length <= GameMode.MAX_WORD_LENGTH; length++) {
+			PackedDictionary dictionary = dictionaries[length];
+			int[] answers = answerLists == null ? new int[0] : answerIndices(dictionary, answerLists[length]);
+			if (dictionary.size() == 0) {
+				continue;
+			}
+			sections.add(new DictionaryImage(dictionary, answers));
+			wordCount += dictionary.size();
+			answerCount += answers.length;
+		}
+
+		DictionaryImage.write(image, DictionaryImage.checksum(text, answerPath), stamp, 
+				sections.toArray(new DictionaryImage[0]));
+		System.out.println("Compiled " + wordCount + " words and " + answerCount 
+				+ " answers of " + sections.size() + " word lengths into " + image);
+	}
+
+	/**
+	 * Finds the dictionary index of every word in an answer list.
+	 *
+	 * @param dictionary The dictionary of valid words.
+	 * @param answerList The words that can be chosen as the answer, with the same length.
+	 * @return A sorted array of dictionary indices.
+	 */
+	private static int[] answerIndices(PackedDictionary dictionary, PackedDictionary answerList) {
+		int[] answers = new int[answerList.size()];
+		for (int i = 0; i < answerList.size(); i++) {
+			int index = dictionary.indexOf(answerList.packedWordAt(i));
+			if (index < 0) {
+				throw new IllegalArgumentException("The answer " + answerList.wordAt(i) 
+						+ " is not in the dictionary.");
+			}
+			answers[i] = index;
+		}
+		Arrays.sort(answers);
+		return answers;
+	}
+
+}
@@ -0,0 +1,393 @@
+package model;
+
+import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+import utilities.GameMode;
+
+/**
+ *
+ * This class reads and writes the binary image of the dictionary. The image
+ * is created ahead of time by the DictionaryCompiler and stores the words that
+ * are already packed and sorted, so loading it is a memory mapped copy of an
+ * array instead of parsing every line of the text file.
+ *
+ * The words are split into one section for every word length, and a table at
+ * the start of the image says how large every section is. A game only maps and
+ * copies the section of its own word length, so adding longer words to the
+ * dictionary doesn't slow down or grow the classic game.
+ *
+ * The layout of the image (every value is big endian):
+ *
+ * int  magic number ("WDIC")
+ * int  format version
+ * long CRC32 checksum of the text file the image was compiled from
+ * long size and long last modified time in milliseconds of the text file, then
+ *      of the answer list (-1 for both when there is no answer list)
+ * int  number of words and int number of answers, for every word length from
+ *      MIN_WORD_LENGTH to MAX_WORD_LENGTH (0 answers when every word can be one)
+ *
+ * and then for every word length:
+ *
+ * int  packed words, sorted (long for words of more than 6 letters)
+ * int  dictionary index of every answer
+ *
+ * Checking the checksum means reading both text files, which costs more than
+ * loading the image. The sizes and modified times are checked first instead,
+ * and the checksum is only computed when they differ from the ones the image
+ * was compiled from, such as after the files were copied somewhere else.
+ *
+ * An instance of this class holds the section of a single word length.
+ *
+ * @author Luke Genova
+ *
+ */
+public class DictionaryImage {
+
+	private static final int MAGIC = 0x57444943;
+	private static final int VERSION = 3;
+	private static final int LENGTH_COUNT = GameMode.MAX_WORD_LENGTH - GameMode.MIN_WORD_LENGTH + 1;
+	private static final int STAMP_SIZE = 4;
+	private static final int HEADER_SIZE = 4 + 4 + 8 + STAMP_SIZE * 8 + LENGTH_COUNT * (4 + 4);
+
+	private final PackedDictionary dictionary;
+
+	/* Dictionary indices of the words that can be chosen as the answer */
+	private final int[] answers;
+
+	/**
+	 * DictionaryImage constructor.
+	 *
+	 * @param dictionary The dictionary of valid words of a single length.
+	 * @param answers An array of dictionary indices of the possible answers. An
+	 * empty array means that every word can be an answer.
+	 */
+	public DictionaryImage(PackedDictionary dictionary, int[] answers) {
+		this.dictionary = dictionary;
+		this.answers = answers;
+	}
+
+	/**
+	 * Loads the words of a single length from the binary image if it is up to
+	 * date with the text file, otherwise the text file is parsed.
+	 *
+	 * @param textFile A string that contains the url of the text dictionary.
+	 * @param imageFile A string that contains the url of the binary image.
+	 * @param wordLength The number of letters of the words to load.
+	 * @return A packed dictionary that contains every word of that length in the text file.
+	 */
+	public static PackedDictionary loadDictionary(String textFile, String imageFile, int wordLength) {
+		return loadWordLists(textFile, null, imageFile, wordLength).getWords();
+	}
+
+	/**
+	 * Loads the guesses and answers of a single length. They come from the
+	 * binary image if it is up to date with both text files, otherwise the text
+	 * files are parsed. Every word can be the answer when there is no answer
+	 * file or it has no words of the length.
+	 *
+	 * @param textFile A string that contains the url of the text dictionary.
+	 * @param answersFile A string that contains the url of the answer list, or null.
+	 * @param imageFile A string that contains the url of the binary image.
+	 * @param wordLength The number of letters of the words to load.
+	 * @return The word lists of that length.
+	 */
+	public static WordLists loadWordLists(String textFile, String answersFile, String imageFile, int wordLength) {
+		Path text = Paths.get(textFile);
+		Path answerPath = answersFile == null ? null : Paths.get(answersFile);
+		boolean hasAnswers = answerPath != null && Files.isRegularFile(answerPath);
+		Path image = Paths.get(imageFile);
+		if (Files.isRegularFile(image)) {
+			// Without the text file there is nothing to compare the image to.
+			DictionaryImage loaded;
+			if (Files.isRegularFile(text)) {
+				Path answerList = hasAnswers ? answerPath : null;
+				loaded = read(image, stamp(text, answerList), () -> checksum(text, answerList), wordLength);
+			} else {
+				loaded = read(image, -1, wordLength);
+			}
+			if (loaded != null) {
+				return loaded.getWordLists();
+			}
+		}
+		PackedDictionary words = PackedDictionary.load(textFile, wordLength);
+		if (hasAnswers) {
+			WordLists lists = new WordLists(words, PackedDictionary.load(answersFile, wordLength));
+			if (lists.getAnswers().size() > 0) {
+				return lists;
+			}
+		}
+		return WordLists.of(words);
+	}
+
+	/**
+	 * Computes the CRC32 checksum of a file.
+	 *
+	 * @param file The path of the file.
+	 * @return The checksum of the bytes in the file.
+	 */
+	public static long checksum(Path file) {
+		return checksum(file, null);
+	}
+
+	/**
+	 * Computes the CRC32 checksum of a dictionary and its answer list, so that
+	 * an image is out of date when either of them changes.
+	 *
+	 * @param file The path of the dictionary.
+	 * @param answers The path of the answer list, or null if there isn't one.
+	 * @return The checksum of the bytes in both files.
+	 */
+	public static long checksum(Path file, Path answers) {
+		CRC32 crc = new CRC32();
+		for (Path path : new Path[] {file, answers}) {
+			if (path == null) {
+				continue;
+			}
+			try {
+				crc.update(Files.readAllBytes(path));
+			} catch (IOException e) {
+				throw new UncheckedIOException("Unable to read " + path, e);
+			}
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Returns the sizes and modified times of a dictionary and its answer list,
+	 * which are compared to the ones in an image before its checksum is.
+	 *
+	 * @param file The path of the dictionary.
+	 * @param answers The path of the answer list, or null if there isn't one.
+	 * @return An array of the size and modified time of the dictionary and then of
+	 * the answer list, or null if they can't be read.
+	 */
+	public static long[] stamp(Path file, Path answers) {
+		try {
+			long[] stamp = {-1, -1, -1, -1};
+			stamp[0] = Files.size(file);
+			stamp[1] = Files.getLastModifiedTime(file).toMillis();
+			if (answers != null) {
+				stamp[2] = Files.size(answers);
+				stamp[3] = Files.getLastModifiedTime(answers).toMillis();
+			}
+			return stamp;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Maps the section of a single word length of a binary image into memory
+	 * and reads it.
+	 *
+	 * @param image The path of the binary image.
+	 * @param expectedChecksum The checksum of the text file the image should have been
+	 * compiled from, or -1 to accept any image.
+	 * @param wordLength The number of letters of the words to read.
+	 * @return The section of the image, or null if the image is invalid or out of date.
+	 */
+	public static DictionaryImage read(Path image, long expectedChecksum, int wordLength) {
+		return read(image, null, () -> expectedChecksum, wordLength);
+	}
+
+	/**
+	 * Maps the section of a single word length of a binary image into memory
+	 * and reads it. The checksum is only computed when the stamp doesn't match 
+	 * the one in the image.
+	 *
+	 * @param image The path of the binary image.
+	 * @param expectedStamp The stamp of the text files the image should have been
+	 * compiled from, or null to always compare the checksum.
+	 * @param expectedChecksum Computes the checksum of the text files the image should
+	 * have been compiled from, or returns -1 to accept any image.
+	 * @param wordLength The number of letters of the words to read.
+	 * @return The section of the image, or null if the image is invalid or out of date.
+	 */
+	private static DictionaryImage read(Path image, long[] expectedStamp, LongSupplier expectedChecksum, 
+			int wordLength) {
+		if (wordLength < GameMode.MIN_WORD_LENGTH || wordLength > GameMode.MAX_WORD_LENGTH) {
+			return null;
+		}
+		try (FileChannel channel = FileChannel.open(image, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_SIZE) {
+				return null;
+			}
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+			if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+				return null;
+			}
+			long checksum = header.getLong();
+			boolean stamped = expectedStamp != null;
+			for (int i = 0; i < STAMP_SIZE; i++) {
+				long value = header.getLong();
+				stamped &= expectedStamp != null && value == expectedStamp[i];
+			}
+			if (!stamped) {
+				long expected = expectedChecksum.getAsLong();
+				if (expected != -1 && checksum != expected) {
+					return null;
+				}
+			}
+
+			// Finds where the section starts and checks that the sizes add up.
+			long offset = HEADER_SIZE;
+			long sectionOffset = 0;
+			int wordCount = 0;
+			int answerCount = 0;
+			long total = HEADER_SIZE;
+			for (int length = GameMode.MIN_WORD_LENGTH; length <= GameMode.MAX_WORD_LENGTH; length++) {
+				int words = header.getInt();
+				int answers = header.getInt();
+				if (words < 0 || answers < 0) {
+					return null;
+				}
+				if (length == wordLength) {
+					sectionOffset = offset;
+					wordCount = words;
+					answerCount = answers;
+				}
+				long sectionSize = wordBytes(length) * words + 4L * answers;
+				offset += sectionSize;
+				total += sectionSize;
+			}
+			if (size != total) {
+				return null;
+			}
+
+			long sectionSize = wordBytes(wordLength) * wordCount + 4L * answerCount;
+			MappedByteBuffer section = channel.map(FileChannel.MapMode.READ_ONLY, sectionOffset, sectionSize);
+			PackedDictionary dictionary;
+			if (wordLength <= PackedDictionary.MAX_INT_WORD_LENGTH) {
+				int[] words = new int[wordCount];
+				section.asIntBuffer().get(words);
+				dictionary = new PackedDictionary(wordLength, words);
+			} else {
+				long[] words = new long[wordCount];
+				section.asLongBuffer().get(words);
+				dictionary = new PackedDictionary(wordLength, words);
+			}
+			section.position((int) (wordBytes(wordLength) * wordCount));
+			int[] answers = new int[answerCount];
+			section.asIntBuffer().get(answers);
+			return new DictionaryImage(dictionary, answers);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Writes an image to a file. The image is written to a temporary file first
+	 * and then moved, so a reader never sees a partially written image.
+	 *
+	 * @param image The path of the binary image.
+	 * @param sourceChecksum The checksum of the text file the dictionary was read from.
+	 * @param sourceStamp The stamp of the text files the dictionary was read from, or
+	 * null if the checksum should always be compared.
+	 * @param sections The section of every word length. Lengths without a section are
+	 * written as empty.
+	 */
+	public static void write(Path image, long sourceChecksum, long[] sourceStamp, DictionaryImage... sections) {
+		DictionaryImage[] byLength = new DictionaryImage[GameMode.MAX_WORD_LENGTH + 1];
+		for (DictionaryImage section : sections) {
+			byLength[section.dictionary.getWordLength()] = section;
+		}
+
+		Path temp = image.resolveSibling(image.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(sourceChecksum);
+			for (int i = 0; i < STAMP_SIZE; i++) {
+				// A stamp that can never match, so the checksum is always compared.
+				out.writeLong(sourceStamp == null ? Long.MIN_VALUE : sourceStamp[i]);
+			}
+			for (int length = GameMode.MIN_WORD_LENGTH; length <= GameMode.MAX_WORD_LENGTH; length++) {
+				DictionaryImage section = byLength[length];
+				out.writeInt(section == null ? 0 : section.dictionary.size());
+				out.writeInt(section == null ? 0 : section.answers.length);
+			}
+			for (int length = GameMode.MIN_WORD_LENGTH; length <= GameMode.MAX_WORD_LENGTH; length++) {
+				DictionaryImage section = byLength[length];
+				if (section == null) {
+					continue;
+				}
+				PackedDictionary dictionary = section.dictionary;
+				for (int i = 0; i < dictionary.size(); i++) {
+					if (dictionary.isNarrow()) {
+						out.writeInt((int) dictionary.packedWordAt(i));
+					} else {
+						out.writeLong(dictionary.packedWordAt(i));
+					}
+				}
+				for (int answer : section.answers) {
+					out.writeInt(answer);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to write " + temp, e);
+		}
+		try {
+			Files.move(temp, image, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to write " + image, e);
+		}
+	}
+
+	/**
+	 * Returns the number of bytes a single packed word of a length takes up.
+	 *
+	 * @param wordLength The number of letters in the word.
+	 * @return 4 for words that fit in an int, otherwise 8.
+	 */
+	private static long wordBytes(int wordLength) {
+		return wordLength <= PackedDictionary.MAX_INT_WORD_LENGTH ? 4 : 8;
+	}
+
+	/**
+	 * Returns the dictionary stored in the section.
+	 *
+	 * @return A packed dictionary of every valid word of a single length.
+	 */
+	public PackedDictionary getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Returns the guesses and answers stored in the section.
+	 *
+	 * @return The word lists, where every word is an answer if the section has no answers.
+	 */
+	public WordLists getWordLists() {
+		if (answers.length == 0) {
+			return WordLists.of(dictionary);
+		}
+		long[] packed = new long[answers.length];
+		for (int i = 0; i < answers.length; i++) {
+			packed[i] = dictionary.packedWordAt(answers[i]);
+		}
+		return new WordLists(dictionary, new PackedDictionary(dictionary.getWordLength(), packed, packed.length));
+	}
+
+	/**
+	 * Returns the dictionary indices of the possible answers.
+	 *
+	 * @return An array of indices, empty if every word can be an answer.
+	 */
+	public int[] getAnswers() {
+		return answers;
+	}
+
+}
@@ -0,0 +1,79 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import metrics.Metrics;
+
+/**
+ *
+ * This class gives access to the words of a dictionary split up by length.
+ * The words of a length are only loaded the first time a game of that length
+ * is played, so a mode doesn't pay for the memory or the start up time of the
+ * other lengths. Once a length is loaded, every game of that length shares it.
+ * 
+ * Every length has a list of answers and a list of guesses. The answers come
+ * from a separate file when there is one, otherwise every word can be the answer.
+ *
+ * @author Luke Genova
+ *
+ */
+public class DictionaryIndex {
+
+	private final String textFile;
+	private final String answersFile;
+	private final String imageFile;
+
+	/* Word lists that were already loaded, keyed by word length */
+	private final Map<Integer, WordLists> buckets = new ConcurrentHashMap<Integer, WordLists>();
+
+	/**
+	 * DictionaryIndex constructor.
+	 *
+	 * @param textFile A string that contains the url of the text dictionary.
+	 * @param imageFile A string that contains the url of the binary image.
+	 */
+	public DictionaryIndex(String textFile, String imageFile) {
+		this(textFile, null, imageFile);
+	}
+
+	/**
+	 * DictionaryIndex constructor for a dictionary with a separate answer list.
+	 *
+	 * @param textFile A string that contains the url of the text dictionary.
+	 * @param answersFile A string that contains the url of the answer list. It
+	 * doesn't have to exist.
+	 * @param imageFile A string that contains the url of the binary image.
+	 */
+	public DictionaryIndex(String textFile, String answersFile, String imageFile) {
+		this.textFile = textFile;
+		this.answersFile = answersFile;
+		this.imageFile = imageFile;
+	}
+
+	/**
+	 * Returns the words of a single length, loading them the first time.
+	 *
+	 * @param wordLength The number of letters in a word.
+	 * @return A packed dictionary of every word of that length, which may be empty.
+	 */
+	public PackedDictionary forLength(int wordLength) {
+		return listsForLength(wordLength).getWords();
+	}
+
+	/**
+	 * Returns the guesses and answers of a single length, loading them the first time.
+	 *
+	 * @param wordLength The number of letters in a word.
+	 * @return The word lists of that length, which may be empty.
+	 */
+	public WordLists listsForLength(int wordLength) {
+		return buckets.computeIfAbsent(wordLength, length -> {
+			long start = Metrics.startTimer();
+			WordLists wordLists = DictionaryImage.loadWordLists(textFile, answersFile, imageFile, length);
+			Metrics.DICTIONARY_LOAD.recordSince(start);
+			return wordLists;
+		});
+	}
+
+}
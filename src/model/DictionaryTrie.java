@@ -0,0 +1,233 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * This class is a trie of the words of a packed dictionary, stored in flat
+ * arrays instead of node objects. The children of a node are stored next to
+ * each other in alphabetical order, so a node only needs a bit mask of the
+ * letters it has children for and the index of its first child, and the child
+ * for a letter is found by counting the bits of the mask below that letter.
+ *
+ * Because the words of a packed dictionary are sorted, the words that start
+ * with a prefix are always a contiguous range of the dictionary. Every node
+ * keeps the range of its prefix, so counting or listing the words that start
+ * with a prefix is a walk of at most one node per letter followed by a copy,
+ * and nothing is allocated. This is also why the trie is not minimized into a
+ * DAWG: nodes that share a suffix would no longer have a single range.
+ *
+ * A trie is only built once for every dictionary and is shared by every game.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class DictionaryTrie {
+
+	private static final Map<PackedDictionary, DictionaryTrie> TRIES = new ConcurrentHashMap<PackedDictionary, DictionaryTrie>();
+
+	private static final int ROOT = 0;
+	private static final int NO_NODE = -1;
+
+	private final PackedDictionary dictionary;
+	private final int wordLength;
+
+	/* Bit mask of the letters a node has children for, bit 0 for 'a' */
+	private final int[] childMasks;
+
+	/* Index of the first child of a node */
+	private final int[] firstChild;
+
+	/* Range of the dictionary of the words that start with a node's prefix */
+	private final int[] firstWord;
+	private final int[] wordCount;
+
+	/**
+	 * DictionaryTrie constructor. The nodes are created one level at a time, so
+	 * the children of every node end up next to each other.
+	 *
+	 * @param dictionary The words of the trie.
+	 */
+	private DictionaryTrie(PackedDictionary dictionary) {
+		this.dictionary = dictionary;
+		this.wordLength = dictionary.getWordLength();
+		int nodes = countNodes(dictionary);
+		this.childMasks = new int[nodes];
+		this.firstChild = new int[nodes];
+		this.firstWord = new int[nodes];
+		this.wordCount = new int[nodes];
+
+		wordCount[ROOT] = dictionary.size();
+		int next = ROOT + 1;
+		int levelStart = ROOT;
+		int levelEnd = next;
+		for (int depth = 0; depth < wordLength; depth++) {
+			for (int node = levelStart; node < levelEnd; node++) {
+				firstChild[node] = next;
+				int end = firstWord[node] + wordCount[node];
+				int i = firstWord[node];
+				while (i < end) {
+					int letter = letterAt(i, depth);
+					int j = i + 1;
+					while (j < end && letterAt(j, depth) == letter) {
+						j++;
+					}
+					childMasks[node] |= 1 << letter;
+					firstWord[next] = i;
+					wordCount[next] = j - i;
+					next++;
+					i = j;
+				}
+			}
+			levelStart = levelEnd;
+			levelEnd = next;
+		}
+	}
+
+	/**
+	 * Returns the trie of a dictionary, building it the first time.
+	 *
+	 * @param dictionary The words of the trie.
+	 * @return The shared trie of the dictionary.
+	 */
+	public static DictionaryTrie forDictionary(PackedDictionary dictionary) {
+		return TRIES.computeIfAbsent(dictionary, DictionaryTrie::new);
+	}
+
+	/**
+	 * Counts the nodes of the trie of a dictionary, which is the number of
+	 * different prefixes of every length. Since the words are sorted, a word
+	 * starts a new prefix when it differs from the word before it.
+	 *
+	 * @param dictionary The words of the trie.
+	 * @return The number of nodes, including the root.
+	 */
+	private static int countNodes(PackedDictionary dictionary) {
+		int wordLength = dictionary.getWordLength();
+		int nodes = 1;
+		for (int depth = 1; depth <= wordLength; depth++) {
+			int shift = (wordLength - depth) * PackedDictionary.BITS_PER_LETTER;
+			for (int i = 0; i < dictionary.size(); i++) {
+				if (i == 0 || dictionary.packedWordAt(i) >>> shift != dictionary.packedWordAt(i - 1) >>> shift) {
+					nodes++;
+				}
+			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * Checks if a word is in the dictionary.
+	 *
+	 * @param word A sequence of characters, in upper or lower case.
+	 * @return A boolean of whether the word is in the dictionary.
+	 */
+	public boolean contains(CharSequence word) {
+		return word.length() == wordLength && find(word) != NO_NODE;
+	}
+
+	/**
+	 * Checks if any word of the dictionary starts with a prefix.
+	 *
+	 * @param prefix A sequence of characters, in upper or lower case.
+	 * @return A boolean of whether a word starts with the prefix.
+	 */
+	public boolean hasPrefix(CharSequence prefix) {
+		int node = find(prefix);
+		return node != NO_NODE && wordCount[node] > 0;
+	}
+
+	/**
+	 * Counts the words of the dictionary that start with a prefix.
+	 *
+	 * @param prefix A sequence of characters, in upper or lower case.
+	 * @return The number of words.
+	 */
+	public int countWithPrefix(CharSequence prefix) {
+		int node = find(prefix);
+		return node == NO_NODE ? 0 : wordCount[node];
+	}
+
+	/**
+	 * Lists the first words of the dictionary, in alphabetical order, that start
+	 * with a prefix. No more words are listed than fit in the array.
+	 *
+	 * @param prefix A sequence of characters, in upper or lower case.
+	 * @param indices An array that is filled with the indices of the words in the
+	 * dictionary.
+	 * @return The number of indices that were written.
+	 */
+	public int completions(CharSequence prefix, int[] indices) {
+		int node = find(prefix);
+		if (node == NO_NODE) {
+			return 0;
+		}
+		int count = Math.min(wordCount[node], indices.length);
+		for (int i = 0; i < count; i++) {
+			indices[i] = firstWord[node] + i;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the dictionary the trie was built from, which the indices of
+	 * completions refer to.
+	 *
+	 * @return The packed dictionary.
+	 */
+	public PackedDictionary getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Returns the number of nodes of the trie.
+	 *
+	 * @return The number of nodes, including the root.
+	 */
+	public int getNodeCount() {
+		return childMasks.length;
+	}
+
+	/**
+	 * Walks down the trie along a prefix.
+	 *
+	 * @param prefix A sequence of characters, in upper or lower case.
+	 * @return The node of the prefix, or NO_NODE if no word starts with it.
+	 */
+	private int find(CharSequence prefix) {
+		if (prefix.length() > wordLength) {
+			return NO_NODE;
+		}
+		int node = ROOT;
+		for (int i = 0; i < prefix.length(); i++) {
+			char letter = prefix.charAt(i);
+			int index;
+			if (letter >= 'a' && letter <= 'z') {
+				index = letter - 'a';
+			} else if (letter >= 'A' && letter <= 'Z') {
+				index = letter - 'A';
+			} else {
+				return NO_NODE;
+			}
+			int mask = childMasks[node];
+			if ((mask & (1 << index)) == 0) {
+				return NO_NODE;
+			}
+			node = firstChild[node] + Integer.bitCount(mask & ((1 << index) - 1));
+		}
+		return node;
+	}
+
+	/**
+	 * Returns the letter of a word of the dictionary at an index.
+	 *
+	 * @param word The index of the word in the dictionary.
+	 * @param position The index of the letter in the word.
+	 * @return The alphabet index of the letter.
+	 */
+	private int letterAt(int word, int position) {
+		return PackedDictionary.letterAt(dictionary.packedWordAt(word), position, wordLength);
+	}
+
+}
@@ -0,0 +1,262 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ *
+ * This class stores the feedback pattern of every guess against every answer,
+ * so that looking up the feedback of a pair of words is a single array read
+ * instead of scoring the guess. The matrix is computed in parallel with the
+ * fork/join pool and can be saved to a cache file that is memory mapped the
+ * next time it is needed. The name of the cache file contains a fingerprint of
+ * both word lists, so a cache that was built for different words is never used.
+ *
+ * A matrix for the full dictionary against itself takes about 220 MB, so it
+ * should only be built by code that scores a large number of pairs, such as the
+ * solver of a simulation, and is best used through the cache file. Every pattern is stored in a
+ * single byte, so only words of up to five letters are supported.
+ *
+ * @author Luke Genova
+ *
+ */
+public class FeedbackMatrix {
+
+	private static final int MAGIC = 0x57464d58;
+	private static final int HEADER_SIZE = 4 + 4 + 4 + 8;
+
+	/* Longest word whose patterns fit in a byte */
+	private static final int MAX_WORD_LENGTH = 5;
+
+	/* Number of guesses a single fork/join task scores before splitting */
+	private static final int ROWS_PER_TASK = 64;
+
+	private final PackedDictionary guesses;
+	private final PackedDictionary answers;
+
+	/* Patterns in row major order, one row per guess */
+	private final ByteBuffer patterns;
+
+	/**
+	 * FeedbackMatrix constructor.
+	 *
+	 * @param guesses The words that can be guessed.
+	 * @param answers The words that can be the answer.
+	 * @param patterns A buffer with one pattern for every guess and answer pair.
+	 */
+	private FeedbackMatrix(PackedDictionary guesses, PackedDictionary answers, ByteBuffer patterns) {
+		this.guesses = guesses;
+		this.answers = answers;
+		this.patterns = patterns;
+	}
+
+	/**
+	 * Checks if the patterns of words of a length fit in a matrix.
+	 *
+	 * @param wordLength The number of letters in every word.
+	 * @return A boolean of whether a matrix can be built for the length.
+	 */
+	public static boolean covers(int wordLength) {
+		return wordLength <= MAX_WORD_LENGTH;
+	}
+
+	/**
+	 * Scores every guess against every answer using all of the processors. A
+	 * matrix that would take more than half of the free memory isn't built.
+	 *
+	 * @param guesses The words that can be guessed.
+	 * @param answers The words that can be the answer.
+	 * @return The feedback matrix of the two word lists.
+	 * @throws IllegalArgumentException If the word lists don't fit in a matrix or
+	 * in memory.
+	 */
+	public static FeedbackMatrix build(PackedDictionary guesses, PackedDictionary answers) {
+		if (guesses.getWordLength() != answers.getWordLength() || guesses.getWordLength() > MAX_WORD_LENGTH) {
+			throw new IllegalArgumentException("A feedback matrix needs word lists of the same length, "
+					+ "with at most " + MAX_WORD_LENGTH + " letters.");
+		}
+		long cells = (long) guesses.size() * answers.size();
+		if (cells > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The word lists are too large for a feedback matrix.");
+		}
+		// Leaves at least as much memory free as the matrix takes.
+		Runtime runtime = Runtime.getRuntime();
+		long available = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+		if (cells > available / 2) {
+			throw new IllegalArgumentException("There is not enough memory for a feedback matrix of " 
+					+ cells + " cells.");
+		}
+		byte[] cellPatterns = new byte[(int) cells];
+		ForkJoinPool.commonPool().invoke(new ScoreRows(guesses, answers, cellPatterns, 0, guesses.size()));
+		return new FeedbackMatrix(guesses, answers, ByteBuffer.wrap(cellPatterns));
+	}
+
+	/**
+	 * Maps the cached matrix of the two word lists from a directory. If there
+	 * is no cache file, the matrix is built and saved to the directory. A matrix
+	 * that can't be saved is still returned, and is built again the next time.
+	 *
+	 * @param guesses The words that can be guessed.
+	 * @param answers The words that can be the answer.
+	 * @param cacheDirectory The directory that holds the cache files.
+	 * @return The feedback matrix of the two word lists.
+	 */
+	public static FeedbackMatrix load(PackedDictionary guesses, PackedDictionary answers, Path cacheDirectory) {
+		long fingerprint = guesses.fingerprint() * 31 + answers.fingerprint();
+		Path cache = cacheDirectory.resolve("feedback-" + Long.toHexString(fingerprint) + ".bin");
+		if (Files.isRegularFile(cache)) {
+			FeedbackMatrix mapped = map(cache, guesses, answers, fingerprint);
+			if (mapped != null) {
+				return mapped;
+			}
+		}
+
+		FeedbackMatrix matrix = build(guesses, answers);
+		try {
+			matrix.save(cache, fingerprint);
+		} catch (UncheckedIOException e) {
+			// The matrix is only cached to save building it next time.
+		}
+		return matrix;
+	}
+
+	/**
+	 * Memory maps a cache file.
+	 *
+	 * @param cache The path of the cache file.
+	 * @param guesses The words that can be guessed.
+	 * @param answers The words that can be the answer.
+	 * @param fingerprint The fingerprint the cache file should have.
+	 * @return The feedback matrix, or null if the cache file doesn't match the word lists.
+	 */
+	private static FeedbackMatrix map(Path cache, PackedDictionary guesses, PackedDictionary answers, 
+			long fingerprint) {
+		try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+			long cells = (long) guesses.size() * answers.size();
+			if (channel.size() != HEADER_SIZE + cells) {
+				return null;
+			}
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+			if (header.getInt() != MAGIC || header.getInt() != guesses.size() 
+					|| header.getInt() != answers.size() || header.getLong() != fingerprint) {
+				return null;
+			}
+			ByteBuffer cellPatterns = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, cells);
+			return new FeedbackMatrix(guesses, answers, cellPatterns);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Saves the matrix to a cache file. The file is written under a temporary
+	 * name first and then moved, so a partially written cache is never mapped.
+	 *
+	 * @param cache The path of the cache file.
+	 * @param fingerprint The fingerprint of the word lists.
+	 */
+	private void save(Path cache, long fingerprint) {
+		Path temp = cache.resolveSibling(cache.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, 
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putInt(guesses.size()).putInt(answers.size()).putLong(fingerprint);
+			header.flip();
+			ByteBuffer body = patterns.duplicate();
+			body.clear();
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			while (body.hasRemaining()) {
+				channel.write(body);
+			}
+			channel.force(false);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to write " + temp, e);
+		}
+		try {
+			Files.move(temp, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to write " + cache, e);
+		}
+	}
+
+	/**
+	 * Returns the feedback pattern of a guess against an answer.
+	 *
+	 * @param guessIndex The index of the guess in the guess list.
+	 * @param answerIndex The index of the answer in the answer list.
+	 * @return The feedback pattern of the guess.
+	 */
+	public int pattern(int guessIndex, int answerIndex) {
+		return patterns.get(guessIndex * answers.size() + answerIndex) & 0xFF;
+	}
+
+	/**
+	 * Returns the words that can be guessed.
+	 *
+	 * @return The guess list of the matrix.
+	 */
+	public PackedDictionary getGuesses() {
+		return guesses;
+	}
+
+	/**
+	 * Returns the words that can be the answer.
+	 *
+	 * @return The answer list of the matrix.
+	 */
+	public PackedDictionary getAnswers() {
+		return answers;
+	}
+
+	/**
+	 * A fork/join task that scores a range of guesses against every answer.
+	 */
+	private static class ScoreRows extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final PackedDictionary guesses;
+		private final PackedDictionary answers;
+		private final byte[] patterns;
+		private final int start;
+		private final int end;
+
+		ScoreRows(PackedDictionary guesses, PackedDictionary answers, byte[] patterns, int start, int end) {
+			this.guesses = guesses;
+			this.answers = answers;
+			this.patterns = patterns;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start > ROWS_PER_TASK) {
+				int middle = (start + end) >>> 1;
+				invokeAll(new ScoreRows(guesses, answers, patterns, start, middle), 
+						new ScoreRows(guesses, answers, patterns, middle, end));
+				return;
+			}
+			int answerCount = answers.size();
+			int wordLength = answers.getWordLength();
+			for (int row = start; row < end; row++) {
+				long guess = guesses.packedWordAt(row);
+				int offset = row * answerCount;
+				for (int col = 0; col < answerCount; col++) {
+					patterns[offset + col] = (byte) Scorer.score(guess, answers.packedWordAt(col), wordLength);
+				}
+			}
+		}
+	}
+
+}
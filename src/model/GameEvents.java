@@ -0,0 +1,84 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ *
+ * This class has helpers for game listeners.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class GameEvents {
+
+	private GameEvents() {
+	}
+
+	/**
+	 * Wraps a listener so that it is called on an executor instead of the thread
+	 * that made the guess. Events that arrive while the listener is waiting to run
+	 * are coalesced, so a burst of guesses is delivered as one call to
+	 * guessesScored.
+	 *
+	 * @param listener The listener to call.
+	 * @param executor The executor to call the listener on, for example
+	 * SwingUtilities::invokeLater.
+	 * @return A listener that can be added to a model.
+	 */
+	public static GameListener async(GameListener listener, Executor executor) {
+		return new AsyncListener(listener, executor);
+	}
+
+	/**
+	 * A listener that queues events and delivers them in batches on an executor.
+	 */
+	private static class AsyncListener implements GameListener {
+
+		private final GameListener listener;
+		private final Executor executor;
+		private final Queue<GuessScored> pending = new ConcurrentLinkedQueue<GuessScored>();
+
+		/* Whether a delivery has been submitted to the executor and hasn't started yet */
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		AsyncListener(GameListener listener, Executor executor) {
+			this.listener = listener;
+			this.executor = executor;
+		}
+
+		@Override
+		public void guessScored(GuessScored event) {
+			pending.add(event);
+			if (scheduled.compareAndSet(false, true)) {
+				executor.execute(this::deliver);
+			}
+		}
+
+		@Override
+		public void gameFinished(GameFinished event) {
+			// Queued after any delivery that is waiting, so the last guess arrives first.
+			executor.execute(() -> {
+				deliver();
+				listener.gameFinished(event);
+			});
+		}
+
+		private void deliver() {
+			scheduled.set(false);
+			List<GuessScored> batch = new ArrayList<GuessScored>();
+			GuessScored event;
+			while ((event = pending.poll()) != null) {
+				batch.add(event);
+			}
+			if (!batch.isEmpty()) {
+				listener.guessesScored(batch);
+			}
+		}
+	}
+
+}
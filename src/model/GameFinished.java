@@ -0,0 +1,83 @@
+package model;
+
+import utilities.GameMode;
+import utilities.Guess;
+
+/**
+ *
+ * This event is published by the model once a game is over, either because
+ * the answer was guessed or because every guess was used. It is published
+ * right after the GuessScored event of the last guess.
+ *
+ * @author Luke Genova
+ *
+ */
+public class GameFinished {
+
+	private final GameMode mode;
+	private final String answer;
+	private final Guess[] guesses;
+	private final boolean won;
+
+	/**
+	 * GameFinished constructor.
+	 *
+	 * @param mode The game mode the game was played in.
+	 * @param answer The answer of the game.
+	 * @param guesses Every guess that was made, oldest first.
+	 * @param won A boolean of whether the answer was guessed.
+	 */
+	public GameFinished(GameMode mode, String answer, Guess[] guesses, boolean won) {
+		this.mode = mode;
+		this.answer = answer;
+		this.guesses = guesses;
+		this.won = won;
+	}
+
+	/**
+	 * Returns the game mode the game was played in.
+	 *
+	 * @return The game mode.
+	 */
+	public GameMode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Returns the answer of the game.
+	 *
+	 * @return A string of the answer.
+	 */
+	public String getAnswer() {
+		return answer;
+	}
+
+	/**
+	 * Returns how many guesses were made.
+	 *
+	 * @return The number of guesses.
+	 */
+	public int getGuessCount() {
+		return guesses.length;
+	}
+
+	/**
+	 * Returns a guess that was made.
+	 *
+	 * @param i A number from 0 to getGuessCount() - 1.
+	 * @return The guess and the result of each of its letters.
+	 */
+	public Guess getGuess(int i) {
+		return guesses[i];
+	}
+
+	/**
+	 * Checks if the answer was guessed.
+	 *
+	 * @return A boolean of whether the game was won.
+	 */
+	public boolean isWon() {
+		return won;
+	}
+
+}
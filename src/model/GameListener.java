@@ -0,0 +1,44 @@
+package model;
+
+import java.util.List;
+
+/**
+ *
+ * This interface is implemented by anything that wants to know when the state
+ * of a game changes, such as the views, metrics or persistence. Listeners are
+ * called on the thread that made the guess. A listener that should run on
+ * another thread can be wrapped with GameEvents.async.
+ *
+ * @author Luke Genova
+ *
+ */
+public interface GameListener {
+
+	/**
+	 * Called after a guess has been scored.
+	 *
+	 * @param event The changes the guess made.
+	 */
+	void guessScored(GuessScored event);
+
+	/**
+	 * Called with several events at once when they were coalesced by an
+	 * asynchronous listener. The events are in the order they happened.
+	 *
+	 * @param events The changes of every guess, oldest first.
+	 */
+	default void guessesScored(List<GuessScored> events) {
+		for (GuessScored event : events) {
+			guessScored(event);
+		}
+	}
+
+	/**
+	 * Called once the game is over, after the event of the last guess.
+	 *
+	 * @param event The answer and every guess of the game.
+	 */
+	default void gameFinished(GameFinished event) {
+	}
+
+}
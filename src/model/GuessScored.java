@@ -0,0 +1,98 @@
+package model;
+
+import utilities.Guess;
+import utilities.INDEX_RESULT;
+
+/**
+ *
+ * This event is published by the model after a guess has been scored. It
+ * only carries what changed: the row of the progress grid that was filled in
+ * and the letters of the alphabet whose result changed, so a listener can
+ * update itself without reading the whole model again.
+ *
+ * @author Luke Genova
+ *
+ */
+public class GuessScored {
+
+	private final int row;
+	private final Guess guess;
+	private final int[] changedLetters;
+	private final INDEX_RESULT[] changedResults;
+	private final int remainingCandidates;
+
+	/**
+	 * GuessScored constructor.
+	 *
+	 * @param row The index of the guess in the progress array.
+	 * @param guess The guess that was scored.
+	 * @param changedLetters The alphabet indices (0 for 'a') of the letters whose result changed.
+	 * @param changedResults The new result of each changed letter.
+	 * @param remainingCandidates The number of words that could still be the answer.
+	 */
+	public GuessScored(int row, Guess guess, int[] changedLetters, INDEX_RESULT[] changedResults, 
+			int remainingCandidates) {
+		this.row = row;
+		this.guess = guess;
+		this.changedLetters = changedLetters;
+		this.changedResults = changedResults;
+		this.remainingCandidates = remainingCandidates;
+	}
+
+	/**
+	 * Returns the index of the guess in the progress array.
+	 *
+	 * @return The row of the guess.
+	 */
+	public int getRow() {
+		return row;
+	}
+
+	/**
+	 * Returns the guess that was scored.
+	 *
+	 * @return The guess and the result of each of its letters.
+	 */
+	public Guess getGuess() {
+		return guess;
+	}
+
+	/**
+	 * Returns how many letters of the alphabet changed their result.
+	 *
+	 * @return The number of changed letters.
+	 */
+	public int getChangedLetterCount() {
+		return changedLetters.length;
+	}
+
+	/**
+	 * Returns a letter whose result changed.
+	 *
+	 * @param i A number from 0 to getChangedLetterCount() - 1.
+	 * @return The alphabet index of the letter, 0 for 'a'.
+	 */
+	public int getChangedLetter(int i) {
+		return changedLetters[i];
+	}
+
+	/**
+	 * Returns the new result of a letter whose result changed.
+	 *
+	 * @param i A number from 0 to getChangedLetterCount() - 1.
+	 * @return The result of the letter.
+	 */
+	public INDEX_RESULT getChangedResult(int i) {
+		return changedResults[i];
+	}
+
+	/**
+	 * Returns how many words could still be the answer after the guess.
+	 *
+	 * @return The number of remaining words.
+	 */
+	public int getRemainingCandidates() {
+		return remainingCandidates;
+	}
+
+}
@@ -0,0 +1,123 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import utilities.Constants;
+
+/**
+ *
+ * This class holds precomputed bit sets over the words of a dictionary, where
+ * bit i of a set stands for the word at index i. There is one set for every
+ * letter at every index of a word, and one set for every letter and number of
+ * times the letter appears in a word. The feedback of a guess can then be
+ * applied to a set of candidate words with a few bitwise operations instead of
+ * scoring every word again. The masks only depend on the dictionary, so they
+ * are created once and shared.
+ *
+ * @author Luke Genova
+ *
+ */
+public class LetterMasks {
+
+	/* Masks that were already created for a dictionary */
+	private static final Map<PackedDictionary, LetterMasks> MASKS = new ConcurrentHashMap<PackedDictionary, LetterMasks>();
+
+	private final int wordCount;
+	private final int wordLength;
+
+	/* Words that have a letter at an index, stored at [index * 26 + letter] */
+	private final long[][] positionMasks;
+
+	/* Words that have a letter at least n times, stored at [letter * (wordLength + 1) + n] */
+	private final long[][] countMasks;
+
+	/**
+	 * LetterMasks constructor.
+	 *
+	 * @param dictionary The dictionary of words the masks are created for.
+	 */
+	private LetterMasks(PackedDictionary dictionary) {
+		this.wordCount = dictionary.size();
+		this.wordLength = dictionary.getWordLength();
+		int words = wordsFor(wordCount);
+		this.positionMasks = new long[wordLength * Constants.LETTERS_IN_ALPHABET][words];
+		this.countMasks = new long[Constants.LETTERS_IN_ALPHABET * (wordLength + 1)][words];
+
+		int[] counts = new int[Constants.LETTERS_IN_ALPHABET];
+		for (int i = 0; i < wordCount; i++) {
+			long packed = dictionary.packedWordAt(i);
+			long bit = 1L << i;
+			for (int position = 0; position < wordLength; position++) {
+				int letter = PackedDictionary.letterAt(packed, position, wordLength);
+				positionMasks[position * Constants.LETTERS_IN_ALPHABET + letter][i >>> 6] |= bit;
+				counts[letter]++;
+				countMasks[letter * (wordLength + 1) + counts[letter]][i >>> 6] |= bit;
+			}
+			for (int position = 0; position < wordLength; position++) {
+				counts[PackedDictionary.letterAt(packed, position, wordLength)] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Returns the shared masks of a dictionary.
+	 *
+	 * @param dictionary The dictionary of words.
+	 * @return The masks of the dictionary.
+	 */
+	public static LetterMasks forDictionary(PackedDictionary dictionary) {
+		return MASKS.computeIfAbsent(dictionary, LetterMasks::new);
+	}
+
+	/**
+	 * Returns the number of longs that are needed to store one bit per word.
+	 *
+	 * @param wordCount The number of words.
+	 * @return The length of a bit set.
+	 */
+	static int wordsFor(int wordCount) {
+		return (wordCount + 63) >>> 6;
+	}
+
+	/**
+	 * Returns the words that have a letter at an index.
+	 *
+	 * @param position The index in the word.
+	 * @param letter The alphabet index of the letter.
+	 * @return A bit set of words. The array must not be changed.
+	 */
+	long[] atPosition(int position, int letter) {
+		return positionMasks[position * Constants.LETTERS_IN_ALPHABET + letter];
+	}
+
+	/**
+	 * Returns the words that have a letter at least a number of times.
+	 *
+	 * @param letter The alphabet index of the letter.
+	 * @param count The number of times, from 1 to the word length.
+	 * @return A bit set of words. The array must not be changed.
+	 */
+	long[] atLeast(int letter, int count) {
+		return countMasks[letter * (wordLength + 1) + count];
+	}
+
+	/**
+	 * Returns the number of words in the dictionary of the masks.
+	 *
+	 * @return An integer of the number of words.
+	 */
+	int getWordCount() {
+		return wordCount;
+	}
+
+	/**
+	 * Returns the number of letters in every word of the dictionary of the masks.
+	 *
+	 * @return An integer of the word length.
+	 */
+	int getWordLength() {
+		return wordLength;
+	}
+
+}
@@ -0,0 +1,399 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import metrics.Metrics;
+import utilities.Constants;
+import utilities.GameMode;
+import utilities.Guess;
+import utilities.INDEX_RESULT;
+
+/**
+ *
+ * This class represents the model of a game with several boards, such as Dordle
+ * (2 boards), Quordle (4 boards) or Octordle (8 boards). Every board has its own
+ * hidden answer and every guess is played on all of the boards that haven't been
+ * solved yet. The game is won once every board is solved.
+ *
+ * A guess is scored against all of the boards in a single pass with a BatchScorer,
+ * instead of scoring it once per board. The scorer only holds the boards that are
+ * still being played and is rebuilt when a board is solved.
+ *
+ * @author Luke Genova
+ *
+ */
+public class MultiBoardModel {
+
+	/* Range of the number of boards that can be played */
+	public static final int MIN_BOARDS = 1;
+	public static final int MAX_BOARDS = 32;
+
+	private final GameMode mode;
+	private final WordLists wordLists;
+	private final long[] answers;
+
+	/* Maintains the progress of every board, stored at [board][row] */
+	private final Guess[][] progress;
+
+	/* The row each board was solved in, or -1 while it is being played */
+	private final int[] solvedRows;
+	private int solvedCount;
+
+	/* The boards that are still being played and the scorer of their answers */
+	private int[] activeBoards;
+	private BatchScorer scorer;
+	private int[] patterns;
+
+	/* The best result of each letter of the alphabet on any board, null if not guessed */
+	private final INDEX_RESULT[] guessedCharacters;
+
+	private final List<BoardsListener> listeners = new CopyOnWriteArrayList<BoardsListener>();
+
+	/**
+	 * MultiBoardModel constructor. Every board gets a different random answer.
+	 *
+	 * @param boards The number of boards, from MIN_BOARDS to MAX_BOARDS.
+	 * @param mode The word length and number of guesses of the game.
+	 */
+	public MultiBoardModel(int boards, GameMode mode) {
+		this(mode, randomAnswers(boards, answersFor(mode)));
+	}
+
+	/**
+	 * MultiBoardModel constructor for a game with known answers.
+	 *
+	 * @param mode The word length and number of guesses of the game.
+	 * @param answers The answer of every board. Every answer must be a word in the
+	 * answer list with the word length of the mode.
+	 */
+	public MultiBoardModel(GameMode mode, String... answers) {
+		this(mode, checkedAnswers(answersFor(mode), answers));
+	}
+
+	/**
+	 * MultiBoardModel constructor.
+	 *
+	 * @param mode The word length and number of guesses of the game.
+	 * @param answers The packed word of the answer of every board.
+	 */
+	private MultiBoardModel(GameMode mode, long[] answers) {
+		if (answers.length < MIN_BOARDS || answers.length > MAX_BOARDS) {
+			throw new IllegalArgumentException("The number of boards must be between " + MIN_BOARDS 
+					+ " and " + MAX_BOARDS + ".");
+		}
+		this.mode = mode;
+		this.wordLists = WordleModel.getSharedWordLists(mode.getWordLength());
+		this.answers = answers;
+		this.progress = new Guess[answers.length][mode.getGuessLimit()];
+		this.solvedRows = new int[answers.length];
+		Arrays.fill(solvedRows, -1);
+		this.guessedCharacters = new INDEX_RESULT[Constants.LETTERS_IN_ALPHABET];
+		this.activeBoards = new int[answers.length];
+		for (int board = 0; board < answers.length; board++) {
+			activeBoards[board] = board;
+		}
+		this.scorer = new BatchScorer(answers, mode.getWordLength());
+		this.patterns = new int[answers.length];
+		Metrics.GAMES_STARTED.increment();
+	}
+
+	/**
+	 * Returns the usual number of guesses of a game with several boards, which
+	 * is one more than the classic game for every extra board.
+	 *
+	 * @param boards The number of boards.
+	 * @return The number of guesses.
+	 */
+	public static int defaultGuessLimit(int boards) {
+		return Constants.NUMBER_OF_GUESSES + boards - 1;
+	}
+
+	private static PackedDictionary answersFor(GameMode mode) {
+		PackedDictionary answers = WordleModel.getSharedWordLists(mode.getWordLength()).getAnswers();
+		if (answers.size() == 0) {
+			throw new IllegalArgumentException("There are no words of " + mode.getWordLength() 
+					+ " letters in the dictionary.");
+		}
+		return answers;
+	}
+
+	/**
+	 * Picks a different random word for every board.
+	 *
+	 * @param boards The number of boards.
+	 * @param dictionary The words that can be the answer.
+	 * @return The packed word of the answer of every board.
+	 */
+	private static long[] randomAnswers(int boards, PackedDictionary dictionary) {
+		if (boards < MIN_BOARDS || boards > MAX_BOARDS || boards > dictionary.size()) {
+			throw new IllegalArgumentException("The number of boards must be between " + MIN_BOARDS 
+					+ " and " + Math.min(MAX_BOARDS, dictionary.size()) + ".");
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int[] picked = new int[boards];
+		for (int board = 0; board < boards; board++) {
+			int index;
+			boolean repeated;
+			do {
+				index = random.nextInt(dictionary.size());
+				repeated = false;
+				for (int other = 0; other < board; other++) {
+					repeated |= picked[other] == index;
+				}
+			} while (repeated);
+			picked[board] = index;
+		}
+		long[] answers = new long[boards];
+		for (int board = 0; board < boards; board++) {
+			answers[board] = dictionary.packedWordAt(picked[board]);
+		}
+		return answers;
+	}
+
+	/**
+	 * Makes sure that every answer is a word in the answer list.
+	 *
+	 * @param dictionary The words that can be the answer.
+	 * @param answers The answer of every board.
+	 * @return The packed word of the answer of every board.
+	 */
+	private static long[] checkedAnswers(PackedDictionary dictionary, String[] answers) {
+		long[] packed = new long[answers.length];
+		for (int board = 0; board < answers.length; board++) {
+			int index = dictionary.indexOf(answers[board]);
+			if (index < 0) {
+				throw new IllegalArgumentException("The answer " + answers[board] + " is not in the answer list.");
+			}
+			packed[board] = dictionary.packedWordAt(index);
+		}
+		return packed;
+	}
+
+	/**
+	 * Adds a listener that is told about every guess.
+	 *
+	 * @param listener a listener to be added.
+	 */
+	public void addListener(BoardsListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener that was added before.
+	 *
+	 * @param listener a listener to be removed.
+	 */
+	public void removeListener(BoardsListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Scores a guess against every board that hasn't been solved yet. Updates the
+	 * progress of those boards and what letters in the alphabet have been guessed,
+	 * then notifies the listeners.
+	 *
+	 * @param guessNumber a integer that represents what attempt the user is on.
+	 * @param guess a string that contains the user's guess to the game.
+	 */
+	public void makeGuess(int guessNumber, String guess) {
+		int wordLength = mode.getWordLength();
+		long packedGuess = PackedDictionary.encode(guess);
+		if (packedGuess == PackedDictionary.INVALID_WORD || guess.length() != wordLength) {
+			throw new IllegalArgumentException("The guess must be a word of " 
+					+ wordLength + " letters.");
+		}
+		long start = Metrics.startTimer();
+		scorer.score(packedGuess, patterns);
+
+		Guess[] results = new Guess[answers.length];
+		int allCorrect = Scorer.allCorrect(wordLength);
+		boolean solvedAny = false;
+		int changed = 0;
+		for (int slot = 0; slot < activeBoards.length; slot++) {
+			int board = activeBoards[slot];
+			int pattern = patterns[slot];
+			INDEX_RESULT[] indices = new INDEX_RESULT[wordLength];
+			for (int i = 0; i < wordLength; i++) {
+				INDEX_RESULT result = Scorer.resultAt(pattern, i);
+				indices[i] = result;
+
+				// A letter on the keyboard only changes to a better result than it already has.
+				int alphabet_index = PackedDictionary.letterAt(packedGuess, i, wordLength);
+				INDEX_RESULT previous = guessedCharacters[alphabet_index];
+				if (previous == null || Scorer.digitAt(pattern, i) > digitOf(previous)) {
+					guessedCharacters[alphabet_index] = result;
+					changed |= 1 << alphabet_index;
+				}
+			}
+			boolean isCorrect = pattern == allCorrect;
+			results[board] = new Guess(guess, indices, isCorrect);
+			progress[board][guessNumber] = results[board];
+			if (isCorrect) {
+				solvedRows[board] = guessNumber;
+				solvedCount++;
+				solvedAny = true;
+			}
+		}
+		if (solvedAny) {
+			removeSolvedBoards();
+		}
+		Metrics.SCORING.recordSince(start);
+		if (solvedCount == answers.length || guessNumber == mode.getGuessLimit() - 1) {
+			Metrics.GAMES_FINISHED.increment();
+			if (solvedCount == answers.length) {
+				Metrics.GAMES_WON.increment();
+			}
+		}
+		publish(guessNumber, results, changed);
+	}
+
+	/**
+	 * Rebuilds the scorer with only the boards that are still being played.
+	 */
+	private void removeSolvedBoards() {
+		int[] active = new int[answers.length - solvedCount];
+		long[] activeAnswers = new long[active.length];
+		int next = 0;
+		for (int board : activeBoards) {
+			if (solvedRows[board] == -1) {
+				active[next] = board;
+				activeAnswers[next] = answers[board];
+				next++;
+			}
+		}
+		activeBoards = active;
+		scorer = new BatchScorer(activeAnswers, mode.getWordLength());
+		patterns = new int[active.length];
+	}
+
+	/**
+	 * Tells every listener about a guess that was scored.
+	 *
+	 * @param guessNumber a integer that represents what attempt the user is on.
+	 * @param results the result of the guess on every board.
+	 * @param changed a bit mask of the letters whose result changed, bit 0 for 'a'.
+	 */
+	private void publish(int guessNumber, Guess[] results, int changed) {
+		if (listeners.isEmpty()) {
+			return;
+		}
+		int count = Integer.bitCount(changed);
+		int[] letters = new int[count];
+		INDEX_RESULT[] changedResults = new INDEX_RESULT[count];
+		for (int i = 0; i < count; i++) {
+			int letter = Integer.numberOfTrailingZeros(changed);
+			letters[i] = letter;
+			changedResults[i] = guessedCharacters[letter];
+			changed &= changed - 1;
+		}
+		BoardsScored event = new BoardsScored(guessNumber, results, letters, changedResults);
+		for (BoardsListener listener : listeners) {
+			listener.boardsScored(event);
+		}
+	}
+
+	/**
+	 * Returns the pattern digit of a result, so that better results are larger.
+	 *
+	 * @param result The result of a letter.
+	 * @return INCORRECT, WRONG_INDEX or CORRECT.
+	 */
+	private static int digitOf(INDEX_RESULT result) {
+		if (result == INDEX_RESULT.CORRECT) {
+			return Scorer.CORRECT;
+		} else if (result == INDEX_RESULT.CORRECT_WRONG_INDEX) {
+			return Scorer.WRONG_INDEX;
+		} else {
+			return Scorer.INCORRECT;
+		}
+	}
+
+	/**
+	 * Return the game mode of the model.
+	 *
+	 * @return The word length and number of guesses of the game.
+	 */
+	public GameMode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Return the dictionary of valid words that the user can input.
+	 *
+	 * @return A packed dictionary of every valid word.
+	 */
+	public PackedDictionary getDictionary() {
+		return wordLists.getWords();
+	}
+
+	/**
+	 * Return the guesses and answers of the game.
+	 *
+	 * @return The word lists of the game's word length.
+	 */
+	public WordLists getWordLists() {
+		return wordLists;
+	}
+
+	/**
+	 * Return the number of boards of the game.
+	 *
+	 * @return An integer of the number of boards.
+	 */
+	public int getBoardCount() {
+		return answers.length;
+	}
+
+	/**
+	 * Return the answer of a board.
+	 *
+	 * @param board The index of the board.
+	 * @return A string containing the answer of the board.
+	 */
+	public String getAnswer(int board) {
+		return PackedDictionary.decode(answers[board], mode.getWordLength());
+	}
+
+	/**
+	 * Checks if a board has been solved.
+	 *
+	 * @param board The index of the board.
+	 * @return A boolean of whether the board's answer has been guessed.
+	 */
+	public boolean isSolved(int board) {
+		return solvedRows[board] != -1;
+	}
+
+	/**
+	 * Return how many boards have been solved.
+	 *
+	 * @return An integer of the number of solved boards.
+	 */
+	public int getSolvedCount() {
+		return solvedCount;
+	}
+
+	/**
+	 * Return the guessed characters, with the best result of every letter on any board.
+	 *
+	 * @return An array of the result of the guess on each letter in the alphabet
+	 */
+	public INDEX_RESULT[] getGuessedCharacters() {
+		return guessedCharacters;
+	}
+
+	/**
+	 * A getter method that returns the guesses of a board. Rows after the board
+	 * was solved stay null.
+	 *
+	 * @param board The index of the board.
+	 * @return An array of guess objects.
+	 */
+	public Guess[] getProgress(int board) {
+		return progress[board];
+	}
+
+}
@@ -0,0 +1,361 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import utilities.Constants;
+import utilities.GameMode;
+
+/**
+ *
+ * This class represents the dictionary of valid words of a single length in a
+ * compact form. Instead of storing a String for every word, each word is packed
+ * into a single number using 5 bits per letter (the first letter is stored in
+ * the most significant bits). The packed words are kept in a sorted array, so
+ * checking if a word is in the dictionary is a binary search that does not
+ * create any objects. Because of the way the letters are packed, the sorted
+ * order of the numbers is the same as the alphabetical order of the words.
+ * A dictionary can't be changed once it is created, so a single instance can
+ * safely be shared between every game and thread.
+ *
+ * Packed words are passed around as longs so that words of up to 11 letters
+ * fit. Words of up to 6 letters also fit in an int, so those dictionaries keep
+ * their words in an int array and only use half the memory.
+ *
+ * @author Luke Genova
+ *
+ */
+public class PackedDictionary {
+
+	/* Number of bits used to store a single letter */
+	public static final int BITS_PER_LETTER = 5;
+
+	/* Returned by encode when a word can't be packed */
+	public static final long INVALID_WORD = -1;
+
+	/* Longest word whose packed form still fits in an int */
+	static final int MAX_INT_WORD_LENGTH = 31 / BITS_PER_LETTER;
+
+	private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+
+	private final int wordLength;
+
+	/* Sorted arrays of packed words without duplicates. Only one of them is used. */
+	private final int[] words;
+	private final long[] wideWords;
+
+	/**
+	 * PackedDictionary constructor.
+	 *
+	 * @param wordLength The number of letters in every word.
+	 * @param packedWords An array of packed words. The array may be in any order
+	 * and may contain duplicates.
+	 * @param count The number of packed words in the array that are used.
+	 */
+	public PackedDictionary(int wordLength, long[] packedWords, int count) {
+		long[] sorted = Arrays.copyOf(packedWords, count);
+		Arrays.sort(sorted);
+
+		// Removes any duplicate words.
+		int unique = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (unique == 0 || sorted[unique-1] != sorted[i]) {
+				sorted[unique++] = sorted[i];
+			}
+		}
+		this.wordLength = wordLength;
+		if (wordLength <= MAX_INT_WORD_LENGTH) {
+			this.words = new int[unique];
+			for (int i = 0; i < unique; i++) {
+				words[i] = (int) sorted[i];
+			}
+			this.wideWords = null;
+		} else {
+			this.words = null;
+			this.wideWords = Arrays.copyOf(sorted, unique);
+		}
+	}
+
+	/**
+	 * Creates a dictionary of short words from an array that is already sorted
+	 * and has no duplicates. The array is used directly without being copied.
+	 *
+	 * @param wordLength The number of letters in every word, at most MAX_INT_WORD_LENGTH.
+	 * @param sortedWords A sorted array of unique packed words.
+	 */
+	PackedDictionary(int wordLength, int[] sortedWords) {
+		this.wordLength = wordLength;
+		this.words = sortedWords;
+		this.wideWords = null;
+	}
+
+	/**
+	 * Creates a dictionary of long words from an array that is already sorted
+	 * and has no duplicates. The array is used directly without being copied.
+	 *
+	 * @param wordLength The number of letters in every word, more than MAX_INT_WORD_LENGTH.
+	 * @param sortedWords A sorted array of unique packed words.
+	 */
+	PackedDictionary(int wordLength, long[] sortedWords) {
+		this.wordLength = wordLength;
+		this.words = null;
+		this.wideWords = sortedWords;
+	}
+
+	/**
+	 * Reads a text file that has one word on each line and packs every five
+	 * letter word into a dictionary.
+	 *
+	 * @param filename A string that contains the url of a file.
+	 * @return A packed dictionary that contains every five letter word in the file.
+	 */
+	public static PackedDictionary load(String filename) {
+		return load(filename, Constants.WORD_LENGTH);
+	}
+
+	/**
+	 * Reads a text file that has one word on each line and packs every word of
+	 * a single length into a dictionary. Lines of any other length are skipped
+	 * without being packed, and lines that aren't valid words are skipped too.
+	 *
+	 * @param filename A string that contains the url of a file.
+	 * @param wordLength The number of letters of the words to keep.
+	 * @return A packed dictionary that contains every word of that length in the file.
+	 */
+	public static PackedDictionary load(String filename, int wordLength) {
+		return loadLengths(filename, wordLength, wordLength)[wordLength];
+	}
+
+	/**
+	 * Reads a text file that has one word on each line and splits the words into
+	 * one dictionary for every word length that can be played.
+	 *
+	 * @param filename A string that contains the url of a file.
+	 * @return An array of dictionaries indexed by word length. Every length from
+	 * MIN_WORD_LENGTH to MAX_WORD_LENGTH has a dictionary, which may be empty.
+	 */
+	public static PackedDictionary[] loadAll(String filename) {
+		return loadLengths(filename, GameMode.MIN_WORD_LENGTH, GameMode.MAX_WORD_LENGTH);
+	}
+
+	/**
+	 * Reads the words of a range of lengths from a text file in a single pass.
+	 *
+	 * @param filename A string that contains the url of a file.
+	 * @param minLength The shortest word length to keep.
+	 * @param maxLength The longest word length to keep.
+	 * @return An array of dictionaries indexed by word length.
+	 */
+	private static PackedDictionary[] loadLengths(String filename, int minLength, int maxLength) {
+		long[][] words = new long[maxLength + 1][];
+		int[] counts = new int[maxLength + 1];
+		for (int length = minLength; length <= maxLength; length++) {
+			words[length] = new long[1024];
+		}
+
+		try (BufferedReader fileInput = Files.newBufferedReader(Paths.get(filename), StandardCharsets.US_ASCII)) {
+			String line;
+			while ((line = fileInput.readLine()) != null) {
+				String word = line.trim();
+				int length = word.length();
+				if (length < minLength || length > maxLength) {
+					continue;
+				}
+				long packed = encode(word);
+				if (packed == INVALID_WORD) {
+					continue;
+				}
+				if (counts[length] == words[length].length) {
+					words[length] = Arrays.copyOf(words[length], counts[length] * 2);
+				}
+				words[length][counts[length]++] = packed;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to read the dictionary " + filename, e);
+		}
+
+		PackedDictionary[] dictionaries = new PackedDictionary[maxLength + 1];
+		for (int length = minLength; length <= maxLength; length++) {
+			dictionaries[length] = new PackedDictionary(length, words[length], counts[length]);
+		}
+		return dictionaries;
+	}
+
+	/**
+	 * Packs a word into a number. Letters are case insensitive.
+	 *
+	 * @param word A sequence of characters that represents a word.
+	 * @return The packed word, or INVALID_WORD if the word doesn't have a length
+	 * that can be played or contains characters that are not letters.
+	 */
+	public static long encode(CharSequence word) {
+		int length = word.length();
+		if (length < GameMode.MIN_WORD_LENGTH || length > GameMode.MAX_WORD_LENGTH) {
+			return INVALID_WORD;
+		}
+		long packed = 0;
+		for (int i = 0; i < length; i++) {
+			char letter = word.charAt(i);
+			int index;
+			if (letter >= 'a' && letter <= 'z') {
+				index = letter - 'a';
+			} else if (letter >= 'A' && letter <= 'Z') {
+				index = letter - 'A';
+			} else {
+				return INVALID_WORD;
+			}
+			packed = (packed << BITS_PER_LETTER) | index;
+		}
+		return packed;
+	}
+
+	/**
+	 * Unpacks a packed word back into a lower case string.
+	 *
+	 * @param packed A number that represents a packed word.
+	 * @param wordLength The number of letters in the word.
+	 * @return A string containing the word.
+	 */
+	public static String decode(long packed, int wordLength) {
+		char[] letters = new char[wordLength];
+		for (int i = 0; i < wordLength; i++) {
+			letters[i] = (char) ('a' + letterAt(packed, i, wordLength));
+		}
+		return new String(letters);
+	}
+
+	/**
+	 * Returns the alphabet index (0 for 'a', 25 for 'z') of a letter in a packed word.
+	 *
+	 * @param packed A number that represents a packed word.
+	 * @param position The position of the letter in the word.
+	 * @param wordLength The number of letters in the word.
+	 * @return The alphabet index of the letter.
+	 */
+	public static int letterAt(long packed, int position, int wordLength) {
+		int shift = (wordLength - 1 - position) * BITS_PER_LETTER;
+		return (int) (packed >>> shift) & LETTER_MASK;
+	}
+
+	/**
+	 * Checks if a word is in the dictionary. Letters are case insensitive.
+	 *
+	 * @param word A sequence of characters that represents a word.
+	 * @return A boolean of whether the word is in the dictionary or not.
+	 */
+	public boolean contains(CharSequence word) {
+		return indexOf(word) >= 0;
+	}
+
+	/**
+	 * Returns the index of a word in the dictionary.
+	 *
+	 * @param word A sequence of characters that represents a word.
+	 * @return The index of the word, or a negative number if the word is not
+	 * in the dictionary.
+	 */
+	public int indexOf(CharSequence word) {
+		if (word.length() != wordLength) {
+			return -1;
+		}
+		long packed = encode(word);
+		if (packed == INVALID_WORD) {
+			return -1;
+		}
+		return indexOf(packed);
+	}
+
+	/**
+	 * Returns the index of a packed word in the dictionary.
+	 *
+	 * @param packed A number that represents a packed word of the dictionary's length.
+	 * @return The index of the word, or a negative number if the word is not
+	 * in the dictionary.
+	 */
+	public int indexOf(long packed) {
+		int index;
+		if (words != null) {
+			if (packed < 0 || packed > Integer.MAX_VALUE) {
+				return -1;
+			}
+			index = Arrays.binarySearch(words, (int) packed);
+		} else {
+			index = Arrays.binarySearch(wideWords, packed);
+		}
+		return index < 0 ? -1 : index;
+	}
+
+	/**
+	 * Returns the packed word at a specific index.
+	 *
+	 * @param index The index of a word in the dictionary.
+	 * @return A number that represents the packed word.
+	 */
+	public long packedWordAt(int index) {
+		return words != null ? words[index] : wideWords[index];
+	}
+
+	/**
+	 * Returns the word at a specific index.
+	 *
+	 * @param index The index of a word in the dictionary.
+	 * @return A lower case string containing the word.
+	 */
+	public String wordAt(int index) {
+		return decode(packedWordAt(index), wordLength);
+	}
+
+	/**
+	 * Computes a checksum of every word in the dictionary. Two dictionaries with
+	 * the same words have the same fingerprint.
+	 *
+	 * @return The CRC32 checksum of the packed words.
+	 */
+	public long fingerprint() {
+		CRC32 crc = new CRC32();
+		int width = words != null ? 4 : 8;
+		byte[] bytes = new byte[width];
+		for (int i = 0; i < size(); i++) {
+			long word = packedWordAt(i);
+			for (int b = 0; b < width; b++) {
+				bytes[b] = (byte) (word >>> (8 * (width - 1 - b)));
+			}
+			crc.update(bytes, 0, bytes.length);
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Returns the number of letters in every word of the dictionary.
+	 *
+	 * @return An integer of the word length.
+	 */
+	public int getWordLength() {
+		return wordLength;
+	}
+
+	/**
+	 * Checks if the words are stored in an int array instead of a long array.
+	 *
+	 * @return A boolean of whether each packed word uses 4 bytes instead of 8.
+	 */
+	boolean isNarrow() {
+		return words != null;
+	}
+
+	/**
+	 * Returns the number of words in the dictionary.
+	 *
+	 * @return An integer of the number of words.
+	 */
+	public int size() {
+		return words != null ? words.length : wideWords.length;
+	}
+
+}
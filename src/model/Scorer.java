@@ -0,0 +1,178 @@
+package model;
+
+import utilities.GameMode;
+import utilities.INDEX_RESULT;
+
+/**
+ *
+ * This class scores a guess against an answer. The result of every letter is
+ * stored as a base 3 digit (0 for incorrect, 1 for the correct letter in the wrong
+ * index and 2 for correct), where the letter at index i is worth 3 to the power
+ * of i. This means the feedback for a whole five letter guess fits in a single
+ * byte (0 to 242), and the feedback of even the longest words fits in an int.
+ * Scoring works on packed words and does not create any objects.
+ *
+ * A letter that appears more than once in the guess is only marked as being in
+ * the wrong index as many times as it appears in the answer (after the letters
+ * that are correct have been counted).
+ *
+ * @author Luke Genova
+ *
+ */
+public final class Scorer {
+
+	/* Digit values of the results of a single letter */
+	public static final int INCORRECT = 0;
+	public static final int WRONG_INDEX = 1;
+	public static final int CORRECT = 2;
+
+	/* Weight of the digit at every index, and the number of patterns of every length */
+	private static final int[] POWERS = new int[GameMode.MAX_WORD_LENGTH + 1];
+
+	/* Maps a digit to the result it represents */
+	private static final INDEX_RESULT[] RESULTS = {
+			INDEX_RESULT.INCORRECT, INDEX_RESULT.CORRECT_WRONG_INDEX, INDEX_RESULT.CORRECT
+	};
+
+	static {
+		for (int i = 0; i < POWERS.length; i++) {
+			POWERS[i] = pow3(i);
+		}
+	}
+
+	private Scorer() {
+	}
+
+	/**
+	 * Returns the number of different feedback patterns of a guess.
+	 *
+	 * @param wordLength The number of letters in a word.
+	 * @return 3 to the power of the word length.
+	 */
+	public static int patternCount(int wordLength) {
+		return POWERS[wordLength];
+	}
+
+	/**
+	 * Returns the pattern of a guess where every letter is correct.
+	 *
+	 * @param wordLength The number of letters in a word.
+	 * @return The largest pattern of that word length.
+	 */
+	public static int allCorrect(int wordLength) {
+		return POWERS[wordLength] - 1;
+	}
+
+	/**
+	 * Scores a guess against an answer.
+	 *
+	 * @param guess A packed word that represents the guess.
+	 * @param answer A packed word that represents the answer.
+	 * @param wordLength The number of letters in both words.
+	 * @return The feedback pattern of the guess.
+	 */
+	public static int score(long guess, long answer, int wordLength) {
+		int pattern = 0;
+
+		// Marks the correct letters first. The answer letters that were matched
+		// can't be used again for letters that are in the wrong index.
+		int used = 0;
+		for (int i = 0; i < wordLength; i++) {
+			if (PackedDictionary.letterAt(guess, i, wordLength) == PackedDictionary.letterAt(answer, i, wordLength)) {
+				used |= 1 << i;
+				pattern += CORRECT * POWERS[i];
+			}
+		}
+
+		// Each remaining guess letter uses up the first unused matching letter in
+		// the answer. The mask of used answer indices does the job of a letter count.
+		int correct = used;
+		for (int i = 0; i < wordLength; i++) {
+			if ((correct & (1 << i)) != 0) {
+				continue;
+			}
+			int letter = PackedDictionary.letterAt(guess, i, wordLength);
+			for (int j = 0; j < wordLength; j++) {
+				if ((used & (1 << j)) == 0 && PackedDictionary.letterAt(answer, j, wordLength) == letter) {
+					used |= 1 << j;
+					pattern += WRONG_INDEX * POWERS[i];
+					break;
+				}
+			}
+		}
+		return pattern;
+	}
+
+	/**
+	 * Scores a guess against an answer. Letters are case insensitive.
+	 *
+	 * @param guess A string that contains the guess.
+	 * @param answer A string that contains the answer, with as many letters as the guess.
+	 * @return The feedback pattern of the guess.
+	 */
+	public static int score(CharSequence guess, CharSequence answer) {
+		long packedGuess = PackedDictionary.encode(guess);
+		long packedAnswer = PackedDictionary.encode(answer);
+		if (packedGuess == PackedDictionary.INVALID_WORD || packedAnswer == PackedDictionary.INVALID_WORD
+				|| guess.length() != answer.length()) {
+			throw new IllegalArgumentException("Only words of the same length, from " + GameMode.MIN_WORD_LENGTH 
+					+ " to " + GameMode.MAX_WORD_LENGTH + " letters, can be scored.");
+		}
+		return score(packedGuess, packedAnswer, guess.length());
+	}
+
+	/**
+	 * Returns the digit of a single index in a feedback pattern.
+	 *
+	 * @param pattern A feedback pattern.
+	 * @param position The index of the letter.
+	 * @return INCORRECT, WRONG_INDEX or CORRECT.
+	 */
+	public static int digitAt(int pattern, int position) {
+		return (pattern / POWERS[position]) % 3;
+	}
+
+	/**
+	 * Returns the result of a single index in a feedback pattern.
+	 *
+	 * @param pattern A feedback pattern.
+	 * @param position The index of the letter.
+	 * @return The result of the letter at that index.
+	 */
+	public static INDEX_RESULT resultAt(int pattern, int position) {
+		return RESULTS[digitAt(pattern, position)];
+	}
+
+	/**
+	 * Converts the results of every index of a guess back into a feedback pattern.
+	 *
+	 * @param indices An array describing the correctness of each individual index in a guess.
+	 * @return The feedback pattern of the guess.
+	 */
+	public static int patternOf(INDEX_RESULT[] indices) {
+		int pattern = 0;
+		for (int i = 0; i < indices.length; i++) {
+			if (indices[i] == INDEX_RESULT.CORRECT) {
+				pattern += CORRECT * POWERS[i];
+			} else if (indices[i] == INDEX_RESULT.CORRECT_WRONG_INDEX) {
+				pattern += WRONG_INDEX * POWERS[i];
+			}
+		}
+		return pattern;
+	}
+
+	/**
+	 * Computes 3 to the power of an exponent.
+	 *
+	 * @param exponent A non negative integer.
+	 * @return 3 to the power of the exponent.
+	 */
+	private static int pow3(int exponent) {
+		int result = 1;
+		for (int i = 0; i < exponent; i++) {
+			result *= 3;
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,144 @@
+package model;
+
+/**
+ *
+ * This class holds the two word lists of a single word length: the answers,
+ * which are the words a game can choose as its answer, and every word that can
+ * be guessed. The answer list is usually a small list of common words, while
+ * the guesses also include every obscure word of the dictionary.
+ *
+ * Looking up a guess is tiered. Most guesses are common words, so the small
+ * answer list is searched first and the rest of the guesses are only searched
+ * when the word isn't an answer. The candidates of a game and the solver only
+ * work over the answers, so they get cheaper the smaller the answer list is.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class WordLists {
+
+	/* Every word that can be guessed, answers included */
+	private final PackedDictionary words;
+
+	/* The words that can be the answer */
+	private final PackedDictionary answers;
+
+	/* The words that can be guessed but aren't answers */
+	private final PackedDictionary otherGuesses;
+
+	/**
+	 * WordLists constructor.
+	 *
+	 * @param words Every word that can be guessed.
+	 * @param answers The words that can be the answer. Words that can't be
+	 * guessed are left out.
+	 */
+	public WordLists(PackedDictionary words, PackedDictionary answers) {
+		if (words.getWordLength() != answers.getWordLength()) {
+			throw new IllegalArgumentException("The guesses and answers must have the same length.");
+		}
+		this.words = words;
+		if (answers == words) {
+			this.answers = words;
+			this.otherGuesses = new PackedDictionary(words.getWordLength(), new long[0], 0);
+		} else {
+			this.answers = select(answers, words, true);
+			this.otherGuesses = select(words, this.answers, false);
+		}
+	}
+
+	/**
+	 * Creates the word lists of a dictionary where every word can be the answer.
+	 *
+	 * @param words Every word that can be guessed.
+	 * @return The word lists.
+	 */
+	public static WordLists of(PackedDictionary words) {
+		return new WordLists(words, words);
+	}
+
+	/**
+	 * Creates a dictionary of the words of a list that are or aren't in another list.
+	 *
+	 * @param list The words to choose from.
+	 * @param other The other list.
+	 * @param inOther A boolean of whether to keep the words that are in the other list.
+	 * @return A packed dictionary of the chosen words.
+	 */
+	private static PackedDictionary select(PackedDictionary list, PackedDictionary other, boolean inOther) {
+		long[] chosen = new long[list.size()];
+		int count = 0;
+		for (int i = 0; i < list.size(); i++) {
+			long packed = list.packedWordAt(i);
+			if ((other.indexOf(packed) >= 0) == inOther) {
+				chosen[count++] = packed;
+			}
+		}
+		return new PackedDictionary(list.getWordLength(), chosen, count);
+	}
+
+	/**
+	 * Checks if a word can be guessed. Letters are case insensitive.
+	 *
+	 * @param word A sequence of characters that represents a word.
+	 * @return A boolean of whether the word is an answer or one of the other guesses.
+	 */
+	public boolean contains(CharSequence word) {
+		if (word.length() != words.getWordLength()) {
+			return false;
+		}
+		long packed = PackedDictionary.encode(word);
+		if (packed == PackedDictionary.INVALID_WORD) {
+			return false;
+		}
+		return contains(packed);
+	}
+
+	/**
+	 * Checks if a packed word can be guessed. The answers are checked before the
+	 * rest of the guesses.
+	 *
+	 * @param packed A number that represents a packed word of the lists' length.
+	 * @return A boolean of whether the word can be guessed.
+	 */
+	public boolean contains(long packed) {
+		return answers.indexOf(packed) >= 0 || otherGuesses.indexOf(packed) >= 0;
+	}
+
+	/**
+	 * Returns every word that can be guessed.
+	 *
+	 * @return A packed dictionary of the guesses, answers included.
+	 */
+	public PackedDictionary getWords() {
+		return words;
+	}
+
+	/**
+	 * Returns the words that can be the answer.
+	 *
+	 * @return A packed dictionary of the answers.
+	 */
+	public PackedDictionary getAnswers() {
+		return answers;
+	}
+
+	/**
+	 * Returns the words that can be guessed but aren't answers.
+	 *
+	 * @return A packed dictionary of the other guesses, empty when every word is an answer.
+	 */
+	public PackedDictionary getOtherGuesses() {
+		return otherGuesses;
+	}
+
+	/**
+	 * Returns the number of letters in every word.
+	 *
+	 * @return An integer of the word length.
+	 */
+	public int getWordLength() {
+		return words.getWordLength();
+	}
+
+}
@@ -1,15 +1,12 @@
 package model;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.HashSet;
-import java.util.Observable;
-import java.util.Observer;
-import java.util.Random;
-import java.util.Scanner;
-import java.util.Set;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 
+import metrics.Metrics;
 import utilities.Constants;
+import utilities.GameMode;
 import utilities.Guess;
 import utilities.INDEX_RESULT;
 
@@ -20,22 +17,43 @@ import utilities.INDEX_RESULT;
  * which uses a MVC architecture. The model generally stores valuable information
  * in data structures such as the guess result of each letter of the alphabet, the 
  * game progression grid, and the list of valid words in the dictionary. The model can 
- * take the guess given and update information based on the result, reads words from a 
- * text file  which it stores in a set for the controller to use for exception checking, 
+ * take the guess given and update information based on the result, shares a dictionary 
+ * read once from a text file for the controller to use for exception checking, 
  * and determines the answer by randomly selecting a word from the dictionary. The model 
- * also notifies the View through the Observer/Observable pattern when data within the model 
- * has changed. 
+ * also notifies the View and any other listeners with a GuessScored event that only 
+ * contains what changed after every guess, and with a GameFinished event once the
+ * answer is guessed or the last guess is used. 
+ * 
+ * A game is played in a game mode, which sets the length of the words and the
+ * number of guesses. Each mode only loads the words of its own length.
+ * 
+ * The answer is chosen from the answer list, which is read from Answers.txt
+ * when it exists. Every word of the dictionary can still be guessed, but only
+ * the answers are kept as candidates.
  * 
  * @author Luke Genova
  * 
  */
-@SuppressWarnings("deprecation")
-public class WordleModel extends Observable {
+public class WordleModel {
 	
 	
 	private static final String FILENAME = "./Dictionary.txt";
+	private static final String IMAGE_FILENAME = "./Dictionary.bin";
+	private static final String ANSWERS_FILENAME = "./Answers.txt";
 	
-	private String answer;
+	/*
+	 * Holds the dictionary that every model shares. The words of a length are only
+	 * read the first time a model of that length is created, and only once even
+	 * when several threads ask for them. The compiled binary image is used when it
+	 * is up to date.
+	 */
+	private static class DictionaryHolder {
+		private static final DictionaryIndex INDEX = new DictionaryIndex(FILENAME, ANSWERS_FILENAME, IMAGE_FILENAME);
+	}
+	
+	private final GameMode mode;
+	private final String answer;
+	private final long packedAnswer;
 	/* 
 	 * Maintains an array of INDEX_RESULTs for the guessed characters. There
 	 * should be 26 indices in this array, one for each character in the English
@@ -44,7 +62,12 @@ public class WordleModel extends Observable {
 	 */
 	private INDEX_RESULT[] guessedCharacters;
 	
-	private Set<String> dictionary;
+	private final WordLists wordLists;
+	private final PackedDictionary dictionary;
+	private final PackedDictionary answers;
+	
+	/* The words of the answer list that could still be the answer */
+	private final CandidateSet candidates;
 	
 	/* 
 	 * Maintains the progress the user has made so far. This array should have
@@ -53,74 +76,128 @@ public class WordleModel extends Observable {
 	 * by a 'null' value.
 	 */
 	private Guess[] progress;
+	
+	private final List<GameListener> listeners = new CopyOnWriteArrayList<GameListener>();
 
 	/**
 	 * WordleModel constructor.
 	 */
 	public WordleModel() { 
-		// Gets the set of possible words from Dictionary.txt and randomly
+		this(GameMode.DEFAULT);
+	}
+	
+	/**
+	 * WordleModel constructor for a game in a specific mode.
+	 * 
+	 * @param mode The word length and number of guesses of the game.
+	 */
+	public WordleModel(GameMode mode) { 
+		// Gets the shared dictionary of possible words and randomly
 		// chooses a word.
-		this.dictionary = dictionaryFile(FILENAME);
-		Random rand = new Random();
-		int rand_num = rand.nextInt(dictionary.size());
-		Object[] toArray = dictionary.toArray();
-		this.answer = (String) toArray[rand_num];
+		this(mode, wordListsFor(mode), null);
+	}
+	
+	/**
+	 * WordleModel constructor for a game with a known answer.
+	 * 
+	 * @param answer A string that contains the answer of the game. It must be
+	 * a word in the dictionary.
+	 */
+	public WordleModel(String answer) {
+		this(GameMode.DEFAULT, answer);
+	}
+	
+	/**
+	 * WordleModel constructor for a game in a specific mode with a known answer.
+	 * 
+	 * @param mode The word length and number of guesses of the game.
+	 * @param answer A string that contains the answer of the game. It must be
+	 * a word in the answer list with the word length of the mode.
+	 */
+	public WordleModel(GameMode mode, String answer) {
+		this(mode, wordListsFor(mode), answer);
+	}
+	
+	/**
+	 * WordleModel constructor.
+	 * 
+	 * @param mode The word length and number of guesses of the game.
+	 * @param wordLists The guesses and answers of the mode's length.
+	 * @param answer A string that contains the answer, or null to choose a random answer.
+	 */
+	private WordleModel(GameMode mode, WordLists wordLists, String answer) {
+		this.mode = mode;
+		this.wordLists = wordLists;
+		this.dictionary = wordLists.getWords();
+		this.answers = wordLists.getAnswers();
+		this.packedAnswer = answer == null 
+				? answers.packedWordAt(ThreadLocalRandom.current().nextInt(answers.size())) 
+				: checkedAnswer(answers, answer);
+		this.answer = PackedDictionary.decode(packedAnswer, mode.getWordLength());
+		this.candidates = new CandidateSet(LetterMasks.forDictionary(answers));
 		this.guessedCharacters = new INDEX_RESULT[Constants.LETTERS_IN_ALPHABET];
-		this.progress = new Guess[Constants.NUMBER_OF_GUESSES];
+		this.progress = new Guess[mode.getGuessLimit()];
+		Metrics.GAMES_STARTED.increment();
 	}
 	
 	/**
-	 * Adds an observer to the set of observers for this object, 
-	 * provided that it is not the same as some observer already in 
-	 * the set.
+	 * Returns the shared word lists of a game mode.
 	 * 
-	 * @param o an observer to be added.
+	 * @param mode The word length and number of guesses of the game.
+	 * @return The guesses and answers of the mode's length.
 	 */
-	public void addObserver(Observer o) {
-		super.addObserver(o);
+	private static WordLists wordListsFor(GameMode mode) {
+		WordLists wordLists = getSharedWordLists(mode.getWordLength());
+		if (wordLists.getAnswers().size() == 0) {
+			throw new IllegalArgumentException("There are no words of " + mode.getWordLength() 
+					+ " letters in the dictionary.");
+		}
+		return wordLists;
 	}
 	
 	/**
-     * Reads "dictionary.txt" file and collect information.
-     * 
-     * @param filename A string that contains the url of a file.
-     * 
-     * @return A set that contains every word in the dictionary.txt file.
-     */
-	private Set<String> dictionaryFile(String filename) {
-		Scanner fileInput = null;
-
-        try {
-            fileInput = new Scanner(new File(filename));
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        }
-
-        Set<String> dictionary = new HashSet<String>();
-
-        while (fileInput.hasNext()) {
-        	String line = fileInput.nextLine().toLowerCase();
-        	dictionary.add(line);
-            
-        }
-        fileInput.close();
-        return dictionary;
+	 * Makes sure that an answer is a word in the answer list.
+	 * 
+	 * @param answers The words that can be the answer.
+	 * @param answer A string that contains the answer of the game.
+	 * @return The packed word of the answer.
+	 */
+	private static long checkedAnswer(PackedDictionary answers, String answer) {
+		int index = answers.indexOf(answer);
+		if (index < 0) {
+			throw new IllegalArgumentException("The answer " + answer + " is not in the answer list.");
+		}
+		return answers.packedWordAt(index);
+	}
+	
+	/**
+	 * Adds a listener that is told about every change to the game.
+	 * 
+	 * @param listener a listener to be added.
+	 */
+	public void addListener(GameListener listener) {
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Removes a listener that was added before.
+	 * 
+	 * @param listener a listener to be removed.
+	 */
+	public void removeListener(GameListener listener) {
+		listeners.remove(listener);
 	}
 	
 	/**
 	 * This private helper method creates a guess object and adds it to the progress
-	 * array. This method also determines if there guess is correct or not.
+	 * array.
 	 * 
 	 * @param guessNumber a integer that represents what attempt the user is on.
 	 * @param guess a string that contains the user's guess to the game.
 	 * @param indices An array describing the correctness of each individual index in the guess.
+	 * @param isCorrect A boolean of whether the guess is the answer or not.
 	 */
-	private void addGuess(int guessNumber, String guess, INDEX_RESULT[] indices) {
-		boolean isCorrect = false;
-		String answer = getAnswer().toLowerCase();
-		if (guess.toLowerCase().equals(answer)) {
-			isCorrect = true;
-		}
+	private void addGuess(int guessNumber, String guess, INDEX_RESULT[] indices, boolean isCorrect) {
 		Guess current_guess = new Guess(guess, indices, isCorrect);
 		progress[guessNumber] = current_guess;
 		
@@ -135,40 +212,105 @@ public class WordleModel extends Observable {
 	 * @param guess a string that contains the user's guess to the game.
 	 */
 	public void makeGuess(int guessNumber, String guess) {
+		int wordLength = mode.getWordLength();
+		long packedGuess = PackedDictionary.encode(guess);
+		if (packedGuess == PackedDictionary.INVALID_WORD || guess.length() != wordLength) {
+			throw new IllegalArgumentException("The guess must be a word of " 
+					+ wordLength + " letters.");
+		}
+		long start = Metrics.startTimer();
+		int pattern = Scorer.score(packedGuess, packedAnswer, wordLength);
+		candidates.apply(packedGuess, pattern);
 		
-		// Iterates through the guess and determine the correctness of each
-		// letter.
-		INDEX_RESULT[] indices = new INDEX_RESULT[Constants.WORD_LENGTH];
-		for (int i = 0; i < guess.length(); i++) {
-			char letter = Character.toLowerCase(guess.charAt(i));
-			String guess_letter = "" + letter;
-			String answer_letter = "" + Character.toLowerCase(answer.charAt(i));
-			int alphabet_index = (int)letter % 97;
-			if (guess_letter.equals(answer_letter)) {
-				indices[i] = INDEX_RESULT.CORRECT;
-				guessedCharacters[alphabet_index] = INDEX_RESULT.CORRECT;
-			} else if (answer.contains(guess_letter)){
-				indices[i] = INDEX_RESULT.CORRECT_WRONG_INDEX;
-				if (guessedCharacters[alphabet_index] != null) {
-					if (!guessedCharacters[alphabet_index].getDescription().equals("Correct")){
-						guessedCharacters[alphabet_index] = INDEX_RESULT.CORRECT_WRONG_INDEX;
-					}
-				} else {
-					guessedCharacters[alphabet_index] = INDEX_RESULT.CORRECT_WRONG_INDEX;
-				}
-			} else {
-				indices[i] = INDEX_RESULT.INCORRECT;
-				guessedCharacters[alphabet_index] = INDEX_RESULT.INCORRECT;
+		// Determines the correctness of each letter from the pattern. A letter on
+		// the keyboard only changes to a better result than it already has.
+		INDEX_RESULT[] indices = new INDEX_RESULT[wordLength];
+		int changed = 0;
+		for (int i = 0; i < wordLength; i++) {
+			INDEX_RESULT result = Scorer.resultAt(pattern, i);
+			indices[i] = result;
+			int alphabet_index = PackedDictionary.letterAt(packedGuess, i, wordLength);
+			INDEX_RESULT previous = guessedCharacters[alphabet_index];
+			if (previous == null || rank(result) > rank(previous)) {
+				guessedCharacters[alphabet_index] = result;
+				changed |= 1 << alphabet_index;
 			}
 		}
 		
-		addGuess(guessNumber, guess, indices);
-		super.setChanged();
-		super.notifyObservers();
-		super.clearChanged();
+		boolean isCorrect = pattern == Scorer.allCorrect(wordLength);
+		addGuess(guessNumber, guess, indices, isCorrect);
+		Metrics.SCORING.recordSince(start);
+		publish(guessNumber, changed);
+		if (isCorrect || guessNumber == mode.getGuessLimit() - 1) {
+			Metrics.GAMES_FINISHED.increment();
+			if (isCorrect) {
+				Metrics.GAMES_WON.increment();
+			}
+			publishFinished(guessNumber + 1, isCorrect);
+		}
 		return;
 	}
 	
+	/**
+	 * Tells every listener that the game is over.
+	 * 
+	 * @param guessCount the number of guesses that were made.
+	 * @param won a boolean of whether the answer was guessed.
+	 */
+	private void publishFinished(int guessCount, boolean won) {
+		if (listeners.isEmpty()) {
+			return;
+		}
+		Guess[] guesses = new Guess[guessCount];
+		System.arraycopy(progress, 0, guesses, 0, guessCount);
+		GameFinished event = new GameFinished(mode, answer, guesses, won);
+		for (GameListener listener : listeners) {
+			listener.gameFinished(event);
+		}
+	}
+	
+	/**
+	 * Tells every listener about a guess that was scored.
+	 * 
+	 * @param guessNumber a integer that represents what attempt the user is on.
+	 * @param changed a bit mask of the letters whose result changed, bit 0 for 'a'.
+	 */
+	private void publish(int guessNumber, int changed) {
+		if (listeners.isEmpty()) {
+			return;
+		}
+		int count = Integer.bitCount(changed);
+		int[] letters = new int[count];
+		INDEX_RESULT[] results = new INDEX_RESULT[count];
+		for (int i = 0; i < count; i++) {
+			int letter = Integer.numberOfTrailingZeros(changed);
+			letters[i] = letter;
+			results[i] = guessedCharacters[letter];
+			changed &= changed - 1;
+		}
+		GuessScored event = new GuessScored(guessNumber, progress[guessNumber], letters, results, 
+				candidates.count());
+		for (GameListener listener : listeners) {
+			listener.guessScored(event);
+		}
+	}
+	
+	/**
+	 * Ranks a result so that better results have a higher rank.
+	 * 
+	 * @param result The result of a letter.
+	 * @return 0 for incorrect, 1 for the wrong index and 2 for correct.
+	 */
+	private static int rank(INDEX_RESULT result) {
+		if (result == INDEX_RESULT.CORRECT) {
+			return Scorer.CORRECT;
+		} else if (result == INDEX_RESULT.CORRECT_WRONG_INDEX) {
+			return Scorer.WRONG_INDEX;
+		} else {
+			return Scorer.INCORRECT;
+		}
+	}
+	
 
 	/**
 	 * Return the answer. Used to show the answer at the end of the game.
@@ -180,13 +322,88 @@ public class WordleModel extends Observable {
 	}
 	
 	/**
-	 * Return the set of valid words that the user can input.
+	 * Return the game mode of the model.
+	 * 
+	 * @return The word length and number of guesses of the game.
+	 */
+	public GameMode getMode() {
+		return this.mode;
+	}
+	
+	/**
+	 * Return the dictionary that every model of the default mode shares.
+	 * 
+	 * @return A packed dictionary of every valid five letter word.
+	 */
+	public static PackedDictionary getSharedDictionary() {
+		return getSharedDictionary(Constants.WORD_LENGTH);
+	}
+	
+	/**
+	 * Return the dictionary that every model of a word length shares.
 	 * 
-	 * @return A set of every valid word in the dictionary.
+	 * @param wordLength The number of letters in a word.
+	 * @return A packed dictionary of every valid word of that length, which may be empty.
 	 */
-	public Set<String> getDictionary(){
+	public static PackedDictionary getSharedDictionary(int wordLength) {
+		return DictionaryHolder.INDEX.forLength(wordLength);
+	}
+	
+	/**
+	 * Return the guesses and answers that every model of a word length shares.
+	 * 
+	 * @param wordLength The number of letters in a word.
+	 * @return The word lists of that length, which may be empty.
+	 */
+	public static WordLists getSharedWordLists(int wordLength) {
+		return DictionaryHolder.INDEX.listsForLength(wordLength);
+	}
+	
+	/**
+	 * Return the dictionary of valid words that the user can input.
+	 * 
+	 * @return A packed dictionary of every valid word.
+	 */
+	public PackedDictionary getDictionary(){
 		return this.dictionary;
 	}
+	
+	/**
+	 * Return the words that can be the answer of the game.
+	 * 
+	 * @return A packed dictionary of the answer list.
+	 */
+	public PackedDictionary getAnswers() {
+		return this.answers;
+	}
+	
+	/**
+	 * Return the guesses and answers of the game. Checking if a guess is valid
+	 * through the word lists looks in the answer list first.
+	 * 
+	 * @return The word lists of the game's word length.
+	 */
+	public WordLists getWordLists() {
+		return this.wordLists;
+	}
+
+	/**
+	 * Return the words that could still be the answer based on the guesses so far.
+	 * 
+	 * @return A sorted array of the indices of the remaining words in the answer list.
+	 */
+	public int[] remainingCandidates() {
+		return candidates.toIndices();
+	}
+	
+	/**
+	 * Return how many words could still be the answer.
+	 * 
+	 * @return An integer of the number of remaining words.
+	 */
+	public int remainingCandidateCount() {
+		return candidates.count();
+	}
 
 	/** 
 	 * Return the guessed characters. 
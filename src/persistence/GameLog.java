@@ -0,0 +1,164 @@
+package persistence;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ *
+ * This class appends finished games to a log file, one line of JSON per game.
+ * The file is only ever appended to, so a crash can at most leave the last line
+ * half written, and that line is cut off the next time the log is opened.
+ *
+ * Forcing every line to the disk would make every game wait on the disk, so
+ * lines are forced in batches: once enough lines are waiting, or when sync is
+ * called by the store's background task or on close.
+ *
+ * @author Luke Genova
+ *
+ */
+class GameLog implements Closeable {
+
+	/* How many lines can wait before they are forced to the disk */
+	private static final int SYNC_BATCH = 64;
+
+	/* How many bytes are read at a time when looking for the end of the last line */
+	private static final int TAIL_CHUNK = 4096;
+
+	private final Path path;
+	private final FileChannel channel;
+
+	/* The length of the file, which is where the next line is written */
+	private long size;
+
+	/* The number of lines written since the file was last forced */
+	private int unsynced;
+
+	/**
+	 * Opens a log, creating it if it doesn't exist. A line that was only 
+	 * partly written is removed.
+	 *
+	 * @param path The path of the log file.
+	 * @throws IOException If the file can't be opened.
+	 */
+	GameLog(Path path) throws IOException {
+		this.path = path;
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, 
+				StandardOpenOption.WRITE);
+		this.size = endOfLastLine(channel);
+		if (size < channel.size()) {
+			channel.truncate(size);
+			channel.force(false);
+		}
+	}
+
+	/**
+	 * Finds where the last complete line of a file ends.
+	 *
+	 * @param channel The channel of the file.
+	 * @return The length of the file without a trailing line that has no line break.
+	 * @throws IOException If the file can't be read.
+	 */
+	private static long endOfLastLine(FileChannel channel) throws IOException {
+		long end = channel.size();
+		ByteBuffer buffer = ByteBuffer.allocate(TAIL_CHUNK);
+		while (end > 0) {
+			long start = Math.max(0, end - TAIL_CHUNK);
+			buffer.clear().limit((int) (end - start));
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, start + buffer.position()) < 0) {
+					break;
+				}
+			}
+			for (int i = buffer.position() - 1; i >= 0; i--) {
+				if (buffer.get(i) == '\n') {
+					return start + i + 1;
+				}
+			}
+			end = start;
+		}
+		return 0;
+	}
+
+	/**
+	 * Appends a line to the log.
+	 *
+	 * @param line A string of the line, without the line break.
+	 * @throws IOException If the line can't be written.
+	 */
+	synchronized void append(String line) throws IOException {
+		byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		while (buffer.hasRemaining()) {
+			size += channel.write(buffer, size);
+		}
+		unsynced++;
+		if (unsynced >= SYNC_BATCH) {
+			sync();
+		}
+	}
+
+	/**
+	 * Forces every line that was written to the disk.
+	 *
+	 * @throws IOException If the file can't be forced.
+	 */
+	synchronized void sync() throws IOException {
+		if (unsynced > 0) {
+			channel.force(false);
+			unsynced = 0;
+		}
+	}
+
+	/**
+	 * Returns the length of the log, which is the offset after the last line.
+	 *
+	 * @return The number of bytes in the log.
+	 */
+	synchronized long size() {
+		return size;
+	}
+
+	/**
+	 * Reads every line from an offset to the end of the log. Lines that can't be 
+	 * read as a game are skipped.
+	 *
+	 * @param offset The offset of the first line to read.
+	 * @param consumer Called with every game, oldest first.
+	 * @return The number of lines that were skipped.
+	 * @throws IOException If the file can't be read.
+	 */
+	synchronized int replay(long offset, Consumer<GameRecord> consumer) throws IOException {
+		int skipped = 0;
+		FileChannel reader = FileChannel.open(path, StandardOpenOption.READ);
+		try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+				Channels.newInputStream(reader.position(offset)), StandardCharsets.UTF_8))) {
+			long remaining = size - offset;
+			String line;
+			while (remaining > 0 && (line = lines.readLine()) != null) {
+				remaining -= line.getBytes(StandardCharsets.UTF_8).length + 1;
+				try {
+					consumer.accept(GameRecord.parse(line));
+				} catch (IllegalArgumentException e) {
+					skipped++;
+				}
+			}
+		}
+		return skipped;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		sync();
+		channel.close();
+	}
+
+}
@@ -0,0 +1,149 @@
+package persistence;
+
+import model.GameFinished;
+import utilities.GameMode;
+
+/**
+ *
+ * This class holds a game that was finished, in the form it is stored in the
+ * game log: one line of JSON with the time it ended, the game mode, the answer
+ * and every guess.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class GameRecord {
+
+	private final long finishedAt;
+	private final GameMode mode;
+	private final String answer;
+	private final String[] guesses;
+	private final boolean won;
+
+	/**
+	 * GameRecord constructor.
+	 *
+	 * @param finishedAt The time the game ended, in milliseconds since the epoch.
+	 * @param mode The game mode the game was played in.
+	 * @param answer The answer of the game.
+	 * @param guesses Every guess that was made, oldest first.
+	 * @param won A boolean of whether the answer was guessed.
+	 */
+	public GameRecord(long finishedAt, GameMode mode, String answer, String[] guesses, boolean won) {
+		this.finishedAt = finishedAt;
+		this.mode = mode;
+		this.answer = answer;
+		this.guesses = guesses;
+		this.won = won;
+	}
+
+	/**
+	 * Creates the record of a game that just ended.
+	 *
+	 * @param event The event the model published when the game ended.
+	 * @return The record of the game.
+	 */
+	public static GameRecord of(GameFinished event) {
+		String[] guesses = new String[event.getGuessCount()];
+		for (int i = 0; i < guesses.length; i++) {
+			guesses[i] = event.getGuess(i).getGuess();
+		}
+		return new GameRecord(System.currentTimeMillis(), event.getMode(), event.getAnswer(), guesses, 
+				event.isWon());
+	}
+
+	/**
+	 * Reads a record from a line of the game log.
+	 *
+	 * @param line A string of the JSON of the record.
+	 * @return The record.
+	 * @throws IllegalArgumentException If the line isn't a valid record.
+	 */
+	static GameRecord parse(String line) {
+		JsonLine json = JsonLine.parse(line);
+		GameMode mode = GameMode.of((int) json.getLong("letters"), (int) json.getLong("limit"), 
+				json.getBoolean("hard"));
+		return new GameRecord(json.getLong("time"), mode, json.getString("answer"), 
+				json.getStrings("guesses"), json.getBoolean("won"));
+	}
+
+	/**
+	 * Writes the record as a line of the game log, without the line break.
+	 *
+	 * @return A string of the JSON of the record.
+	 */
+	String toJson() {
+		StringBuilder builder = new StringBuilder(96 + guesses.length * 16);
+		builder.append("{\"time\":").append(finishedAt);
+		builder.append(",\"letters\":").append(mode.getWordLength());
+		builder.append(",\"limit\":").append(mode.getGuessLimit());
+		builder.append(",\"hard\":").append(mode.isHardMode());
+		builder.append(",\"answer\":");
+		JsonLine.appendString(builder, answer);
+		builder.append(",\"guesses\":[");
+		for (int i = 0; i < guesses.length; i++) {
+			if (i > 0) {
+				builder.append(',');
+			}
+			JsonLine.appendString(builder, guesses[i]);
+		}
+		builder.append("],\"won\":").append(won).append('}');
+		return builder.toString();
+	}
+
+	/**
+	 * Returns the time the game ended.
+	 *
+	 * @return The time in milliseconds since the epoch.
+	 */
+	public long getFinishedAt() {
+		return finishedAt;
+	}
+
+	/**
+	 * Returns the game mode the game was played in.
+	 *
+	 * @return The game mode.
+	 */
+	public GameMode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Returns the answer of the game.
+	 *
+	 * @return A string of the answer.
+	 */
+	public String getAnswer() {
+		return answer;
+	}
+
+	/**
+	 * Returns how many guesses were made.
+	 *
+	 * @return The number of guesses.
+	 */
+	public int getGuessCount() {
+		return guesses.length;
+	}
+
+	/**
+	 * Returns a guess that was made.
+	 *
+	 * @param i A number from 0 to getGuessCount() - 1.
+	 * @return A string of the guess.
+	 */
+	public String getGuess(int i) {
+		return guesses[i];
+	}
+
+	/**
+	 * Checks if the answer was guessed.
+	 *
+	 * @return A boolean of whether the game was won.
+	 */
+	public boolean isWon() {
+		return won;
+	}
+
+}
@@ -0,0 +1,63 @@
+package persistence;
+
+import java.io.IOException;
+
+import model.GameFinished;
+import model.GameListener;
+import model.GuessScored;
+import model.WordleModel;
+
+/**
+ *
+ * This listener keeps a store up to date with a single game. The game is saved
+ * after every guess so that it can be resumed, and once it is over it is added
+ * to the log and the saved game is removed. A listener can't throw, so any
+ * problem writing the files is printed instead of stopping the game.
+ *
+ * @author Luke Genova
+ *
+ */
+public class GameRecorder implements GameListener {
+
+	private final GameStore store;
+	private final WordleModel model;
+
+	/* Set once the game is over, so the last guess isn't saved as a game to resume */
+	private boolean finished;
+
+	/**
+	 * GameRecorder constructor. The recorder still has to be added to the model.
+	 *
+	 * @param store The store to keep the game in.
+	 * @param model The model of the game.
+	 */
+	public GameRecorder(GameStore store, WordleModel model) {
+		this.store = store;
+		this.model = model;
+	}
+
+	@Override
+	public void guessScored(GuessScored event) {
+		if (finished || event.getGuess().getIsCorrect() 
+				|| event.getRow() == model.getMode().getGuessLimit() - 1) {
+			return;
+		}
+		try {
+			store.saveGame(SavedGame.of(model));
+		} catch (IOException e) {
+			System.err.println("Could not save the game: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public void gameFinished(GameFinished event) {
+		finished = true;
+		try {
+			store.recordGame(GameRecord.of(event));
+			store.clearSavedGame();
+		} catch (IOException e) {
+			System.err.println("Could not save the game: " + e.getMessage());
+		}
+	}
+
+}
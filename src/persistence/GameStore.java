@@ -0,0 +1,267 @@
+package persistence;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * This class keeps the games of a player in a folder, so that statistics last
+ * between runs and a game that wasn't finished can be resumed. The folder holds
+ * three files:
+ *
+ * games.log        every finished game, one line of JSON each, only appended to
+ * stats.snapshot   the statistics and the length of the log they include
+ * current.json     the game that is being played, if there is one
+ *
+ * When the store is opened, the statistics are read from the snapshot and only
+ * the games logged after it are added, so opening stays fast however long the
+ * log grows. A new snapshot is taken every SNAPSHOT_INTERVAL games and when the
+ * store is closed. Snapshots and saved games are written to a temporary file
+ * and renamed over the old one, so a crash leaves either the old or the new
+ * file and never half of one.
+ *
+ * @author Luke Genova
+ *
+ */
+public class GameStore implements Closeable {
+
+	/* The folder the game keeps its saves in by default */
+	public static final Path DEFAULT_DIRECTORY = Paths.get("./saves");
+
+	private static final String LOG_FILENAME = "games.log";
+	private static final String SNAPSHOT_FILENAME = "stats.snapshot";
+	private static final String SAVED_GAME_FILENAME = "current.json";
+
+	/* How many games are logged between snapshots */
+	private static final int SNAPSHOT_INTERVAL = 1000;
+
+	/* How often the background task forces the log to the disk */
+	private static final long SYNC_PERIOD_MILLIS = 1000;
+
+	private static final int SNAPSHOT_VERSION = 1;
+
+	private final Path directory;
+	private final GameLog log;
+	private final PlayerStats stats;
+	private final ScheduledExecutorService syncer;
+
+	/* The number of games logged since the last snapshot */
+	private int sinceSnapshot;
+
+	private boolean closed;
+
+	private GameStore(Path directory, GameLog log, PlayerStats stats, int sinceSnapshot) {
+		this.directory = directory;
+		this.log = log;
+		this.stats = stats;
+		this.sinceSnapshot = sinceSnapshot;
+		this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "game-store-sync");
+			thread.setDaemon(true);
+			return thread;
+		});
+		syncer.scheduleWithFixedDelay(this::syncQuietly, SYNC_PERIOD_MILLIS, SYNC_PERIOD_MILLIS, 
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Opens the store in a folder, creating the folder if it doesn't exist.
+	 *
+	 * @param directory The folder of the store.
+	 * @return The store.
+	 * @throws IOException If the folder or the log can't be opened.
+	 */
+	public static GameStore open(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		GameLog log = new GameLog(directory.resolve(LOG_FILENAME));
+
+		// Starts from the snapshot, unless it is missing or covers more of the
+		// log than there is, which means the log was replaced.
+		PlayerStats stats = null;
+		long offset = 0;
+		String snapshot = readLine(directory.resolve(SNAPSHOT_FILENAME));
+		if (snapshot != null) {
+			try {
+				JsonLine json = JsonLine.parse(snapshot);
+				offset = json.getLong("logOffset");
+				if (json.getLong("version") == SNAPSHOT_VERSION && offset >= 0 && offset <= log.size()) {
+					stats = PlayerStats.parse(json);
+				}
+			} catch (IllegalArgumentException e) {
+				stats = null;
+			}
+		}
+		if (stats == null) {
+			stats = new PlayerStats();
+			offset = 0;
+		}
+
+		int[] replayed = new int[1];
+		PlayerStats loaded = stats;
+		log.replay(offset, record -> {
+			loaded.record(record);
+			replayed[0]++;
+		});
+		GameStore store = new GameStore(directory, log, stats, replayed[0]);
+		if (replayed[0] >= SNAPSHOT_INTERVAL) {
+			store.snapshot();
+		}
+		return store;
+	}
+
+	/**
+	 * Adds a finished game to the log and the statistics.
+	 *
+	 * @param record The game that was finished.
+	 * @throws IOException If the game can't be written.
+	 */
+	public synchronized void recordGame(GameRecord record) throws IOException {
+		log.append(record.toJson());
+		stats.record(record);
+		sinceSnapshot++;
+		if (sinceSnapshot >= SNAPSHOT_INTERVAL) {
+			snapshot();
+		}
+	}
+
+	/**
+	 * Returns the statistics of every game that was recorded.
+	 *
+	 * @return A copy of the statistics.
+	 */
+	public synchronized PlayerStats getStats() {
+		return stats.copy();
+	}
+
+	/**
+	 * Saves a game that isn't finished, replacing the game that was saved before.
+	 *
+	 * @param game The game to save.
+	 * @throws IOException If the game can't be written.
+	 */
+	public void saveGame(SavedGame game) throws IOException {
+		writeAtomically(directory.resolve(SAVED_GAME_FILENAME), game.toJson());
+	}
+
+	/**
+	 * Returns the game that was saved, if there is one.
+	 *
+	 * @return The saved game, or null if there isn't one or it can't be read.
+	 */
+	public SavedGame loadSavedGame() {
+		try {
+			String line = readLine(directory.resolve(SAVED_GAME_FILENAME));
+			return line == null ? null : SavedGame.parse(line);
+		} catch (IOException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Removes the saved game, once it has been finished.
+	 *
+	 * @throws IOException If the file can't be removed.
+	 */
+	public void clearSavedGame() throws IOException {
+		Files.deleteIfExists(directory.resolve(SAVED_GAME_FILENAME));
+	}
+
+	/**
+	 * Writes the statistics and the length of the log they include.
+	 *
+	 * @throws IOException If the snapshot can't be written.
+	 */
+	private synchronized void snapshot() throws IOException {
+		// The log has to be on the disk before a snapshot that includes it.
+		log.sync();
+		StringBuilder builder = new StringBuilder(256);
+		builder.append("{\"version\":").append(SNAPSHOT_VERSION);
+		builder.append(",\"logOffset\":").append(log.size()).append(',');
+		stats.appendJson(builder);
+		builder.append('}');
+		writeAtomically(directory.resolve(SNAPSHOT_FILENAME), builder.toString());
+		sinceSnapshot = 0;
+	}
+
+	private void syncQuietly() {
+		try {
+			log.sync();
+		} catch (IOException e) {
+			System.err.println("Could not save the game log: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Forces the log to the disk and takes a snapshot.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		syncer.shutdownNow();
+		try {
+			if (sinceSnapshot > 0) {
+				snapshot();
+			}
+		} finally {
+			log.close();
+		}
+	}
+
+	/**
+	 * Writes a file by writing a temporary file next to it, forcing it to the
+	 * disk and renaming it over the file.
+	 *
+	 * @param path The path of the file.
+	 * @param line The only line of the file, without the line break.
+	 * @throws IOException If the file can't be written.
+	 */
+	private static void writeAtomically(Path path, String line) throws IOException {
+		Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, 
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+		try {
+			Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Reads the first line of a file.
+	 *
+	 * @param path The path of the file.
+	 * @return The line, or null if the file doesn't exist or is empty.
+	 * @throws IOException If the file can't be read.
+	 */
+	private static String readLine(Path path) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			return reader.readLine();
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+	}
+
+}
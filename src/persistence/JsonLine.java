@@ -0,0 +1,264 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *
+ * This class reads and writes the flat JSON objects that are stored one per
+ * line in the save files. The objects only hold strings, numbers, booleans and
+ * arrays of those, so they are handled by hand instead of using a JSON library.
+ *
+ * @author Luke Genova
+ *
+ */
+final class JsonLine {
+
+	private final Map<String, Object> values;
+
+	private JsonLine(Map<String, Object> values) {
+		this.values = values;
+	}
+
+	/**
+	 * Reads a line that holds a single JSON object.
+	 *
+	 * @param line A string of the JSON object.
+	 * @return The values of the object.
+	 * @throws IllegalArgumentException If the line isn't a flat JSON object.
+	 */
+	static JsonLine parse(String line) {
+		Parser parser = new Parser(line);
+		Map<String, Object> values = new HashMap<String, Object>();
+		parser.expect('{');
+		if (!parser.consume('}')) {
+			do {
+				String key = parser.string();
+				parser.expect(':');
+				values.put(key, parser.value(true));
+			} while (parser.consume(','));
+			parser.expect('}');
+		}
+		parser.end();
+		return new JsonLine(values);
+	}
+
+	/**
+	 * Returns a string value.
+	 *
+	 * @param key The name of the value.
+	 * @return The string.
+	 * @throws IllegalArgumentException If the value is missing.
+	 */
+	String getString(String key) {
+		return get(key).toString();
+	}
+
+	/**
+	 * Returns a number value.
+	 *
+	 * @param key The name of the value.
+	 * @return The number.
+	 * @throws IllegalArgumentException If the value is missing or isn't a number.
+	 */
+	long getLong(String key) {
+		return toLong(get(key));
+	}
+
+	/**
+	 * Returns a boolean value.
+	 *
+	 * @param key The name of the value.
+	 * @return The boolean.
+	 * @throws IllegalArgumentException If the value is missing.
+	 */
+	boolean getBoolean(String key) {
+		return Boolean.parseBoolean(get(key).toString());
+	}
+
+	/**
+	 * Returns an array of strings.
+	 *
+	 * @param key The name of the value.
+	 * @return The strings of the array.
+	 * @throws IllegalArgumentException If the value is missing or isn't an array.
+	 */
+	String[] getStrings(String key) {
+		List<?> list = getList(key);
+		String[] strings = new String[list.size()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = list.get(i).toString();
+		}
+		return strings;
+	}
+
+	/**
+	 * Returns an array of numbers.
+	 *
+	 * @param key The name of the value.
+	 * @return The numbers of the array.
+	 * @throws IllegalArgumentException If the value is missing or isn't an array of numbers.
+	 */
+	long[] getLongs(String key) {
+		List<?> list = getList(key);
+		long[] numbers = new long[list.size()];
+		for (int i = 0; i < numbers.length; i++) {
+			numbers[i] = toLong(list.get(i));
+		}
+		return numbers;
+	}
+
+	/**
+	 * Appends a string with quotes and with the characters JSON doesn't allow in
+	 * a string escaped.
+	 *
+	 * @param builder The builder to append to.
+	 * @param text The string to append.
+	 */
+	static void appendString(StringBuilder builder, String text) {
+		builder.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '"' || c == '\\') {
+				builder.append('\\').append(c);
+			} else if (c < ' ') {
+				builder.append(String.format("\\u%04x", (int) c));
+			} else {
+				builder.append(c);
+			}
+		}
+		builder.append('"');
+	}
+
+	private Object get(String key) {
+		Object value = values.get(key);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing value " + key);
+		}
+		return value;
+	}
+
+	private List<?> getList(String key) {
+		Object value = get(key);
+		if (!(value instanceof List)) {
+			throw new IllegalArgumentException(key + " is not an array");
+		}
+		return (List<?>) value;
+	}
+
+	private static long toLong(Object value) {
+		try {
+			return Long.parseLong(value.toString());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(value + " is not a number");
+		}
+	}
+
+	/**
+	 * Reads the characters of a line one token at a time.
+	 */
+	private static class Parser {
+
+		private final String text;
+		private int position;
+
+		Parser(String text) {
+			this.text = text;
+		}
+
+		Object value(boolean allowArray) {
+			skipSpaces();
+			if (allowArray && consume('[')) {
+				List<Object> list = new ArrayList<Object>();
+				if (!consume(']')) {
+					do {
+						list.add(value(false));
+					} while (consume(','));
+					expect(']');
+				}
+				return list;
+			}
+			if (peek() == '"') {
+				return string();
+			}
+			int start = position;
+			while (position < text.length() && ",]} ".indexOf(text.charAt(position)) < 0) {
+				position++;
+			}
+			if (start == position) {
+				throw error();
+			}
+			return text.substring(start, position);
+		}
+
+		String string() {
+			expect('"');
+			StringBuilder builder = new StringBuilder();
+			while (true) {
+				if (position >= text.length()) {
+					throw error();
+				}
+				char c = text.charAt(position++);
+				if (c == '"') {
+					return builder.toString();
+				}
+				if (c == '\\') {
+					if (position >= text.length()) {
+						throw error();
+					}
+					char escaped = text.charAt(position++);
+					if (escaped == 'u') {
+						if (position + 4 > text.length()) {
+							throw error();
+						}
+						builder.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+						position += 4;
+					} else {
+						builder.append(escaped);
+					}
+				} else {
+					builder.append(c);
+				}
+			}
+		}
+
+		boolean consume(char c) {
+			skipSpaces();
+			if (position < text.length() && text.charAt(position) == c) {
+				position++;
+				return true;
+			}
+			return false;
+		}
+
+		void expect(char c) {
+			if (!consume(c)) {
+				throw error();
+			}
+		}
+
+		void end() {
+			skipSpaces();
+			if (position != text.length()) {
+				throw error();
+			}
+		}
+
+		private char peek() {
+			return position < text.length() ? text.charAt(position) : 0;
+		}
+
+		private void skipSpaces() {
+			while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+				position++;
+			}
+		}
+
+		private IllegalArgumentException error() {
+			return new IllegalArgumentException("Malformed JSON at character " + position);
+		}
+	}
+
+}
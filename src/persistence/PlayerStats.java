@@ -0,0 +1,171 @@
+package persistence;
+
+import utilities.GameMode;
+
+/**
+ *
+ * This class holds the lifetime statistics of a player: how many games were
+ * played and won, the current and longest winning streaks, and how many games
+ * were won in each number of guesses. The statistics are updated one game at
+ * a time, so they never have to be worked out from the whole history again.
+ *
+ * @author Luke Genova
+ *
+ */
+public class PlayerStats {
+
+	private long played;
+	private long wins;
+	private long currentStreak;
+	private long maxStreak;
+
+	/* The number of games won in i + 1 guesses is stored at index i */
+	private final long[] distribution = new long[GameMode.MAX_GUESSES];
+
+	/**
+	 * PlayerStats constructor for a player that hasn't played yet.
+	 */
+	public PlayerStats() {
+	}
+
+	/**
+	 * Adds a finished game.
+	 *
+	 * @param record The game that was finished.
+	 */
+	public void record(GameRecord record) {
+		played++;
+		if (record.isWon()) {
+			wins++;
+			currentStreak++;
+			maxStreak = Math.max(maxStreak, currentStreak);
+			distribution[record.getGuessCount() - 1]++;
+		} else {
+			currentStreak = 0;
+		}
+	}
+
+	/**
+	 * Returns a copy of the statistics that won't change when more games are added.
+	 *
+	 * @return A copy of the statistics.
+	 */
+	public PlayerStats copy() {
+		PlayerStats copy = new PlayerStats();
+		copy.played = played;
+		copy.wins = wins;
+		copy.currentStreak = currentStreak;
+		copy.maxStreak = maxStreak;
+		System.arraycopy(distribution, 0, copy.distribution, 0, distribution.length);
+		return copy;
+	}
+
+	/**
+	 * Reads the statistics from a snapshot.
+	 *
+	 * @param json The values of the snapshot.
+	 * @return The statistics.
+	 * @throws IllegalArgumentException If the snapshot is missing a value.
+	 */
+	static PlayerStats parse(JsonLine json) {
+		PlayerStats stats = new PlayerStats();
+		stats.played = json.getLong("played");
+		stats.wins = json.getLong("wins");
+		stats.currentStreak = json.getLong("currentStreak");
+		stats.maxStreak = json.getLong("maxStreak");
+		long[] distribution = json.getLongs("distribution");
+		System.arraycopy(distribution, 0, stats.distribution, 0, 
+				Math.min(distribution.length, stats.distribution.length));
+		return stats;
+	}
+
+	/**
+	 * Appends the statistics to the JSON object of a snapshot.
+	 *
+	 * @param builder The builder of the snapshot, after an opening brace or a value.
+	 */
+	void appendJson(StringBuilder builder) {
+		builder.append("\"played\":").append(played);
+		builder.append(",\"wins\":").append(wins);
+		builder.append(",\"currentStreak\":").append(currentStreak);
+		builder.append(",\"maxStreak\":").append(maxStreak);
+		builder.append(",\"distribution\":[");
+		for (int i = 0; i < distribution.length; i++) {
+			if (i > 0) {
+				builder.append(',');
+			}
+			builder.append(distribution[i]);
+		}
+		builder.append(']');
+	}
+
+	/**
+	 * Returns how many games were played.
+	 *
+	 * @return The number of games.
+	 */
+	public long getPlayed() {
+		return played;
+	}
+
+	/**
+	 * Returns how many games were won.
+	 *
+	 * @return The number of wins.
+	 */
+	public long getWins() {
+		return wins;
+	}
+
+	/**
+	 * Returns the share of games that were won.
+	 *
+	 * @return A percentage from 0 to 100, or 0 if no games were played.
+	 */
+	public int getWinPercentage() {
+		return played == 0 ? 0 : (int) (wins * 100 / played);
+	}
+
+	/**
+	 * Returns how many games in a row were won, up to the last game.
+	 *
+	 * @return The current streak.
+	 */
+	public long getCurrentStreak() {
+		return currentStreak;
+	}
+
+	/**
+	 * Returns the most games in a row that were ever won.
+	 *
+	 * @return The longest streak.
+	 */
+	public long getMaxStreak() {
+		return maxStreak;
+	}
+
+	/**
+	 * Returns how many games were won in a number of guesses.
+	 *
+	 * @param guesses A number from 1 to GameMode.MAX_GUESSES.
+	 * @return The number of games.
+	 */
+	public long getWinsIn(int guesses) {
+		return distribution[guesses - 1];
+	}
+
+	/**
+	 * Returns the most guesses any game was won in.
+	 *
+	 * @return The number of guesses, or 0 if no game was won.
+	 */
+	public int getMostGuessesToWin() {
+		for (int i = distribution.length; i > 0; i--) {
+			if (distribution[i - 1] != 0) {
+				return i;
+			}
+		}
+		return 0;
+	}
+
+}
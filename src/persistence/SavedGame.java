@@ -0,0 +1,160 @@
+package persistence;
+
+import controller.WordleController;
+import model.WordleModel;
+import utilities.GameMode;
+import utilities.Guess;
+import utilities.IllegalGuessException;
+
+/**
+ *
+ * This class holds a game that isn't finished yet, so that it can be resumed
+ * after the program is closed. Only the answer and the guesses are stored,
+ * because the results of the guesses can be worked out again from them.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class SavedGame {
+
+	private final GameMode mode;
+	private final String answer;
+	private final String[] guesses;
+
+	/**
+	 * SavedGame constructor.
+	 *
+	 * @param mode The game mode the game is played in.
+	 * @param answer The answer of the game.
+	 * @param guesses Every guess made so far, oldest first.
+	 */
+	public SavedGame(GameMode mode, String answer, String[] guesses) {
+		this.mode = mode;
+		this.answer = answer;
+		this.guesses = guesses;
+	}
+
+	/**
+	 * Creates the saved state of a game that is being played.
+	 *
+	 * @param model The model of the game.
+	 * @return The saved state of the game.
+	 */
+	public static SavedGame of(WordleModel model) {
+		Guess[] progress = model.getProgress();
+		int count = 0;
+		while (count < progress.length && progress[count] != null) {
+			count++;
+		}
+		String[] guesses = new String[count];
+		for (int i = 0; i < count; i++) {
+			guesses[i] = progress[i].getGuess();
+		}
+		return new SavedGame(model.getMode(), model.getAnswer(), guesses);
+	}
+
+	/**
+	 * Creates the model of the saved game, without any guesses yet.
+	 *
+	 * @return The model, or null if the answer isn't in the dictionary anymore.
+	 */
+	public WordleModel newModel() {
+		try {
+			return new WordleModel(mode, answer);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Makes the guesses of the saved game again, through the controller of a
+	 * model from newModel. Stops at the first guess that isn't valid anymore.
+	 *
+	 * @param controller The controller of the game.
+	 * @return The number of guesses that were made.
+	 */
+	public int replay(WordleController controller) {
+		for (int i = 0; i < guesses.length; i++) {
+			try {
+				controller.makeGuess(guesses[i]);
+			} catch (IllegalGuessException e) {
+				return i;
+			}
+		}
+		return guesses.length;
+	}
+
+	/**
+	 * Reads a saved game from its JSON.
+	 *
+	 * @param line A string of the JSON of the game.
+	 * @return The saved game.
+	 * @throws IllegalArgumentException If the line isn't a valid saved game.
+	 */
+	static SavedGame parse(String line) {
+		JsonLine json = JsonLine.parse(line);
+		GameMode mode = GameMode.of((int) json.getLong("letters"), (int) json.getLong("limit"), 
+				json.getBoolean("hard"));
+		return new SavedGame(mode, json.getString("answer"), json.getStrings("guesses"));
+	}
+
+	/**
+	 * Writes the saved game as a line of JSON, without the line break.
+	 *
+	 * @return A string of the JSON of the game.
+	 */
+	String toJson() {
+		StringBuilder builder = new StringBuilder(64 + guesses.length * 16);
+		builder.append("{\"letters\":").append(mode.getWordLength());
+		builder.append(",\"limit\":").append(mode.getGuessLimit());
+		builder.append(",\"hard\":").append(mode.isHardMode());
+		builder.append(",\"answer\":");
+		JsonLine.appendString(builder, answer);
+		builder.append(",\"guesses\":[");
+		for (int i = 0; i < guesses.length; i++) {
+			if (i > 0) {
+				builder.append(',');
+			}
+			JsonLine.appendString(builder, guesses[i]);
+		}
+		return builder.append("]}").toString();
+	}
+
+	/**
+	 * Returns the game mode the game is played in.
+	 *
+	 * @return The game mode.
+	 */
+	public GameMode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Returns the answer of the game.
+	 *
+	 * @return A string of the answer.
+	 */
+	public String getAnswer() {
+		return answer;
+	}
+
+	/**
+	 * Returns how many guesses were made.
+	 *
+	 * @return The number of guesses.
+	 */
+	public int getGuessCount() {
+		return guesses.length;
+	}
+
+	/**
+	 * Returns a guess that was made.
+	 *
+	 * @param i A number from 0 to getGuessCount() - 1.
+	 * @return A string of the guess.
+	 */
+	public String getGuess(int i) {
+		return guesses[i];
+	}
+
+}
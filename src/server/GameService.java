@@ -0,0 +1,187 @@
+package server;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.AnswerSource;
+import model.WordleModel;
+import solver.Solver;
+import utilities.GameMode;
+
+/**
+ *
+ * This class hosts many games at once. Games are kept in a concurrent map by
+ * their id, so requests for different games never wait on each other, and a
+ * background task removes games that haven't been used for a while. Every game
+ * shares the same dictionary, so a game only costs its own progress.
+ *
+ * Requests are single lines of text and every response is a single line of JSON:
+ *
+ * NEW [answer|seed] starts a game, optionally with a known answer or with the
+ *                   answer a number always picks
+ * GUESS id word     makes a guess
+ * STATE id          returns every guess made so far
+ * HINT id           recommends the next guess
+ * END id            removes a game
+ *
+ * @author Luke Genova
+ *
+ */
+public class GameService {
+
+	/* Commands that act on an existing game */
+	private static final Set<String> GAME_COMMANDS = Set.of("GUESS", "STATE", "HINT", "END");
+
+	private final Map<String, GameSession> sessions = new ConcurrentHashMap<String, GameSession>();
+	private final AtomicLong nextId = new AtomicLong();
+	private final long idleTimeoutNanos;
+	private final ScheduledExecutorService evictor;
+
+	/* The mode of every game and where the answers of new games come from */
+	private final GameMode mode;
+	private final AnswerSource answers;
+
+	/**
+	 * GameService constructor for classic games with random answers.
+	 *
+	 * @param idleTimeoutSeconds How long a game can go unused before it is removed.
+	 */
+	public GameService(long idleTimeoutSeconds) {
+		this(idleTimeoutSeconds, GameMode.DEFAULT, AnswerSource.RANDOM);
+	}
+
+	/**
+	 * GameService constructor.
+	 *
+	 * @param idleTimeoutSeconds How long a game can go unused before it is removed.
+	 * @param mode The word length, number of guesses and difficulty of every game.
+	 * @param answers Chooses the answer of a game that is started without one.
+	 */
+	public GameService(long idleTimeoutSeconds, GameMode mode, AnswerSource answers) {
+		this.mode = mode;
+		this.answers = answers;
+		this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+		this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "session-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long period = Math.max(1, idleTimeoutSeconds / 2);
+		evictor.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Handles a single request.
+	 *
+	 * @param line A string that contains the request.
+	 * @return A string of the JSON response.
+	 */
+	public String handle(String line) {
+		String[] parts = line.trim().split("\\s+");
+		String command = parts[0].toUpperCase();
+		if (command.equals("NEW")) {
+			return newGame(parts.length > 1 ? parts[1] : null);
+		}
+		if (!GAME_COMMANDS.contains(command)) {
+			return Json.error("Unknown command " + command);
+		}
+
+		GameSession session = parts.length > 1 ? sessions.get(parts[1]) : null;
+		if (session == null) {
+			return Json.error("Unknown game.");
+		}
+		switch (command) {
+		case "GUESS":
+			return parts.length > 2 ? session.guess(parts[2]) : Json.error("Usage: GUESS id word");
+		case "STATE":
+			return session.state();
+		case "HINT":
+			return session.hint();
+		case "END":
+			sessions.remove(session.getId());
+			return "{\"ok\":true,\"id\":\"" + session.getId() + "\"}";
+		default:
+			return Json.error("Unknown command " + command);
+		}
+	}
+
+	/**
+	 * Starts a new game. A number instead of a word picks the answer the same
+	 * way every time, like the -seed option of the game.
+	 *
+	 * @param answer A string of the answer or a seed, or null for an answer from
+	 * the service's answer source.
+	 * @return A string of the JSON response.
+	 */
+	private String newGame(String answer) {
+		WordleModel model;
+		try {
+			if (answer == null) {
+				answer = answers.nextAnswer(WordleModel.getSharedWordLists(mode.getWordLength()).getAnswers());
+			} else if (isSeed(answer)) {
+				answer = AnswerSource.seeded(Long.parseLong(answer))
+						.nextAnswer(WordleModel.getSharedWordLists(mode.getWordLength()).getAnswers());
+			}
+			model = new WordleModel(mode, answer);
+		} catch (IllegalArgumentException e) {
+			return Json.error(e.getMessage());
+		}
+		String id = Long.toString(nextId.incrementAndGet(), Character.MAX_RADIX);
+		sessions.put(id, new GameSession(id, model));
+		return "{\"ok\":true,\"id\":\"" + id + "\"}";
+	}
+
+	/**
+	 * Checks if the argument of NEW is a seed instead of a word.
+	 *
+	 * @param argument A string of the argument.
+	 * @return A boolean of whether the argument is a number.
+	 */
+	private static boolean isSeed(String argument) {
+		int start = argument.charAt(0) == '-' && argument.length() > 1 ? 1 : 0;
+		for (int i = start; i < argument.length(); i++) {
+			if (argument.charAt(i) < '0' || argument.charAt(i) > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes every game that hasn't been used within the idle timeout.
+	 */
+	void evictIdle() {
+		long now = System.nanoTime();
+		sessions.values().removeIf(session -> now - session.getLastAccess() > idleTimeoutNanos);
+	}
+
+	/**
+	 * Starts working out the first hint of the service's word length in the
+	 * background, so the first HINT of a game doesn't have to wait for it.
+	 */
+	public void prepareHints() {
+		Solver.warmUp(WordleModel.getSharedWordLists(mode.getWordLength()));
+	}
+
+	/**
+	 * Returns the number of games that are hosted.
+	 *
+	 * @return The number of games.
+	 */
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Stops removing idle games.
+	 */
+	public void shutdown() {
+		evictor.shutdownNow();
+	}
+
+}
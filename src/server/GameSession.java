@@ -0,0 +1,165 @@
+package server;
+
+import java.util.function.Supplier;
+
+import controller.WordleController;
+import model.Scorer;
+import model.WordleModel;
+import utilities.Guess;
+import utilities.GuessCheck;
+
+/**
+ *
+ * This class represents a single game hosted by the server. A session owns its
+ * own model and controller, and every operation on it is synchronized so that
+ * requests for the same game from different connections are handled one at a
+ * time. The only exception is working out a hint, which runs on a copy of the
+ * game's state. The session also remembers when it was last used, so the server can
+ * remove games that have been abandoned.
+ *
+ * @author Luke Genova
+ *
+ */
+public class GameSession {
+
+	private final String id;
+	private final WordleModel model;
+	private final WordleController controller;
+
+	/* System.nanoTime() of the last request */
+	private volatile long lastAccess;
+
+	/**
+	 * GameSession constructor.
+	 *
+	 * @param id A string that identifies the session.
+	 * @param model The model of the game.
+	 */
+	public GameSession(String id, WordleModel model) {
+		this.id = id;
+		this.model = model;
+		this.controller = new WordleController(model);
+		this.lastAccess = System.nanoTime();
+	}
+
+	/**
+	 * Makes a guess and returns the result as a JSON object.
+	 *
+	 * @param guess A string that contains the guess.
+	 * @return A string of the JSON response.
+	 */
+	public synchronized String guess(String guess) {
+		touch();
+		if (controller.isGameOver()) {
+			return Json.error("The game is over.");
+		}
+		GuessCheck check = controller.tryGuess(guess);
+		if (!check.isValid()) {
+			return Json.error(controller.explain(guess, check));
+		}
+		Guess current = model.getProgress()[controller.getAttempt()-2];
+		StringBuilder response = new StringBuilder(96);
+		response.append("{\"ok\":true,\"id\":\"").append(id)
+				.append("\",\"pattern\":\"");
+		appendPattern(response, current);
+		response.append("\",\"correct\":").append(current.getIsCorrect());
+		appendStatus(response);
+		return response.append('}').toString();
+	}
+
+	/**
+	 * Returns every guess made so far and whether the game is over as a JSON object.
+	 *
+	 * @return A string of the JSON response.
+	 */
+	public synchronized String state() {
+		touch();
+		StringBuilder response = new StringBuilder(160);
+		response.append("{\"ok\":true,\"id\":\"").append(id).append("\",\"guesses\":[");
+		Guess[] progress = model.getProgress();
+		for (int i = 0; i < progress.length && progress[i] != null; i++) {
+			if (i > 0) {
+				response.append(',');
+			}
+			response.append("{\"word\":\"").append(progress[i].getGuess().toLowerCase())
+					.append("\",\"pattern\":\"");
+			appendPattern(response, progress[i]);
+			response.append("\"}");
+		}
+		response.append(']');
+		appendStatus(response);
+		return response.append('}').toString();
+	}
+
+	/**
+	 * Recommends the next guess as a JSON object. Only taking what the hint needs
+	 * from the game holds the lock of the session, the hint itself is worked out
+	 * without it, so a slow hint doesn't hold up other requests for the game.
+	 *
+	 * @return A string of the JSON response.
+	 */
+	public String hint() {
+		Supplier<String> task;
+		synchronized (this) {
+			touch();
+			task = controller.hintTask();
+		}
+		String hint = task.get();
+		if (hint == null) {
+			return Json.error("The game is over.");
+		}
+		return "{\"ok\":true,\"id\":\"" + id + "\",\"hint\":\"" + hint + "\"}";
+	}
+
+	/**
+	 * Returns the string that identifies the session.
+	 *
+	 * @return The id of the session.
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Returns when the session was last used.
+	 *
+	 * @return The System.nanoTime() of the last request.
+	 */
+	public long getLastAccess() {
+		return lastAccess;
+	}
+
+	private void touch() {
+		lastAccess = System.nanoTime();
+	}
+
+	/**
+	 * Appends the number of attempts, whether the game is over and, once it is
+	 * over, the answer.
+	 *
+	 * @param response The response that is being built.
+	 */
+	private void appendStatus(StringBuilder response) {
+		response.append(",\"attempt\":").append(controller.getAttempt())
+				.append(",\"remaining\":").append(model.remainingCandidateCount())
+				.append(",\"over\":").append(controller.isGameOver());
+		if (controller.isGameOver()) {
+			response.append(",\"answer\":\"").append(model.getAnswer()).append('"');
+		}
+	}
+
+	/**
+	 * Appends the result of every letter of a guess as a digit: 0 for incorrect,
+	 * 1 for the wrong index and 2 for correct.
+	 *
+	 * @param response The response that is being built.
+	 * @param guess The guess.
+	 */
+	private static void appendPattern(StringBuilder response, Guess guess) {
+		int pattern = Scorer.patternOf(guess.getIndices());
+		for (int i = 0; i < guess.getIndices().length; i++) {
+			response.append((char) ('0' + Scorer.digitAt(pattern, i)));
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+package server;
+
+/**
+ *
+ * This class has small helpers for writing the JSON responses of the server.
+ * Responses are simple enough that they are built by hand instead of using a
+ * JSON library.
+ *
+ * @author Luke Genova
+ *
+ */
+final class Json {
+
+	private Json() {
+	}
+
+	/**
+	 * Creates the response of a request that failed.
+	 *
+	 * @param message A string that explains why the request failed.
+	 * @return A string of the JSON response.
+	 */
+	static String error(String message) {
+		StringBuilder response = new StringBuilder(message.length() + 24);
+		response.append("{\"ok\":false,\"error\":\"");
+		appendEscaped(response, message);
+		return response.append("\"}").toString();
+	}
+
+	/**
+	 * Appends a string with the characters JSON doesn't allow in a string escaped.
+	 *
+	 * @param builder The builder to append to.
+	 * @param text The string to escape.
+	 */
+	static void appendEscaped(StringBuilder builder, String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '"' || c == '\\') {
+				builder.append('\\').append(c);
+			} else if (c < ' ') {
+				builder.append(String.format("\\u%04x", (int) c));
+			} else {
+				builder.append(c);
+			}
+		}
+	}
+
+}
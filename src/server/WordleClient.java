@@ -0,0 +1,96 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *
+ * This class is a simple client of the WordleServer. It sends one request at a
+ * time and waits for its response. A client must only be used by one thread.
+ *
+ * @author Luke Genova
+ *
+ */
+public class WordleClient implements Closeable {
+
+	private final Socket socket;
+	private final BufferedReader in;
+	private final Writer out;
+
+	/**
+	 * WordleClient constructor.
+	 *
+	 * @param host The host name of the server.
+	 * @param port The port of the server.
+	 * @throws IOException If the client can't connect.
+	 */
+	public WordleClient(String host, int port) throws IOException {
+		this.socket = new Socket(host, port);
+		this.socket.setTcpNoDelay(true);
+		this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+		this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Sends a request and waits for the response.
+	 *
+	 * @param request A string that contains the request, without a line break.
+	 * @return A string of the JSON response.
+	 * @throws IOException If the connection was lost.
+	 */
+	public String send(String request) throws IOException {
+		out.write(request);
+		out.write('\n');
+		out.flush();
+		String response = in.readLine();
+		if (response == null) {
+			throw new IOException("The server closed the connection.");
+		}
+		return response;
+	}
+
+	/**
+	 * Starts a new game on the server.
+	 *
+	 * @return The id of the new game.
+	 * @throws IOException If the connection was lost or the game wasn't created.
+	 */
+	public String newGame() throws IOException {
+		String response = send("NEW");
+		String id = field(response, "id");
+		if (id == null) {
+			throw new IOException("Unable to start a game: " + response);
+		}
+		return id;
+	}
+
+	/**
+	 * Returns the value of a string field in a flat JSON response.
+	 *
+	 * @param response A string of the JSON response.
+	 * @param name The name of the field.
+	 * @return The value of the field, or null if the response doesn't have it.
+	 */
+	public static String field(String response, String name) {
+		String key = "\"" + name + "\":\"";
+		int start = response.indexOf(key);
+		if (start < 0) {
+			return null;
+		}
+		start += key.length();
+		return response.substring(start, response.indexOf('"', start));
+	}
+
+	@Override
+	public void close() throws IOException {
+		socket.close();
+	}
+
+}
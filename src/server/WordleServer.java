@@ -0,0 +1,157 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import metrics.Metrics;
+
+/**
+ *
+ * This class serves the games of a GameService over TCP. A client sends one
+ * request per line and gets one JSON response per line back, in the same
+ * order. A single connection can play any number of games, and requests can
+ * be pipelined: responses are only flushed once there are no more requests
+ * waiting to be read.
+ *
+ * Every connection is handled by its own thread. Games aren't tied to a
+ * connection, so hosting thousands of games only needs as many threads as
+ * there are clients.
+ *
+ * Usage: WordleServer [port] [idle timeout in seconds]
+ *
+ * @author Luke Genova
+ *
+ */
+public class WordleServer {
+
+	public static final int DEFAULT_PORT = 7777;
+	private static final int DEFAULT_IDLE_TIMEOUT = 300;
+
+	private static final String QUIT = "QUIT";
+
+	private final GameService service;
+	private final ServerSocket serverSocket;
+	private final ExecutorService connections;
+
+	/**
+	 * WordleServer constructor. The server listens on the loopback address.
+	 *
+	 * @param port The port to listen on, or 0 for any free port.
+	 * @param service The games that are served.
+	 * @throws IOException If the port can't be opened.
+	 */
+	public WordleServer(int port, GameService service) throws IOException {
+		this.service = service;
+		this.serverSocket = new ServerSocket();
+		this.serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+		this.connections = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "wordle-connection");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		long idleTimeout = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_IDLE_TIMEOUT;
+		Metrics.registerMBean();
+		GameService service = new GameService(idleTimeout);
+		service.prepareHints();
+		WordleServer server = new WordleServer(port, service);
+		System.out.println("Wordle server listening on port " + server.getPort());
+		server.serve();
+	}
+
+	/**
+	 * Accepts connections until the server is closed.
+	 */
+	public void serve() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				socket.setTcpNoDelay(true);
+				connections.execute(() -> handle(socket));
+			} catch (SocketException e) {
+				// The server socket was closed.
+				return;
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Answers the requests of one connection until the client quits or disconnects.
+	 *
+	 * @param socket The socket of the connection.
+	 */
+	private void handle(Socket socket) {
+		try (socket;
+				BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+			serveLines(in, out, service);
+		} catch (IOException e) {
+			// The client disconnected.
+		}
+	}
+
+	/**
+	 * Answers the requests read from a stream until QUIT or the end of the
+	 * stream. Responses are written in the order of the requests and only
+	 * flushed once there are no more requests waiting to be read, so a client
+	 * that sends many requests at once gets its responses in a few large writes.
+	 * Both streams are left open.
+	 *
+	 * @param in The requests, one per line.
+	 * @param out Where the responses are written, one per line.
+	 * @param service The games the requests are played on.
+	 * @throws IOException If a request can't be read or a response can't be written.
+	 */
+	public static void serveLines(BufferedReader in, Writer out, GameService service) throws IOException {
+		String line;
+		while ((line = in.readLine()) != null) {
+			if (line.trim().equalsIgnoreCase(QUIT)) {
+				break;
+			}
+			out.write(service.handle(line));
+			out.write('\n');
+			if (!in.ready()) {
+				out.flush();
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Returns the port the server is listening on.
+	 *
+	 * @return The port number.
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Stops accepting connections and closes the server.
+	 *
+	 * @throws IOException If the server socket can't be closed.
+	 */
+	public void close() throws IOException {
+		serverSocket.close();
+		connections.shutdownNow();
+		service.shutdown();
+	}
+
+}
@@ -0,0 +1,24 @@
+package simulation;
+
+import model.WordleModel;
+
+/**
+ *
+ * This interface represents a way of picking guesses, which the Simulator
+ * uses to play games without a user. A strategy is shared by every thread
+ * of the simulator, so it must be safe to call from several threads at once.
+ *
+ * @author Luke Genova
+ *
+ */
+public interface GuessStrategy {
+
+	/**
+	 * Picks the next guess of a game.
+	 *
+	 * @param model The model of the game that is being played.
+	 * @return A string of the next guess. It must be a word in the dictionary.
+	 */
+	String nextGuess(WordleModel model);
+
+}
@@ -0,0 +1,25 @@
+package simulation;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import model.WordleModel;
+
+/**
+ *
+ * This strategy guesses a random word out of the words that could still be
+ * the answer. It is cheap, so it is useful for testing how fast games can be
+ * played and for checking the scoring logic.
+ *
+ * @author Luke Genova
+ *
+ */
+public class RandomCandidateStrategy implements GuessStrategy {
+
+	@Override
+	public String nextGuess(WordleModel model) {
+		int[] candidates = model.remainingCandidates();
+		int index = candidates[ThreadLocalRandom.current().nextInt(candidates.length)];
+		return model.getAnswers().wordAt(index);
+	}
+
+}
@@ -0,0 +1,136 @@
+package simulation;
+
+import utilities.Constants;
+
+/**
+ *
+ * This class holds the results of simulated games. It counts how many games
+ * were won with each number of guesses and how many were lost. Results of
+ * different threads are added together with merge.
+ *
+ * @author Luke Genova
+ *
+ */
+public class SimulationResult {
+
+	/* Number of games won with i + 1 guesses */
+	private final long[] wins;
+	private long losses;
+
+	/**
+	 * SimulationResult constructor.
+	 */
+	public SimulationResult() {
+		this.wins = new long[Constants.NUMBER_OF_GUESSES];
+		this.losses = 0;
+	}
+
+	/**
+	 * Records the result of one game.
+	 *
+	 * @param won A boolean of whether the game was won or not.
+	 * @param guesses The number of guesses that were made.
+	 */
+	public void record(boolean won, int guesses) {
+		if (won) {
+			wins[guesses-1]++;
+		} else {
+			losses++;
+		}
+	}
+
+	/**
+	 * Adds the results of another simulation to this one.
+	 *
+	 * @param other The results to add.
+	 */
+	public void merge(SimulationResult other) {
+		for (int i = 0; i < wins.length; i++) {
+			wins[i] += other.wins[i];
+		}
+		losses += other.losses;
+	}
+
+	/**
+	 * Returns the number of games that were played.
+	 *
+	 * @return The number of games.
+	 */
+	public long getGames() {
+		return getWins() + losses;
+	}
+
+	/**
+	 * Returns the number of games that were won.
+	 *
+	 * @return The number of wins.
+	 */
+	public long getWins() {
+		long total = 0;
+		for (long count : wins) {
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the number of games that were lost.
+	 *
+	 * @return The number of losses.
+	 */
+	public long getLosses() {
+		return losses;
+	}
+
+	/**
+	 * Returns the number of games that were won with a number of guesses.
+	 *
+	 * @param guesses The number of guesses, from 1 to NUMBER_OF_GUESSES.
+	 * @return The number of wins with that many guesses.
+	 */
+	public long getWins(int guesses) {
+		return wins[guesses-1];
+	}
+
+	/**
+	 * Returns the fraction of games that were won.
+	 *
+	 * @return The win rate between 0 and 1.
+	 */
+	public double getWinRate() {
+		long games = getGames();
+		return games == 0 ? 0 : (double) getWins() / games;
+	}
+
+	/**
+	 * Returns the average number of guesses of the games that were won.
+	 *
+	 * @return The average number of guesses.
+	 */
+	public double getAverageGuesses() {
+		long total = 0;
+		for (int i = 0; i < wins.length; i++) {
+			total += wins[i] * (i + 1);
+		}
+		long won = getWins();
+		return won == 0 ? 0 : (double) total / won;
+	}
+
+	/**
+	 * Returns the results as a histogram of guess counts.
+	 *
+	 * @return A string that contains the results.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		result.append(String.format("Games: %d, Win rate: %.2f%%, Average guesses: %.3f%n", 
+				getGames(), getWinRate() * 100, getAverageGuesses()));
+		for (int i = 0; i < wins.length; i++) {
+			result.append(String.format("%d: %d%n", i + 1, wins[i]));
+		}
+		result.append(String.format("X: %d%n", losses));
+		return result.toString();
+	}
+
+}
@@ -0,0 +1,195 @@
+package simulation;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import controller.WordleController;
+import model.PackedDictionary;
+import model.WordleModel;
+import persistence.GameStore;
+import solver.Solver;
+import utilities.Constants;
+import utilities.IllegalGuessException;
+
+/**
+ *
+ * This class plays games without a user. Every game is played through a
+ * WordleController and WordleModel like a real game, with a GuessStrategy
+ * picking the guesses. Games are split into batches that run on a fixed
+ * thread pool, and each batch keeps its own results so the threads don't
+ * have to share anything while they play.
+ *
+ * Usage: Simulator [games|all] [threads] [random|solver] [matrix]
+ *
+ * With matrix, the solver reads its patterns from a feedback matrix of the full
+ * dictionary, which is cached in the cache folder of the saves folder.
+ *
+ * @author Luke Genova
+ *
+ */
+public class Simulator {
+
+	/* Number of games a single task plays */
+	private static final int GAMES_PER_TASK = 1024;
+
+	/* Folder the feedback matrix is cached in when it is asked for */
+	private static final Path MATRIX_CACHE_DIRECTORY = GameStore.DEFAULT_DIRECTORY.resolve("cache");
+
+	private final int threads;
+
+	/**
+	 * Simulator constructor.
+	 *
+	 * @param threads The number of threads that play games.
+	 */
+	public Simulator(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("The simulator needs at least one thread.");
+		}
+		this.threads = threads;
+	}
+
+	public static void main(String[] args) {
+		String games = args.length > 0 ? args[0] : "all";
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		GuessStrategy strategy = args.length > 2 && args[2].equals("solver") 
+				? new SolverStrategy() : new RandomCandidateStrategy();
+		if (args.length > 3 && args[3].equals("matrix")) {
+			Solver.useFeedbackMatrix(MATRIX_CACHE_DIRECTORY);
+		}
+
+		Simulator simulator = new Simulator(threads);
+		long start = System.nanoTime();
+		SimulationResult result;
+		if (games.equals("all")) {
+			result = simulator.playEveryAnswer(strategy);
+		} else {
+			result = simulator.playRandom(Integer.parseInt(games), strategy, System.nanoTime());
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.print(result);
+		System.out.printf("Played in %.2f seconds (%.0f games per minute)%n", 
+				seconds, result.getGames() / seconds * 60);
+	}
+
+	/**
+	 * Plays one game for every word in the answer list as the answer.
+	 *
+	 * @param strategy The strategy that picks the guesses.
+	 * @return The results of the games.
+	 */
+	public SimulationResult playEveryAnswer(GuessStrategy strategy) {
+		PackedDictionary answers = sharedAnswers();
+		return run(answers.size(), strategy, (game, random) -> game, new SplittableRandom());
+	}
+
+	/**
+	 * Plays games with random answers.
+	 *
+	 * @param games The number of games to play.
+	 * @param strategy The strategy that picks the guesses.
+	 * @param seed The seed of the random answers, so a run can be repeated.
+	 * @return The results of the games.
+	 */
+	public SimulationResult playRandom(int games, GuessStrategy strategy, long seed) {
+		int size = sharedAnswers().size();
+		SplittableRandom root = new SplittableRandom(seed);
+		return run(games, strategy, (game, random) -> random.nextInt(size), root);
+	}
+
+	/**
+	 * Returns the answer list of the classic game.
+	 *
+	 * @return A packed dictionary of the five letter answers.
+	 */
+	private static PackedDictionary sharedAnswers() {
+		return WordleModel.getSharedWordLists(Constants.WORD_LENGTH).getAnswers();
+	}
+
+	/**
+	 * Splits the games into tasks, runs them on the thread pool and adds up the results.
+	 *
+	 * @param games The number of games to play.
+	 * @param strategy The strategy that picks the guesses.
+	 * @param picker Picks the answer list index of the answer of each game.
+	 * @param root The random generator that every task splits its own generator from.
+	 * @return The results of the games.
+	 */
+	private SimulationResult run(int games, GuessStrategy strategy, AnswerPicker picker, SplittableRandom root) {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<SimulationResult>> tasks = new ArrayList<Future<SimulationResult>>();
+			for (int start = 0; start < games; start += GAMES_PER_TASK) {
+				int first = start;
+				int last = Math.min(games, start + GAMES_PER_TASK);
+				SplittableRandom random = root.split();
+				tasks.add(pool.submit(() -> playBatch(first, last, strategy, picker, random)));
+			}
+
+			SimulationResult total = new SimulationResult();
+			for (Future<SimulationResult> task : tasks) {
+				total.merge(task.get());
+			}
+			return total;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The simulation was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A simulated game failed.", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Plays a range of games on the current thread.
+	 *
+	 * @param first The number of the first game.
+	 * @param last The number after the last game.
+	 * @param strategy The strategy that picks the guesses.
+	 * @param picker Picks the answer list index of the answer of each game.
+	 * @param random The random generator of this batch.
+	 * @return The results of the games.
+	 */
+	private static SimulationResult playBatch(int first, int last, GuessStrategy strategy, 
+			AnswerPicker picker, SplittableRandom random) {
+		PackedDictionary answers = sharedAnswers();
+		SimulationResult result = new SimulationResult();
+		for (int game = first; game < last; game++) {
+			WordleModel model = new WordleModel(answers.wordAt(picker.pick(game, random)));
+			WordleController controller = new WordleController(model);
+			boolean won = false;
+			while (!controller.isGameOver()) {
+				String guess = strategy.nextGuess(model);
+				try {
+					controller.makeGuess(guess);
+				} catch (IllegalGuessException e) {
+					throw new IllegalStateException("The strategy guessed " + guess + ": " + e.getMessage(), e);
+				}
+				won = model.getProgress()[controller.getAttempt()-2].getIsCorrect();
+			}
+			result.record(won, controller.getAttempt()-1);
+		}
+		return result;
+	}
+
+	/**
+	 * Picks the answer of a simulated game.
+	 */
+	private interface AnswerPicker {
+
+		/**
+		 * @param game The number of the game.
+		 * @param random The random generator of the batch the game is in.
+		 * @return The answer list index of the answer.
+		 */
+		int pick(int game, SplittableRandom random);
+	}
+
+}
@@ -0,0 +1,21 @@
+package simulation;
+
+import model.WordleModel;
+import solver.Solver;
+
+/**
+ *
+ * This strategy guesses the word the solver recommends, which is the word
+ * that is expected to give the most information about the answer.
+ *
+ * @author Luke Genova
+ *
+ */
+public class SolverStrategy implements GuessStrategy {
+
+	@Override
+	public String nextGuess(WordleModel model) {
+		return Solver.forWordLists(model.getWordLists()).suggest(model.remainingCandidates());
+	}
+
+}
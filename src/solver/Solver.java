@@ -0,0 +1,474 @@
+package solver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import model.FeedbackMatrix;
+import model.PackedDictionary;
+import model.Scorer;
+import model.WordLists;
+import utilities.Guess;
+
+/**
+ *
+ * This class recommends the next guess of a game. It keeps the answers that
+ * are still possible after the guesses made so far and picks the guess that
+ * is expected to give the most information, which is the guess that splits the
+ * remaining answers into feedback patterns with the highest entropy. Every
+ * guess is evaluated in parallel on all of the processors.
+ *
+ * The best first guess only depends on the word lists, so it is computed once
+ * per solver, by a single thread, and shared by every game that uses the same
+ * solver. Views that show hints start computing it in the background with
+ * warmUp, so the first hint of a game doesn't wait for it.
+ *
+ * Patterns are scored with the Scorer unless a feedback matrix is used, which
+ * makes every pattern a single array read. Word lists small enough for their
+ * matrix to be built in a moment, such as a short answer list, always use one,
+ * kept in memory. Larger matrices are only used once a bulk job asks for them
+ * with useFeedbackMatrix, which also says where their cache files are kept,
+ * since the matrix of the full dictionary takes about 220 MB. Words of more
+ * than five letters are always scored.
+ *
+ * @author Luke Genova
+ *
+ */
+public class Solver {
+
+	/* Solvers that were already created for a dictionary */
+	private static final Map<PackedDictionary, Solver> SOLVERS = new ConcurrentHashMap<PackedDictionary, Solver>();
+
+	/* Solvers that were already created for word lists with a separate answer list */
+	private static final Map<WordLists, Solver> LIST_SOLVERS = new ConcurrentHashMap<WordLists, Solver>();
+
+	/*
+	 * Largest number of feedback patterns that are counted in an array. Longer
+	 * words have too many patterns for that, so their patterns are sorted instead.
+	 */
+	private static final int COUNTED_PATTERN_LIMIT = 729;
+
+	/* Number of ranges of guesses every thread scores, so that a slow range doesn't hold up the rest */
+	private static final int RANGES_PER_THREAD = 4;
+
+	/* Computes the best first guess of solvers in the background */
+	private static final ExecutorService WARM_UP = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "solver-warm-up");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final PackedDictionary guesses;
+	private final PackedDictionary answers;
+	private final int wordLength;
+
+	/* Largest matrix that is built in memory without being asked for, about 16 MB */
+	private static final long SMALL_MATRIX_CELLS = 1L << 24;
+
+	/* Directory of the feedback matrix cache files, or null if large matrices aren't used */
+	private static volatile Path matrixDirectory;
+
+	/* Patterns of every guess against every answer, or null if they are scored instead */
+	private FeedbackMatrix matrix;
+	private volatile boolean matrixLoaded;
+
+	/* Computes the best first guess once, whichever thread asks for it first. A task that failed is replaced. */
+	private final AtomicReference<FutureTask<Long>> firstGuess = new AtomicReference<FutureTask<Long>>();
+
+	/**
+	 * Solver constructor.
+	 *
+	 * @param guesses The words that can be guessed.
+	 * @param answers The words that can be the answer, with the same length as the guesses.
+	 */
+	public Solver(PackedDictionary guesses, PackedDictionary answers) {
+		if (guesses.getWordLength() != answers.getWordLength()) {
+			throw new IllegalArgumentException("The guesses and answers must have the same length.");
+		}
+		this.guesses = guesses;
+		this.answers = answers;
+		this.wordLength = answers.getWordLength();
+		this.firstGuess.set(new FutureTask<Long>(this::computeFirstGuess));
+	}
+
+	/**
+	 * Makes every solver that hasn't picked a guess yet read its patterns from a
+	 * feedback matrix, however large it is. Matrices are mapped from a cache file
+	 * in a directory, and built and saved there the first time. Only jobs that
+	 * pick a large number of guesses, like simulations, should call this.
+	 *
+	 * @param cacheDirectory The directory that holds the cache files, which is
+	 * created if it doesn't exist.
+	 */
+	public static void useFeedbackMatrix(Path cacheDirectory) {
+		matrixDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Returns the shared solver of a dictionary, where every word can be both
+	 * guessed and the answer.
+	 *
+	 * @param dictionary The dictionary of valid words.
+	 * @return The solver of the dictionary.
+	 */
+	public static Solver forDictionary(PackedDictionary dictionary) {
+		return SOLVERS.computeIfAbsent(dictionary, d -> new Solver(d, d));
+	}
+
+	/**
+	 * Returns the shared solver of a game's word lists, which guesses any word
+	 * and only keeps the answers as candidates.
+	 *
+	 * @param wordLists The guesses and answers of a word length.
+	 * @return The solver of the word lists.
+	 */
+	public static Solver forWordLists(WordLists wordLists) {
+		if (wordLists.getAnswers() == wordLists.getWords()) {
+			return forDictionary(wordLists.getWords());
+		}
+		return LIST_SOLVERS.computeIfAbsent(wordLists, lists -> new Solver(lists.getWords(), lists.getAnswers()));
+	}
+
+	/**
+	 * Recommends the next guess of a game.
+	 *
+	 * @param progress An array holding the guesses the user made so far, where
+	 * future guesses are null.
+	 * @return The recommended guess in lower case, or null if no answer fits the
+	 * feedback of the guesses.
+	 */
+	public String suggest(Guess[] progress) {
+		return suggest(remainingAnswers(progress));
+	}
+
+	/**
+	 * Recommends the next guess of a game.
+	 *
+	 * @param candidates An array of the indices of the remaining answers.
+	 * @return The recommended guess in lower case, or null if there are no
+	 * remaining answers.
+	 */
+	public String suggest(int[] candidates) {
+		if (candidates.length == answers.size()) {
+			return PackedDictionary.decode(firstGuess(), wordLength);
+		}
+		long best = bestGuess(candidates);
+		return best == PackedDictionary.INVALID_WORD ? null : PackedDictionary.decode(best, wordLength);
+	}
+
+	/**
+	 * Returns the answers that fit the feedback of every guess made so far.
+	 *
+	 * @param progress An array holding the guesses the user made so far.
+	 * @return An array of the indices of the remaining answers in the answer list.
+	 */
+	public int[] remainingAnswers(Guess[] progress) {
+		// Packs every guess and its feedback once instead of once per answer.
+		int guessCount = 0;
+		while (guessCount < progress.length && progress[guessCount] != null) {
+			guessCount++;
+		}
+		long[] packedGuesses = new long[guessCount];
+		int[] patterns = new int[guessCount];
+		for (int i = 0; i < guessCount; i++) {
+			packedGuesses[i] = PackedDictionary.encode(progress[i].getGuess());
+			patterns[i] = Scorer.patternOf(progress[i].getIndices());
+		}
+
+		int[] candidates = new int[answers.size()];
+		int count = 0;
+		for (int i = 0; i < answers.size(); i++) {
+			if (fits(answers.packedWordAt(i), packedGuesses, patterns, wordLength)) {
+				candidates[count++] = i;
+			}
+		}
+		return Arrays.copyOf(candidates, count);
+	}
+
+	/**
+	 * Picks the guess with the highest expected information gain for a set of
+	 * remaining answers. When two guesses are equally good, a guess that could
+	 * be the answer is preferred.
+	 *
+	 * @param candidates An array of the indices of the remaining answers.
+	 * @return The packed word of the best guess, or INVALID_WORD if there are no candidates.
+	 */
+	public long bestGuess(int[] candidates) {
+		if (candidates.length == 0) {
+			return PackedDictionary.INVALID_WORD;
+		}
+		if (candidates.length <= 2) {
+			return answers.packedWordAt(candidates[0]);
+		}
+
+		long[] packedCandidates = new long[candidates.length];
+		for (int i = 0; i < candidates.length; i++) {
+			packedCandidates[i] = answers.packedWordAt(candidates[i]);
+		}
+		// Every range of guesses reuses one buffer for the patterns of its guesses.
+		FeedbackMatrix matrix = feedbackMatrix();
+		int patternCount = Scorer.patternCount(wordLength);
+		boolean counted = matrix != null || patternCount <= COUNTED_PATTERN_LIMIT;
+		double[] scores = new double[guesses.size()];
+		int ranges = Math.min(guesses.size(), ForkJoinPool.getCommonPoolParallelism() * RANGES_PER_THREAD);
+		IntStream.range(0, ranges).parallel().forEach(range -> {
+			int start = (int) ((long) guesses.size() * range / ranges);
+			int end = (int) ((long) guesses.size() * (range + 1) / ranges);
+			int[] buffer = new int[counted ? patternCount : candidates.length];
+			for (int i = start; i < end; i++) {
+				if (matrix != null) {
+					scores[i] = entropy(matrix, i, candidates, buffer);
+				} else if (counted) {
+					scores[i] = countedEntropy(guesses.packedWordAt(i), packedCandidates, wordLength, buffer);
+				} else {
+					scores[i] = sortedEntropy(guesses.packedWordAt(i), packedCandidates, wordLength, buffer);
+				}
+			}
+		});
+
+		int best = 0;
+		double bestScore = -1;
+		boolean bestIsCandidate = false;
+		for (int i = 0; i < scores.length; i++) {
+			if (scores[i] < bestScore) {
+				continue;
+			}
+			boolean isCandidate = Arrays.binarySearch(packedCandidates, guesses.packedWordAt(i)) >= 0;
+			if (scores[i] > bestScore || (isCandidate && !bestIsCandidate)) {
+				best = i;
+				bestScore = scores[i];
+				bestIsCandidate = isCandidate;
+			}
+		}
+		return guesses.packedWordAt(best);
+	}
+
+	/**
+	 * Starts computing the best first guess in the background, if it hasn't been
+	 * computed yet.
+	 */
+	public void warmUp() {
+		FutureTask<Long> task = firstGuess.get();
+		if (!task.isDone()) {
+			WARM_UP.execute(task);
+		}
+	}
+
+	/**
+	 * Starts computing the best first guess of a game's word lists in the background.
+	 *
+	 * @param wordLists The guesses and answers of a word length.
+	 */
+	public static void warmUp(WordLists wordLists) {
+		forWordLists(wordLists).warmUp();
+	}
+
+	/**
+	 * Returns the best first guess. The first thread that needs it computes it,
+	 * and every other thread waits for that thread instead of computing it again.
+	 * If computing it fails, the failure is thrown to the threads that waited for
+	 * it and the next thread that needs it tries again.
+	 *
+	 * @return The packed word of the best first guess.
+	 */
+	private long firstGuess() {
+		FutureTask<Long> task = firstGuess.get();
+		// Does nothing if another thread is computing it or already has.
+		task.run();
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return task.get();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					firstGuess.compareAndSet(task, new FutureTask<Long>(this::computeFirstGuess));
+					if (e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException) e.getCause();
+					}
+					throw new IllegalStateException("Unable to compute the first guess.", e.getCause());
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Computes the best first guess, with every answer still possible.
+	 *
+	 * @return The packed word of the best first guess.
+	 */
+	private long computeFirstGuess() {
+		int[] everyAnswer = new int[answers.size()];
+		for (int i = 0; i < everyAnswer.length; i++) {
+			everyAnswer[i] = i;
+		}
+		return bestGuess(everyAnswer);
+	}
+
+	/**
+	 * Returns the feedback matrix of the word lists, building it or mapping it
+	 * from its cache the first time it is needed.
+	 *
+	 * @return The feedback matrix, or null if the patterns have to be scored.
+	 */
+	private FeedbackMatrix feedbackMatrix() {
+		if (!matrixLoaded) {
+			synchronized (this) {
+				if (!matrixLoaded) {
+					matrix = loadMatrix();
+					matrixLoaded = true;
+				}
+			}
+		}
+		return matrix;
+	}
+
+	/**
+	 * Builds a small feedback matrix in memory, or loads a large one from the
+	 * cache directory if feedback matrices were asked for.
+	 *
+	 * @return The feedback matrix, or null if the patterns have to be scored.
+	 */
+	private FeedbackMatrix loadMatrix() {
+		if (!FeedbackMatrix.covers(wordLength)) {
+			return null;
+		}
+		long cells = (long) guesses.size() * answers.size();
+		Path directory = matrixDirectory;
+		try {
+			if (cells <= SMALL_MATRIX_CELLS) {
+				return FeedbackMatrix.build(guesses, answers);
+			}
+			if (directory == null) {
+				return null;
+			}
+			Files.createDirectories(directory);
+			return FeedbackMatrix.load(guesses, answers, directory);
+		} catch (IOException e) {
+			// Without a cache directory the matrix would be built every time.
+			return null;
+		} catch (IllegalArgumentException e) {
+			// The word lists are too large for a matrix or for the free memory.
+			return null;
+		} catch (OutOfMemoryError e) {
+			// Something else took the memory the check found free.
+			return null;
+		}
+	}
+
+	/**
+	 * Computes the entropy of the feedback patterns a guess splits the
+	 * candidates into, reading the patterns from a feedback matrix.
+	 *
+	 * @param matrix The feedback matrix of the guesses and answers.
+	 * @param guess The index of the guess in the guess list.
+	 * @param candidates An array of the indices of the remaining answers.
+	 * @param counts An array with a count for every pattern, which is overwritten.
+	 * @return The entropy in bits.
+	 */
+	private static double entropy(FeedbackMatrix matrix, int guess, int[] candidates, int[] counts) {
+		Arrays.fill(counts, 0);
+		for (int candidate : candidates) {
+			counts[matrix.pattern(guess, candidate)]++;
+		}
+		return entropyOf(counts, candidates.length);
+	}
+
+	/**
+	 * Computes the entropy of the feedback patterns a guess splits the
+	 * candidates into, counting the patterns in an array.
+	 *
+	 * @param guess The packed word of the guess.
+	 * @param candidates A sorted array of the packed words of the remaining answers.
+	 * @param wordLength The number of letters in every word.
+	 * @param counts An array with a count for every pattern, which is overwritten.
+	 * @return The entropy in bits.
+	 */
+	private static double countedEntropy(long guess, long[] candidates, int wordLength, int[] counts) {
+		Arrays.fill(counts, 0);
+		for (long candidate : candidates) {
+			counts[Scorer.score(guess, candidate, wordLength)]++;
+		}
+		return entropyOf(counts, candidates.length);
+	}
+
+	/**
+	 * Computes the entropy of the feedback patterns a guess splits the
+	 * candidates into, for words with too many patterns to count in an array.
+	 *
+	 * @param guess The packed word of the guess.
+	 * @param candidates A sorted array of the packed words of the remaining answers.
+	 * @param wordLength The number of letters in every word.
+	 * @param patterns An array as long as the candidates, which is overwritten.
+	 * @return The entropy in bits.
+	 */
+	private static double sortedEntropy(long guess, long[] candidates, int wordLength, int[] patterns) {
+		// Equal patterns end up next to each other, so every run is one group.
+		for (int i = 0; i < candidates.length; i++) {
+			patterns[i] = Scorer.score(guess, candidates[i], wordLength);
+		}
+		Arrays.sort(patterns);
+		double sum = 0;
+		int start = 0;
+		for (int i = 1; i <= patterns.length; i++) {
+			if (i == patterns.length || patterns[i] != patterns[start]) {
+				int count = i - start;
+				sum += count * Math.log(count);
+				start = i;
+			}
+		}
+		double total = candidates.length;
+		return (Math.log(total) - sum / total) / Math.log(2);
+	}
+
+	/**
+	 * Computes the entropy of the groups the candidates were split into.
+	 *
+	 * @param counts An array with the size of every group.
+	 * @param total The number of candidates.
+	 * @return The entropy in bits.
+	 */
+	private static double entropyOf(int[] counts, int total) {
+		double sum = 0;
+		for (int count : counts) {
+			if (count > 0) {
+				sum += count * Math.log(count);
+			}
+		}
+		return (Math.log(total) - sum / total) / Math.log(2);
+	}
+
+	/**
+	 * Checks if an answer would have given the same feedback as every guess made so far.
+	 *
+	 * @param answer The packed word of a possible answer.
+	 * @param packedGuesses The packed words of the guesses made so far.
+	 * @param patterns The feedback pattern of every guess.
+	 * @param wordLength The number of letters in every word.
+	 * @return A boolean of whether the answer is still possible or not.
+	 */
+	private static boolean fits(long answer, long[] packedGuesses, int[] patterns, int wordLength) {
+		for (int i = 0; i < packedGuesses.length; i++) {
+			if (Scorer.score(packedGuesses[i], answer, wordLength) != patterns[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,115 @@
+package utilities;
+
+/**
+ * This class describes the rules of a single game: how many letters the words
+ * have, how many guesses the user gets and whether hard mode is on. In hard
+ * mode every guess has to use the hints that were already revealed. The default
+ * mode is the classic game of five letter words and six guesses.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class GameMode {
+
+	/* Range of word lengths that can be played */
+	public static final int MIN_WORD_LENGTH = 4;
+	public static final int MAX_WORD_LENGTH = 11;
+
+	/* Range of guess limits that can be played */
+	public static final int MIN_GUESSES = 1;
+	public static final int MAX_GUESSES = 40;
+
+	/* The classic game */
+	public static final GameMode DEFAULT = new GameMode(Constants.WORD_LENGTH, Constants.NUMBER_OF_GUESSES, false);
+
+	private final int wordLength;
+	private final int guessLimit;
+	private final boolean hardMode;
+
+	private GameMode(int wordLength, int guessLimit, boolean hardMode) {
+		this.wordLength = wordLength;
+		this.guessLimit = guessLimit;
+		this.hardMode = hardMode;
+	}
+
+	/**
+	 * Returns the mode for a word length and guess limit.
+	 *
+	 * @param wordLength The number of letters in a word, from MIN_WORD_LENGTH to MAX_WORD_LENGTH.
+	 * @param guessLimit The number of guesses, from MIN_GUESSES to MAX_GUESSES.
+	 * @return The game mode, without hard mode.
+	 */
+	public static GameMode of(int wordLength, int guessLimit) {
+		return of(wordLength, guessLimit, false);
+	}
+
+	/**
+	 * Returns the mode for a word length, guess limit and difficulty.
+	 *
+	 * @param wordLength The number of letters in a word, from MIN_WORD_LENGTH to MAX_WORD_LENGTH.
+	 * @param guessLimit The number of guesses, from MIN_GUESSES to MAX_GUESSES.
+	 * @param hardMode A boolean of whether guesses have to use every revealed hint.
+	 * @return The game mode.
+	 */
+	public static GameMode of(int wordLength, int guessLimit, boolean hardMode) {
+		if (wordLength < MIN_WORD_LENGTH || wordLength > MAX_WORD_LENGTH) {
+			throw new IllegalArgumentException("Words must have between " + MIN_WORD_LENGTH + " and "
+					+ MAX_WORD_LENGTH + " letters.");
+		}
+		if (guessLimit < MIN_GUESSES || guessLimit > MAX_GUESSES) {
+			throw new IllegalArgumentException("The number of guesses must be between " + MIN_GUESSES
+					+ " and " + MAX_GUESSES + ".");
+		}
+		if (wordLength == DEFAULT.wordLength && guessLimit == DEFAULT.guessLimit && !hardMode) {
+			return DEFAULT;
+		}
+		return new GameMode(wordLength, guessLimit, hardMode);
+	}
+
+	/**
+	 * Returns the number of letters in a word.
+	 *
+	 * @return An integer of the word length.
+	 */
+	public int getWordLength() {
+		return wordLength;
+	}
+
+	/**
+	 * Returns the number of guesses the user gets.
+	 *
+	 * @return An integer of the guess limit.
+	 */
+	public int getGuessLimit() {
+		return guessLimit;
+	}
+
+	/**
+	 * Checks if guesses have to use every hint that was revealed.
+	 *
+	 * @return A boolean of whether hard mode is on.
+	 */
+	public boolean isHardMode() {
+		return hardMode;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (!(other instanceof GameMode)) {
+			return false;
+		}
+		GameMode mode = (GameMode) other;
+		return wordLength == mode.wordLength && guessLimit == mode.guessLimit && hardMode == mode.hardMode;
+	}
+
+	@Override
+	public int hashCode() {
+		return (wordLength * 31 + guessLimit) * 2 + (hardMode ? 1 : 0);
+	}
+
+	@Override
+	public String toString() {
+		return wordLength + " letters, " + guessLimit + " guesses" + (hardMode ? ", hard mode" : "");
+	}
+
+}
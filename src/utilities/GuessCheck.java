@@ -0,0 +1,45 @@
+package utilities;
+
+/**
+ * This enum is the result of checking a guess before it is scored. Every
+ * reason a guess can be rejected has its own constant, so a guess can be
+ * checked without creating an exception or a message. The message of a
+ * constant is the one the user is shown.
+ *
+ * @author Luke Genova
+ *
+ */
+public enum GuessCheck {
+	VALID(null),
+	TOO_LONG("Guess is invalid because its too long."),
+	TOO_SHORT("Guess is invalid because its too short."),
+	DIGITS("Guess is invalid because it contains digits."),
+	BAD_CHARACTERS("Guess is invalid because it has characters that are not allowed."),
+	NOT_IN_DICTIONARY("Guess is not a valid word in the dictionary."),
+	HARD_MODE_VIOLATION("Guess is invalid in hard mode because it doesn't use every hint.");
+
+	private final String message;
+
+	private GuessCheck(String message) {
+		this.message = message;
+	}
+
+	/**
+	 * Checks if the guess can be played.
+	 *
+	 * @return A boolean of whether the guess was accepted.
+	 */
+	public boolean isValid() {
+		return this == VALID;
+	}
+
+	/**
+	 * Returns the message that explains why the guess was rejected.
+	 *
+	 * @return A string of the message, or null if the guess is valid.
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+}
@@ -12,13 +12,39 @@ package utilities;
  */
 public class IllegalGuessException extends Exception {
 	
+	private static final long serialVersionUID = 1L;
+	
+	private final GuessCheck check;
+	
 	/**
 	 * IllegalGuessException constructor
 	 * 
 	 * @param message A string that represents the message that caused the exception.
 	 */
 	public IllegalGuessException(String message) {
-		super(message);
+		this(message, null);
+	}
+	
+	/**
+	 * IllegalGuessException constructor for a guess that was rejected by a check.
+	 * The exception doesn't capture a stack trace, since it is an expected result
+	 * of user input and not a bug, which makes rejecting a guess a lot cheaper.
+	 * 
+	 * @param message A string that represents the message that caused the exception.
+	 * @param check The reason the guess was rejected, or null if it isn't known.
+	 */
+	public IllegalGuessException(String message, GuessCheck check) {
+		super(message, null, false, false);
+		this.check = check;
+	}
+	
+	/**
+	 * This method is a getter method that returns the reason the guess was rejected.
+	 * 
+	 * @return The result of the check, or null if it isn't known.
+	 */
+	public GuessCheck getCheck() {
+		return check;
 	}
 	
 	/**
@@ -0,0 +1,481 @@
+package view;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+import utilities.INDEX_RESULT;
+
+/**
+ *
+ * This component paints the progress grid and the keyboard of the GUI by itself
+ * instead of using a label for every letter. The state of every cell and key is
+ * kept in small arrays, and a change only repaints the rectangle of the cells it
+ * touched. Revealing a row flips its tiles one after another and an invalid guess
+ * shakes the row. Both animations are driven by a Swing timer that only runs while
+ * something is moving.
+ *
+ * Where every cell, row and key is painted is worked out once whenever the
+ * component is resized, so painting a frame doesn't allocate anything.
+ *
+ * A game with several boards uses one component without a keyboard for every
+ * board, with smaller cells, and a single component with no rows for the keyboard.
+ *
+ * @author Luke Genova
+ *
+ */
+public class BoardComponent extends JComponent {
+
+	private static final long serialVersionUID = 1L;
+
+	/* States of a cell or key */
+	private static final byte EMPTY = 0;
+	private static final byte TYPED = 1;
+	private static final byte INCORRECT = 2;
+	private static final byte WRONG_INDEX = 3;
+	private static final byte CORRECT = 4;
+
+	/* Constants for the progress grid */
+	public static final int CELL_SIZE = 60;
+	private static final int CELL_GAP = 8;
+
+	/* Constants for the keyboard */
+	private static final int KEY_WIDTH = 30;
+	private static final int KEY_HEIGHT = 50;
+	private static final int KEY_GAP = 10;
+	private static final int SECTION_GAP = 30;
+	private static final String[] KEYBOARD_ROWS = {"QWERTYUIOP", "ASDFGHJKL", "ZXCVBNM"};
+
+	/* Constants for the animations */
+	private static final int FRAME_MILLIS = 16;
+	private static final long FLIP_NANOS = 300_000_000L;
+	private static final long FLIP_STAGGER_NANOS = 150_000_000L;
+	private static final long SHAKE_NANOS = 400_000_000L;
+	private static final int SHAKE_DISTANCE = 10;
+
+	/* Constants for colors, shared by every board */
+	private static final Color UNIQUE_YELLOW = new Color(201, 179, 95);
+	private static final Color UNIQUE_GREEN = new Color(108, 169, 103);
+	private static final Color UNIQUE_GRAY = new Color(120, 124, 126);
+	private static final Color KEY_BACKGROUND = new Color(220, 220, 220);
+	private static final Color FLAGGED_LETTER = new Color(200, 40, 40);
+	private static final Color[] STATE_COLORS = {Color.WHITE, Color.WHITE, UNIQUE_GRAY, UNIQUE_YELLOW, UNIQUE_GREEN};
+
+	private static final Font LETTER_FONT = new Font("Times New Roman", Font.PLAIN, 40);
+	private static final Font KEY_FONT = new Font("Times New Roman", Font.PLAIN, 20);
+	private static final Stroke BORDER = new BasicStroke(1);
+
+	/* The text of every letter, stored by alphabet index */
+	private static final String[] LETTER_TEXT = new String[26];
+
+	static {
+		for (int i = 0; i < LETTER_TEXT.length; i++) {
+			LETTER_TEXT[i] = String.valueOf((char) ('A' + i));
+		}
+	}
+
+	private final int rows;
+	private final int columns;
+	private final boolean showKeyboard;
+
+	/* Size of a cell and the gap between cells, in pixels */
+	private final int cellSize;
+	private final int cellGap;
+	private final Font letterFont;
+
+	/* Letter and state of every cell, stored at [row * columns + column] */
+	private final char[] letters;
+	private final byte[] cellStates;
+
+	/* State of every key, stored by alphabet index */
+	private final byte[] keyStates;
+
+	/* When each row started flipping or shaking, or 0 if it isn't */
+	private final long[] flipStart;
+	private final long[] shakeStart;
+
+	/* Where each cell is painted, stored at [row * columns + column] */
+	private final Rectangle[] cellBounds;
+
+	/* Where each row can be painted, including how far it moves when it shakes */
+	private final Rectangle[] rowBounds;
+
+	/* Where each key is painted, stored by alphabet index */
+	private final Rectangle[] keyBounds;
+
+	/* Scratch rectangles of the frame being painted, only used by the Event Dispatch Thread */
+	private final Rectangle clip = new Rectangle();
+	private final Rectangle tile = new Rectangle();
+
+	/* Row whose typed letters can't start a word, or -1 if there is none */
+	private int flaggedRow = -1;
+
+	private final Timer timer;
+
+	/**
+	 * BoardComponent constructor for a board with a keyboard and full size cells.
+	 *
+	 * @param rows The number of guesses.
+	 * @param columns The number of letters in a word.
+	 */
+	public BoardComponent(int rows, int columns) {
+		this(rows, columns, true, CELL_SIZE);
+	}
+
+	/**
+	 * BoardComponent constructor.
+	 *
+	 * @param rows The number of guesses, or 0 to only paint the keyboard.
+	 * @param columns The number of letters in a word.
+	 * @param showKeyboard A boolean of whether the keyboard is painted under the grid.
+	 * @param cellSize The size of a cell of the grid in pixels, at most CELL_SIZE.
+	 */
+	public BoardComponent(int rows, int columns, boolean showKeyboard, int cellSize) {
+		this.rows = rows;
+		this.columns = columns;
+		this.showKeyboard = showKeyboard;
+		this.cellSize = cellSize;
+		this.cellGap = Math.max(2, CELL_GAP * cellSize / CELL_SIZE);
+		this.letterFont = LETTER_FONT.deriveFont(LETTER_FONT.getSize2D() * cellSize / CELL_SIZE);
+		this.letters = new char[rows * columns];
+		this.cellStates = new byte[rows * columns];
+		this.keyStates = new byte[26];
+		this.flipStart = new long[rows];
+		this.shakeStart = new long[rows];
+		this.cellBounds = newRectangles(rows * columns);
+		this.rowBounds = newRectangles(rows);
+		this.keyBounds = newRectangles(26);
+		this.timer = new Timer(FRAME_MILLIS, e -> animate());
+		setOpaque(true);
+		setBackground(Color.WHITE);
+		int keyboardWidth = showKeyboard ? KEYBOARD_ROWS[0].length() * (KEY_WIDTH + KEY_GAP) : 0;
+		int keyboardHeight = showKeyboard ? SECTION_GAP + KEYBOARD_ROWS.length * (KEY_HEIGHT + KEY_GAP) : 0;
+		setPreferredSize(new Dimension(Math.max(gridWidth(), keyboardWidth), gridHeight() + keyboardHeight));
+		layOut();
+	}
+
+	@Override
+	public void setBounds(int x, int y, int width, int height) {
+		boolean resized = width != getWidth() || height != getHeight();
+		super.setBounds(x, y, width, height);
+		if (resized) {
+			layOut();
+		}
+	}
+
+	/**
+	 * Works out where every cell, row and key is painted for the current width.
+	 * The grid and every row of the keyboard are centered.
+	 */
+	private void layOut() {
+		int left = (getWidth() - gridWidth()) / 2;
+		for (int row = 0; row < rows; row++) {
+			int y = cellGap + row * (cellSize + cellGap);
+			for (int column = 0; column < columns; column++) {
+				cellBounds[row * columns + column].setBounds(left + cellGap + column * (cellSize + cellGap), 
+						y, cellSize, cellSize);
+			}
+			rowBounds[row].setBounds(left + cellGap - SHAKE_DISTANCE, y, 
+					columns * (cellSize + cellGap) - cellGap + 2 * SHAKE_DISTANCE, cellSize);
+		}
+
+		int top = gridHeight() + SECTION_GAP;
+		for (int i = 0; i < KEYBOARD_ROWS.length; i++) {
+			String keys = KEYBOARD_ROWS[i];
+			int keysLeft = (getWidth() - keys.length() * (KEY_WIDTH + KEY_GAP) + KEY_GAP) / 2;
+			for (int j = 0; j < keys.length(); j++) {
+				keyBounds[keys.charAt(j) - 'A'].setBounds(keysLeft + j * (KEY_WIDTH + KEY_GAP), 
+						top + i * (KEY_HEIGHT + KEY_GAP), KEY_WIDTH, KEY_HEIGHT);
+			}
+		}
+	}
+
+	/**
+	 * Shows a letter the user typed in a cell.
+	 *
+	 * @param row The row of the cell.
+	 * @param column The column of the cell.
+	 * @param letter The letter that was typed.
+	 */
+	public void setLetter(int row, int column, char letter) {
+		int cell = row * columns + column;
+		letters[cell] = Character.toUpperCase(letter);
+		cellStates[cell] = TYPED;
+		repaint(rowBounds[row]);
+	}
+
+	/**
+	 * Removes the letter of a cell.
+	 *
+	 * @param row The row of the cell.
+	 * @param column The column of the cell.
+	 */
+	public void clearLetter(int row, int column) {
+		int cell = row * columns + column;
+		letters[cell] = 0;
+		cellStates[cell] = EMPTY;
+		repaint(rowBounds[row]);
+	}
+
+	/**
+	 * Paints the typed letters of a row in red to show that no word starts with
+	 * them, or stops doing so. Only one row can be flagged at a time.
+	 *
+	 * @param row The row to flag, or -1 to not flag any row.
+	 */
+	public void setFlaggedRow(int row) {
+		if (row == flaggedRow) {
+			return;
+		}
+		if (flaggedRow >= 0) {
+			repaint(rowBounds[flaggedRow]);
+		}
+		flaggedRow = row;
+		if (row >= 0) {
+			repaint(rowBounds[row]);
+		}
+	}
+
+	/**
+	 * Colors the cells of a row by the results of a guess and flips them over.
+	 *
+	 * @param row The row of the guess.
+	 * @param guess The guess.
+	 * @param results The result of every letter of the guess.
+	 */
+	public void revealRow(int row, String guess, INDEX_RESULT[] results) {
+		for (int column = 0; column < columns; column++) {
+			int cell = row * columns + column;
+			letters[cell] = Character.toUpperCase(guess.charAt(column));
+			cellStates[cell] = stateOf(results[column]);
+		}
+		flipStart[row] = System.nanoTime();
+		timer.start();
+		repaint(rowBounds[row]);
+	}
+
+	/**
+	 * Shakes a row to show that its guess wasn't accepted.
+	 *
+	 * @param row The row to shake.
+	 */
+	public void shakeRow(int row) {
+		shakeStart[row] = System.nanoTime();
+		timer.start();
+	}
+
+	/**
+	 * Colors a key of the keyboard.
+	 *
+	 * @param alphabetIndex The alphabet index of the letter, 0 for 'a'.
+	 * @param result The result of the letter.
+	 */
+	public void setKeyState(int alphabetIndex, INDEX_RESULT result) {
+		keyStates[alphabetIndex] = stateOf(result);
+		if (showKeyboard) {
+			repaint(keyBounds[alphabetIndex]);
+		}
+	}
+
+	/**
+	 * Moves the animations forward by one frame and repaints the rows that are
+	 * moving. The timer stops once nothing is moving.
+	 */
+	private void animate() {
+		long now = System.nanoTime();
+		boolean moving = false;
+		for (int row = 0; row < rows; row++) {
+			boolean rowMoving = false;
+			if (flipStart[row] != 0) {
+				if (now - flipStart[row] > FLIP_STAGGER_NANOS * (columns - 1) + FLIP_NANOS) {
+					flipStart[row] = 0;
+				}
+				rowMoving = true;
+			}
+			if (shakeStart[row] != 0) {
+				if (now - shakeStart[row] > SHAKE_NANOS) {
+					shakeStart[row] = 0;
+				}
+				rowMoving = true;
+			}
+			if (rowMoving) {
+				repaint(rowBounds[row]);
+				moving = true;
+			}
+		}
+		if (!moving) {
+			timer.stop();
+		}
+	}
+
+	@Override
+	protected void paintComponent(Graphics graphics) {
+		// Paints with the graphics it is given instead of a copy, and puts back
+		// everything it changes so the rest of the window paints as before.
+		Graphics2D g = (Graphics2D) graphics;
+		Object antialiasing = g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+		Color color = g.getColor();
+		Font font = g.getFont();
+		Stroke stroke = g.getStroke();
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		try {
+			paintBoard(g);
+		} finally {
+			if (antialiasing != null) {
+				g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antialiasing);
+			}
+			g.setColor(color);
+			g.setFont(font);
+			g.setStroke(stroke);
+		}
+	}
+
+	/**
+	 * Paints the rows and keys that are inside the clip.
+	 *
+	 * @param g The graphics to paint with.
+	 */
+	private void paintBoard(Graphics2D g) {
+		// Without a clip the whole component is painted.
+		clip.setBounds(0, 0, getWidth(), getHeight());
+		g.getClipBounds(clip);
+		g.setColor(getBackground());
+		g.fill(clip);
+
+		long now = System.nanoTime();
+		g.setFont(letterFont);
+		for (int row = 0; row < rows; row++) {
+			if (rowBounds[row].intersects(clip)) {
+				paintRow(g, row, now);
+			}
+		}
+
+		if (!showKeyboard) {
+			return;
+		}
+		g.setFont(KEY_FONT);
+		for (int letter = 0; letter < keyBounds.length; letter++) {
+			if (keyBounds[letter].intersects(clip)) {
+				paintKey(g, keyBounds[letter], (char) ('A' + letter), keyStates[letter]);
+			}
+		}
+	}
+
+	/**
+	 * Paints every cell of a row, including the flip and shake animations.
+	 *
+	 * @param g The graphics to paint with.
+	 * @param row The row to paint.
+	 * @param now The System.nanoTime() of the frame.
+	 */
+	private void paintRow(Graphics2D g, int row, long now) {
+		int offset = 0;
+		if (shakeStart[row] != 0) {
+			double progress = Math.min(1, (now - shakeStart[row]) / (double) SHAKE_NANOS);
+			offset = (int) Math.round(SHAKE_DISTANCE * Math.sin(progress * Math.PI * 6) * (1 - progress));
+		}
+
+		for (int column = 0; column < columns; column++) {
+			Rectangle cell = cellBounds[row * columns + column];
+			byte state = cellStates[row * columns + column];
+
+			// A flipping tile shrinks to a line and grows back, showing its color
+			// only for the second half of the flip.
+			double scale = 1;
+			if (flipStart[row] != 0) {
+				double progress = (now - flipStart[row] - column * FLIP_STAGGER_NANOS) / (double) FLIP_NANOS;
+				if (progress < 0.5) {
+					state = TYPED;
+				}
+				if (progress > 0 && progress < 1) {
+					scale = Math.abs(Math.cos(progress * Math.PI));
+				}
+			}
+			int height = (int) Math.round(cell.height * scale);
+			tile.setBounds(cell.x + offset, cell.y + (cell.height - height) / 2, cell.width, height);
+
+			g.setColor(STATE_COLORS[state]);
+			g.fill(tile);
+			if (state == EMPTY || state == TYPED) {
+				g.setColor(state == TYPED ? typedColor(row) : Color.GRAY);
+				g.setStroke(BORDER);
+				g.drawRect(tile.x, tile.y, tile.width - 1, Math.max(0, tile.height - 1));
+			}
+			char letter = letters[row * columns + column];
+			if (letter != 0 && scale > 0.2) {
+				g.setColor(state == TYPED ? typedColor(row) : Color.WHITE);
+				drawCentered(g, letter, tile);
+			}
+		}
+	}
+
+	/**
+	 * Returns the color of the border and letter of a typed cell.
+	 *
+	 * @param row The row of the cell.
+	 * @return Red if the row is flagged, black otherwise.
+	 */
+	private Color typedColor(int row) {
+		return row == flaggedRow ? FLAGGED_LETTER : Color.BLACK;
+	}
+
+	/**
+	 * Paints a single key of the keyboard.
+	 *
+	 * @param g The graphics to paint with.
+	 * @param bounds Where the key is painted.
+	 * @param letter The letter of the key.
+	 * @param state The state of the key.
+	 */
+	private static void paintKey(Graphics2D g, Rectangle bounds, char letter, byte state) {
+		g.setColor(state == EMPTY ? KEY_BACKGROUND : STATE_COLORS[state]);
+		g.fill(bounds);
+		g.setColor(state == EMPTY ? Color.BLACK : Color.WHITE);
+		drawCentered(g, letter, bounds);
+	}
+
+	private static void drawCentered(Graphics2D g, char letter, Rectangle bounds) {
+		FontMetrics metrics = g.getFontMetrics();
+		String text = letter >= 'A' && letter <= 'Z' ? LETTER_TEXT[letter - 'A'] : String.valueOf(letter);
+		int x = bounds.x + (bounds.width - metrics.stringWidth(text)) / 2;
+		int y = bounds.y + (bounds.height - metrics.getHeight()) / 2 + metrics.getAscent();
+		g.drawString(text, x, y);
+	}
+
+	private static Rectangle[] newRectangles(int count) {
+		Rectangle[] rectangles = new Rectangle[count];
+		for (int i = 0; i < count; i++) {
+			rectangles[i] = new Rectangle();
+		}
+		return rectangles;
+	}
+
+	private int gridWidth() {
+		return columns * (cellSize + cellGap) + cellGap;
+	}
+
+	private int gridHeight() {
+		return rows * (cellSize + cellGap) + cellGap;
+	}
+
+	private static byte stateOf(INDEX_RESULT result) {
+		if (result == INDEX_RESULT.CORRECT) {
+			return CORRECT;
+		} else if (result == INDEX_RESULT.CORRECT_WRONG_INDEX) {
+			return WRONG_INDEX;
+		} else {
+			return INCORRECT;
+		}
+	}
+
+}
@@ -0,0 +1,295 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.List;
+import controller.MultiBoardController;
+import metrics.Metrics;
+import model.BoardsScored;
+import model.BoardsListener;
+import model.MultiBoardModel;
+import utilities.GameMode;
+import utilities.Guess;
+import javax.swing.*;
+import java.awt.*;  
+import java.awt.event.*; 
+
+/**
+ *
+ * This class represents the GUI of a game with several boards. Every board is
+ * painted by its own BoardComponent with cells that are small enough for all of
+ * the boards to fit in the window, and a single keyboard is painted under them.
+ * The letters the user types are shown on every board that hasn't been solved.
+ * 
+ * Like the classic GUI, guesses are worked out on the game logic thread and the
+ * results are sent back to the Event Dispatch Thread in a single update.
+ * 
+ * @author Luke Genova
+ *
+ */
+public class MultiBoardGUIView extends JFrame implements BoardsListener {
+
+	private static final long serialVersionUID = 1L;
+
+	/* Largest area the boards may take up, in pixels */
+	private static final int MAX_BOARDS_WIDTH = 1200;
+	private static final int MAX_BOARDS_HEIGHT = 640;
+
+	/* Smallest size of a cell, so that letters can still be read */
+	private static final int MIN_CELL_SIZE = 12;
+
+	private static final int FRAME_MARGIN = 100;
+
+	/* Font of the label that shows how many boards are solved */
+	private static final Font CHARACTER_FONT = new Font("Times New Roman", Font.PLAIN, 20);
+
+	private final int boardCount;
+	private final GameMode mode;
+
+	private MultiBoardController controller;
+
+	/* Keeps track of the user's input */
+	private String curGuess;
+	private int curRow;
+
+	/* Paints every board and the shared keyboard */
+	private BoardComponent[] boards;
+	private BoardComponent keyboard;
+
+	/* Which boards are solved, only used by the Event Dispatch Thread */
+	private boolean[] solved;
+	private int solvedCount;
+
+	/* Shows how many boards are solved */
+	private JLabel solvedLabel;
+
+	/* Events of the guess being worked out, only used by the game logic thread */
+	private final List<BoardsScored> scoredEvents = new ArrayList<BoardsScored>();
+
+	/* State of the game logic, only used by the Event Dispatch Thread */
+	private boolean guessPending;
+	private boolean gameOver;
+
+	/**
+	 * MultiBoardGUIView constructor.
+	 * 
+	 * @param boardCount The number of boards of every game.
+	 * @param mode The word length and number of guesses of every game.
+	 */
+	public MultiBoardGUIView(int boardCount, GameMode mode) {
+		this.boardCount = boardCount;
+		this.mode = mode;
+		start();
+	}
+
+	/**
+	 * This private method is called by the constructor of the Frame and it 
+	 * sets up the GUI.
+	 */
+	private void start() {
+		MultiBoardModel model = new MultiBoardModel(boardCount, mode);
+		// The model calls this on the game logic thread, the events are sent to
+		// the Event Dispatch Thread once the guess is done.
+		model.addListener(scoredEvents::add);
+		controller = new MultiBoardController(model);
+		curGuess = "";
+		curRow = 0;
+		solved = new boolean[boardCount];
+		solvedCount = 0;
+		setTitle("Wordle (" + boardCount + " boards)");
+		setLayout(new BorderLayout());
+
+		// Lays the boards out in a grid that is wider than it is tall, with cells
+		// that are small enough for the grid to fit.
+		int gridColumns = Math.min(boardCount, (int) Math.ceil(Math.sqrt(boardCount * 2.0)));
+		int gridRows = (boardCount + gridColumns - 1) / gridColumns;
+		int cellSize = Math.min(BoardComponent.CELL_SIZE, Math.min(
+				MAX_BOARDS_WIDTH / gridColumns / (mode.getWordLength() + 1), 
+				MAX_BOARDS_HEIGHT / gridRows / (mode.getGuessLimit() + 1)));
+		cellSize = Math.max(MIN_CELL_SIZE, cellSize);
+
+		JPanel boardPanel = new JPanel(new GridLayout(gridRows, gridColumns));
+		boardPanel.setBackground(Color.WHITE);
+		boards = new BoardComponent[boardCount];
+		for (int i = 0; i < boardCount; i++) {
+			boards[i] = new BoardComponent(mode.getGuessLimit(), mode.getWordLength(), false, cellSize);
+			boardPanel.add(boards[i]);
+		}
+		this.add(boardPanel, BorderLayout.CENTER);
+
+		keyboard = new BoardComponent(0, 0, true, BoardComponent.CELL_SIZE);
+		this.add(keyboard, BorderLayout.SOUTH);
+
+		solvedLabel = new JLabel("", SwingConstants.CENTER);
+		solvedLabel.setFont(CHARACTER_FONT);
+		updateSolvedLabel();
+		this.add(solvedLabel, BorderLayout.NORTH);
+
+		Dimension boardSize = boardPanel.getPreferredSize();
+		Dimension keyboardSize = keyboard.getPreferredSize();
+		setSize(Math.max(boardSize.width, keyboardSize.width) + FRAME_MARGIN, 
+				boardSize.height + keyboardSize.height + FRAME_MARGIN);
+
+		// Event listener for when the window has closed.
+		this.addWindowListener(new WindowAdapter() {
+			public void windowClosing(WindowEvent windowEvent){
+				System.exit(0);
+			}
+		});
+
+		// Event Listener for Keyboard inputs.
+		this.addKeyListener(new KeyAdapter() {
+			@Override
+			public void keyReleased(KeyEvent key) {
+				// When the game is over or a guess is being worked out. No more 
+				// text should be processed.
+				if (gameOver || guessPending) {
+					return;
+				}
+
+				// Checks if the user pressed delete or backspace (in order to delete a character for a guess)
+				if (key.getKeyCode() == KeyEvent.VK_DELETE || key.getKeyCode() == KeyEvent.VK_BACK_SPACE) {
+					if (curGuess.length() != 0) {
+						curGuess = curGuess.substring(0, curGuess.length()-1);
+						for (int i = 0; i < boardCount; i++) {
+							if (!solved[i]) {
+								boards[i].clearLetter(curRow, curGuess.length());
+							}
+						}
+					}
+
+				// Checks if the user pressed enter (in order to enter a guess)
+				} else if (key.getKeyCode() == KeyEvent.VK_ENTER) {
+					submitGuess(curGuess);
+				} else {
+					char letter = (char) key.getKeyCode();
+
+					// Makes sure that the current guess isn't longer than the word length and 
+					// that the input isn't anything other than a letter. 
+					if (curGuess.length() < mode.getWordLength() 
+							&& ((letter >= 'a' && letter <= 'z') || (letter >= 'A' && letter <= 'Z'))) {
+						for (int i = 0; i < boardCount; i++) {
+							if (!solved[i]) {
+								boards[i].setLetter(curRow, curGuess.length(), letter);
+							}
+						}
+						curGuess += letter;
+					}
+				}
+			}
+		});
+
+		setVisible(true);
+	}
+
+	/**
+	 * This private method sends a guess to the controller on the game logic thread.
+	 * Once the guess has been worked out, the changes it made and the result are 
+	 * applied on the Event Dispatch Thread in a single update.
+	 * 
+	 * @param guess a string that contains the user's guess to the game.
+	 */
+	private void submitGuess(String guess) {
+		guessPending = true;
+		WordleGUIView.GAME_LOGIC.execute(() -> {
+			String error = controller.tryGuess(guess).getMessage();
+			List<BoardsScored> events = new ArrayList<BoardsScored>(scoredEvents);
+			scoredEvents.clear();
+			boolean over = controller.isGameOver();
+			boolean won = controller.isWon();
+			String[] answers = controller.getAnswers();
+			String message = error;
+			SwingUtilities.invokeLater(() -> guessFinished(events, message, over, won, answers));
+		});
+	}
+
+	/**
+	 * This private method applies the result of a guess. It is called on the
+	 * Event Dispatch Thread.
+	 * 
+	 * @param events the changes the guess made, empty if the guess was invalid.
+	 * @param error a string explaining why the guess was invalid, or null.
+	 * @param over a boolean of whether the game is over.
+	 * @param won a boolean of whether every board was solved.
+	 * @param answers the answer of every board.
+	 */
+	private void guessFinished(List<BoardsScored> events, String error, boolean over, boolean won, 
+			String[] answers) {
+		guessPending = false;
+		if (error != null) {
+			for (int i = 0; i < boardCount; i++) {
+				if (!solved[i]) {
+					boards[i].shakeRow(curRow);
+				}
+			}
+			JOptionPane.showMessageDialog(this, error, "Error", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		long start = Metrics.startTimer();
+		for (BoardsScored event : events) {
+			boardsScored(event);
+		}
+		Metrics.VIEW_UPDATE.recordSince(start);
+		curGuess = "";
+		curRow++;
+		if (over) {
+			gameOver = true;
+			String content = won ? "Good game! You solved every board." 
+					: "Good game! The words were " + String.join(", ", answers).toUpperCase();
+			showGameOver(content);
+		}
+	}
+
+	/**
+	 * This method is called when the model has scored a guess on every board. Only
+	 * the row of the guess on the boards that were played and the keys of the
+	 * letters that changed are repainted.
+	 * 
+	 * @param event the changes the guess made.
+	 */
+	@Override
+	public void boardsScored(BoardsScored event) {
+		for (int i = 0; i < event.getBoardCount(); i++) {
+			Guess result = event.getResult(i);
+			if (result == null) {
+				continue;
+			}
+			boards[i].revealRow(event.getRow(), result.getGuess(), result.getIndices());
+			if (result.getIsCorrect()) {
+				solved[i] = true;
+				solvedCount++;
+			}
+		}
+		for (int i = 0; i < event.getChangedLetterCount(); i++) {
+			keyboard.setKeyState(event.getChangedLetter(i), event.getChangedResult(i));
+		}
+		updateSolvedLabel();
+	}
+
+	/**
+	 * This private method updates the label that shows how many boards are solved.
+	 */
+	private void updateSolvedLabel() {
+		solvedLabel.setText(solvedCount + " of " + boardCount + " boards solved");
+	}
+
+	/**
+	 * This private method asks the user if they want to play again.
+	 * 
+	 * @param content a string representing the content text of the alert.
+	 */
+	private void showGameOver(String content) {
+		String[] options = {"Restart", "Exit Game"};
+		int result = JOptionPane.showOptionDialog(this, content, "Game Over", 
+				JOptionPane.YES_NO_OPTION, JOptionPane.INFORMATION_MESSAGE, 
+				null, options, options[0]);
+		if (result == JOptionPane.YES_OPTION) {
+			// Play a new game
+			new MultiBoardGUIView(boardCount, mode);
+			this.dispose();
+		}
+		if (result == JOptionPane.NO_OPTION) {
+			System.exit(0);
+		}
+	}
+
+}
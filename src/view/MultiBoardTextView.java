@@ -0,0 +1,150 @@
+package view;
+
+import java.io.PrintStream;
+
+import controller.MultiBoardController;
+import metrics.Metrics;
+import model.BoardsListener;
+import model.BoardsScored;
+import model.MultiBoardModel;
+import utilities.Constants;
+import utilities.GameMode;
+import utilities.Guess;
+import utilities.INDEX_RESULT;
+import utilities.GuessCheck;
+
+/**
+ *
+ * This class represents the text based UI of a game with several boards. It
+ * works like the classic text UI, except that the progress of every board is
+ * printed next to each other after every guess. A board that is solved stays
+ * blank for the rest of the game.
+ * 
+ * @author Luke Genova
+ *
+ */
+public class MultiBoardTextView implements BoardsListener {
+	
+	private final int boards;
+	private final GameMode mode;
+	
+	/* The view's own copy of the progress of every board, filled in from events */
+	private Guess[][] progress;
+	
+	/* The view's own copy of the result of each letter, filled in from events */
+	private INDEX_RESULT[] guessedCharacters;
+	
+	/* Draws every frame into the same buffer */
+	private final TextRenderer renderer = new TextRenderer(false);
+	
+	/* Every line is written through the shared buffered output */
+	private final PrintStream out = TextConsole.OUT;
+	
+	/**
+	 * MultiBoardTextView constructor.
+	 * 
+	 * @param boards The number of boards of every game.
+	 * @param mode The word length and number of guesses of every game.
+	 */
+	public MultiBoardTextView(int boards, GameMode mode) {
+		this.boards = boards;
+		this.mode = mode;
+	}
+	
+	/**
+	 * Turns ANSI colours on or off for the boards and the letters.
+	 * 
+	 * @param color A boolean of whether to use ANSI colours.
+	 */
+	public void setColor(boolean color) {
+		renderer.setColor(color);
+	}
+	
+	/**
+	 * This method starts the text UI of the multi board game.
+	 */
+	public void run() {
+		boolean keepPlaying  = true;
+		
+		// Keeps looping until the user doesn't want to play anymore.
+		while (keepPlaying) {
+			MultiBoardModel model = new MultiBoardModel(boards, mode);
+			MultiBoardController controller = new MultiBoardController(model);
+			
+			progress = new Guess[boards][mode.getGuessLimit()];
+			guessedCharacters = new INDEX_RESULT[Constants.LETTERS_IN_ALPHABET];
+			model.addListener(this);
+			
+			while (!controller.isGameOver()) {
+				String guess = TextConsole.readLine("Enter a guess: ");
+				if (guess == null) {
+					out.flush();
+					return;
+				}
+				GuessCheck check = controller.tryGuess(guess);
+				if (!check.isValid()) {
+					out.println(check.getMessage());
+					out.println("");
+				}
+			}
+			
+			if (controller.isWon()) {
+				out.println("Good game! You solved every board.");
+			} else {
+				out.println("Good game! The words were " 
+						+ String.join(", ", controller.getAnswers()).toUpperCase());
+			}
+			
+			// Ask the user if they want to play again, if not then the main loop would
+			// stop which ends the program.
+			boolean questionAnswered = false;
+			while (!questionAnswered) {
+				String line = TextConsole.readLine("Would you like to play again?(yes/no) ");
+				String play_again = line == null ? "no" : line.toLowerCase();
+				questionAnswered = WordleTextView.answeredQuestion(play_again);
+				if (play_again.equals("no")) {
+					keepPlaying = false;
+				}
+			}
+		}
+		out.flush();
+	}
+	
+	/**
+	 * This method is called when the model has scored a guess on every board.
+	 * Only the row of the guess and the letters that changed are copied into the view.
+	 *
+	 * @param event the changes the guess made.
+	 */
+	@Override
+	public void boardsScored(BoardsScored event) {
+		long start = Metrics.startTimer();
+		for (int board = 0; board < event.getBoardCount(); board++) {
+			if (event.getResult(board) != null) {
+				progress[board][event.getRow()] = event.getResult(board);
+			}
+		}
+		for (int i = 0; i < event.getChangedLetterCount(); i++) {
+			guessedCharacters[event.getChangedLetter(i)] = event.getChangedResult(i);
+		}
+		renderer.clear().boards(progress, mode.getWordLength()).line("")
+				.guessedCharacters(guessedCharacters).line("").line("").flushTo(out);
+		Metrics.VIEW_UPDATE.recordSince(start);
+	}
+	
+	/**
+	 * This function prints out the current results of every board next to each
+	 * other, using the same letters as the classic text UI. Rows after a board
+	 * was solved are left blank.
+	 * 
+	 * @param progress An array holding the guesses of every board, stored at [board][row].
+	 * @param wordLength The number of letters in a word.
+	 * @return a string that contains the progress grid of every board.
+	 */
+	public static String printBoards(Guess[][] progress, int wordLength) {
+		StringBuilder result = new StringBuilder();
+		TextRenderer.appendBoards(result, progress, wordLength, false);
+		return result.toString();
+	}
+
+}
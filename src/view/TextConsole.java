@@ -0,0 +1,46 @@
+package view;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+
+/**
+ *
+ * This class holds the input and output that every text UI shares. Standard
+ * input is read through a single buffered reader, so lines that were piped in
+ * faster than they are read are never lost between prompts. Output goes through
+ * a buffered stream that is only flushed when the user is asked for input, so a
+ * whole frame is written to the terminal at once.
+ *
+ * @author Luke Genova
+ *
+ */
+final class TextConsole {
+
+	/* Buffered standard output, flushed before every prompt */
+	static final PrintStream OUT = new PrintStream(new BufferedOutputStream(System.out, 1 << 13), false);
+
+	private static final BufferedReader IN = new BufferedReader(new InputStreamReader(System.in));
+
+	private TextConsole() {
+	}
+
+	/**
+	 * Prints a prompt and reads the line the user types.
+	 *
+	 * @param prompt A string to print before reading.
+	 * @return The line without the line break, or null once standard input has ended.
+	 */
+	static String readLine(String prompt) {
+		OUT.print(prompt);
+		OUT.flush();
+		try {
+			return IN.readLine();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,318 @@
+package view;
+
+import java.io.PrintStream;
+
+import utilities.Guess;
+import utilities.INDEX_RESULT;
+
+/**
+ *
+ * This class draws the text UI. A frame is drawn into a single StringBuilder
+ * that is reused for every frame, and then written to the output in one call
+ * and flushed. The letters of the keyboard are grouped by their result in a
+ * single pass over the alphabet.
+ *
+ * Without colour, the progress grid uses upper case letters for the correct
+ * index, lower case letters for the wrong index and underscores for everything
+ * else. With colour, every letter is shown on a green, yellow or grey background
+ * with ANSI escape codes, like the squares of the GUI.
+ *
+ * @author Luke Genova
+ *
+ */
+public final class TextRenderer {
+
+	/* ANSI escape codes of the colours */
+	private static final String GREEN = "\u001b[30;42m";
+	private static final String YELLOW = "\u001b[30;43m";
+	private static final String GREY = "\u001b[37;100m";
+	private static final String RESET = "\u001b[0m";
+
+	/* Number of boards that are printed next to each other */
+	private static final int BOARDS_PER_LINE = 8;
+
+	/* Printed between two boards */
+	private static final String BOARD_GAP = "    ";
+
+	private final StringBuilder frame = new StringBuilder(1024);
+
+	/* The bytes of the last frame, reused while the frames don't get larger */
+	private byte[] bytes = new byte[1024];
+
+	private boolean color;
+
+	/**
+	 * TextRenderer constructor.
+	 *
+	 * @param color A boolean of whether to use ANSI colours.
+	 */
+	public TextRenderer(boolean color) {
+		this.color = color;
+	}
+
+	/**
+	 * Turns the ANSI colours on or off.
+	 *
+	 * @param color A boolean of whether to use ANSI colours.
+	 */
+	public void setColor(boolean color) {
+		this.color = color;
+	}
+
+	/**
+	 * Starts a new frame, throwing away what was drawn before.
+	 *
+	 * @return The renderer.
+	 */
+	public TextRenderer clear() {
+		frame.setLength(0);
+		return this;
+	}
+
+	/**
+	 * Draws the progress grid of a game.
+	 *
+	 * @param progress An array holding the guesses of the game, where future guesses are null.
+	 * @param wordLength The number of letters in a word.
+	 * @return The renderer.
+	 */
+	public TextRenderer progress(Guess[] progress, int wordLength) {
+		appendProgress(frame, progress, wordLength, color);
+		return this;
+	}
+
+	/**
+	 * Draws the progress grids of several boards next to each other.
+	 *
+	 * @param progress An array holding the guesses of every board, stored at [board][row].
+	 * @param wordLength The number of letters in a word.
+	 * @return The renderer.
+	 */
+	public TextRenderer boards(Guess[][] progress, int wordLength) {
+		appendBoards(frame, progress, wordLength, color);
+		return this;
+	}
+
+	/**
+	 * Draws the result of every letter of the alphabet.
+	 *
+	 * @param guessedCharacters An array of the result of each letter, null if it wasn't guessed.
+	 * @return The renderer.
+	 */
+	public TextRenderer guessedCharacters(INDEX_RESULT[] guessedCharacters) {
+		appendGuessedCharacters(frame, guessedCharacters, color);
+		return this;
+	}
+
+	/**
+	 * Adds a line of text to the frame.
+	 *
+	 * @param line A string of the line, without the line break.
+	 * @return The renderer.
+	 */
+	public TextRenderer line(String line) {
+		frame.append(line).append('\n');
+		return this;
+	}
+
+	/**
+	 * Returns the frame that was drawn so far.
+	 *
+	 * @return The builder of the frame, which is reused by the next frame.
+	 */
+	public CharSequence getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Writes the frame to an output in a single call and flushes it. Frames only
+	 * hold ASCII characters, so they are copied to bytes without an encoder.
+	 *
+	 * @param out The output to write to.
+	 */
+	public void flushTo(PrintStream out) {
+		int length = frame.length();
+		if (bytes.length < length) {
+			bytes = new byte[Math.max(length, bytes.length * 2)];
+		}
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) frame.charAt(i);
+		}
+		out.write(bytes, 0, length);
+		out.flush();
+	}
+
+	/**
+	 * Appends the progress grid of a game.
+	 *
+	 * @param out The builder to append to.
+	 * @param progress An array holding the guesses of the game, where future guesses are null.
+	 * @param wordLength The number of letters in a word, used for the rows that haven't been guessed yet.
+	 * @param color A boolean of whether to use ANSI colours.
+	 */
+	static void appendProgress(StringBuilder out, Guess[] progress, int wordLength, boolean color) {
+		for (int row = 0; row < progress.length; row++) {
+			appendRow(out, progress[row], wordLength, false, color);
+			out.append('\n');
+		}
+		out.append('\n');
+	}
+
+	/**
+	 * Appends the progress grids of several boards next to each other. Rows after
+	 * a board was solved are left blank.
+	 *
+	 * @param out The builder to append to.
+	 * @param progress An array holding the guesses of every board, stored at [board][row].
+	 * @param wordLength The number of letters in a word.
+	 * @param color A boolean of whether to use ANSI colours.
+	 */
+	static void appendBoards(StringBuilder out, Guess[][] progress, int wordLength, boolean color) {
+		for (int first = 0; first < progress.length; first += BOARDS_PER_LINE) {
+			int last = Math.min(progress.length, first + BOARDS_PER_LINE);
+			int rows = progress[first].length;
+			for (int row = 0; row < rows; row++) {
+				for (int board = first; board < last; board++) {
+					if (board != first) {
+						out.append(BOARD_GAP);
+					}
+					Guess[] boardProgress = progress[board];
+					boolean solved = boardProgress[row] == null && row > 0 && isSolvedBefore(boardProgress, row);
+					appendRow(out, boardProgress[row], wordLength, solved, color);
+				}
+				out.append('\n');
+			}
+			out.append('\n');
+		}
+	}
+
+	/**
+	 * Appends a single row of a grid.
+	 *
+	 * @param out The builder to append to.
+	 * @param guess The guess of the row, or null if it wasn't made.
+	 * @param wordLength The number of letters in a word.
+	 * @param blank A boolean of whether an empty row is left blank instead of showing underscores.
+	 * @param color A boolean of whether to use ANSI colours.
+	 */
+	private static void appendRow(StringBuilder out, Guess guess, int wordLength, boolean blank, boolean color) {
+		if (guess == null) {
+			String cell = color ? (blank ? "   " : " _ ") : (blank ? "  " : "_ ");
+			for (int j = 0; j < wordLength; j++) {
+				out.append(cell);
+			}
+			return;
+		}
+		INDEX_RESULT[] indices = guess.getIndices();
+		String word = guess.getGuess();
+		for (int j = 0; j < word.length(); j++) {
+			char letter = word.charAt(j);
+			if (color) {
+				out.append(colorOf(indices[j])).append(' ').append(Character.toUpperCase(letter)).append(' ')
+						.append(RESET);
+			} else if (indices[j] == INDEX_RESULT.CORRECT) {
+				out.append(Character.toUpperCase(letter)).append(' ');
+			} else if (indices[j] == INDEX_RESULT.CORRECT_WRONG_INDEX) {
+				out.append(Character.toLowerCase(letter)).append(' ');
+			} else {
+				out.append("_ ");
+			}
+		}
+	}
+
+	/**
+	 * Appends the letters of the alphabet grouped by their result. The letters
+	 * are sorted into a bit mask per category in one pass, and each category is
+	 * then printed from its mask in the order unguessed, incorrect, correct and
+	 * wrong index.
+	 *
+	 * @param out The builder to append to.
+	 * @param guessedCharacters An array of the result of each letter, null if it wasn't guessed.
+	 * @param color A boolean of whether to use ANSI colours.
+	 */
+	static void appendGuessedCharacters(StringBuilder out, INDEX_RESULT[] guessedCharacters, boolean color) {
+		int unguessed = 0;
+		int incorrect = 0;
+		int correct = 0;
+		int wrongIndex = 0;
+		for (int i = 0; i < guessedCharacters.length; i++) {
+			INDEX_RESULT result = guessedCharacters[i];
+			if (result == null) {
+				unguessed |= 1 << i;
+			} else if (result == INDEX_RESULT.INCORRECT) {
+				incorrect |= 1 << i;
+			} else if (result == INDEX_RESULT.CORRECT) {
+				correct |= 1 << i;
+			} else {
+				wrongIndex |= 1 << i;
+			}
+		}
+		appendCategory(out, "Unguessed", unguessed, null);
+		appendCategory(out, INDEX_RESULT.INCORRECT.getDescription(), incorrect, color ? GREY : null);
+		appendCategory(out, INDEX_RESULT.CORRECT.getDescription(), correct, color ? GREEN : null);
+		appendCategory(out, INDEX_RESULT.CORRECT_WRONG_INDEX.getDescription(), wrongIndex, color ? YELLOW : null);
+	}
+
+	/**
+	 * Appends the letters of a single category of the keyboard.
+	 *
+	 * @param out The builder to append to.
+	 * @param category A string of the name of the category.
+	 * @param mask A bit mask of the letters in the category, bit 0 for 'A'.
+	 * @param color The escape code of the letters, or null to not colour them.
+	 */
+	private static void appendCategory(StringBuilder out, String category, int mask, String color) {
+		if (mask == 0) {
+			return;
+		}
+		out.append(category).append(" [");
+		boolean first = true;
+		while (mask != 0) {
+			int letter = Integer.numberOfTrailingZeros(mask);
+			mask &= mask - 1;
+			if (!first) {
+				out.append(", ");
+			}
+			first = false;
+			if (color != null) {
+				out.append(color).append((char) ('A' + letter)).append(RESET);
+			} else {
+				out.append((char) ('A' + letter));
+			}
+		}
+		out.append("]\n");
+	}
+
+	/**
+	 * Returns the escape code of the colour of a result.
+	 *
+	 * @param result The result of a letter.
+	 * @return A string of the ANSI escape code.
+	 */
+	private static String colorOf(INDEX_RESULT result) {
+		if (result == INDEX_RESULT.CORRECT) {
+			return GREEN;
+		} else if (result == INDEX_RESULT.CORRECT_WRONG_INDEX) {
+			return YELLOW;
+		} else {
+			return GREY;
+		}
+	}
+
+	/**
+	 * Checks if a board was solved before a row.
+	 *
+	 * @param progress An array holding the guesses of the board.
+	 * @param row The row to check up to.
+	 * @return A boolean of whether one of the earlier guesses was correct.
+	 */
+	private static boolean isSolvedBefore(Guess[] progress, int row) {
+		for (int i = row - 1; i >= 0; i--) {
+			if (progress[i] != null) {
+				return progress[i].getIsCorrect();
+			}
+		}
+		return false;
+	}
+
+}
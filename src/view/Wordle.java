@@ -1,19 +1,64 @@
 package view;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import metrics.Metrics;
+import metrics.MetricsDumper;
+import model.AnswerSource;
+import model.MultiBoardModel;
+import persistence.GameStore;
+import server.GameService;
+import server.WordleServer;
+import model.WordleModel;
+import utilities.Constants;
+import utilities.GameMode;
+
 /**
  *
  * This is the main class of the entire Wordle program. It takes 
  * a command line argument through whatever means which determines what
  * UI will display when the game starts. 
  * 
- * The only two command arguments this program accepts:
+ * The command arguments that choose the UI:
  * 
  * First, -text which enables the text UI.
  * 
  * Second, -gui which enables the GUI.
  * 
+ * Third, -batch which plays games for other programs instead of a person. It
+ * reads the requests of the game server from STDIN, one per line, and writes
+ * one line of JSON per request to STDOUT. Any number of games can be played
+ * at once, and a game started without an answer uses the answer options below.
+ * 
  * ** If there is no command argument, the GUI version will be launched. **
  * 
+ * Either UI can also be given -letters N to play words of 4 to 11 letters,
+ * -guesses N to change the number of guesses and -boards N to play several
+ * boards at once (one more guess is given for every extra board by default).
+ * A single board game can be played in hard mode with -hard. Single board
+ * games are saved in the saves folder so that statistics are kept and an
+ * unfinished game is resumed, unless -nosave is given.
+ * 
+ * The answers of single board games can be chosen with -daily for today's
+ * puzzle, -seed N for the same sequence of games every time the seed is used,
+ * or -answer WORD for a game with a known answer.
+ * 
+ * The text UI draws the letters with ANSI colours when -color is given.
+ * 
+ * -metrics turns on the counters and timers of the game, which can also be
+ * turned on and read through the MBean wordle:type=Metrics while the game runs.
+ * -metricsfile FILE turns them on and writes them to FILE every 10 seconds, as
+ * JSON if the name ends in .json and as text otherwise.
+ * 
  * @author Luke Genova
  *
  */
@@ -23,24 +68,272 @@ public class Wordle {
 	
 	private static final String GRAPHICSUI = "-gui";
 
+	private static final String LETTERS = "-letters";
+
+	private static final String GUESSES = "-guesses";
+
+	private static final String BOARDS = "-boards";
+
+	private static final String HARD = "-hard";
+
+	private static final String NO_SAVE = "-nosave";
+
+	private static final String DAILY = "-daily";
+
+	private static final String SEED = "-seed";
+
+	private static final String ANSWER = "-answer";
+
+	private static final String COLOR = "-color";
+
+	private static final String BATCH = "-batch";
+
+	private static final String METRICS = "-metrics";
+
+	private static final String METRICS_FILE = "-metricsfile";
+
+	/* Batch games are only removed after a day without requests */
+	private static final long BATCH_IDLE_TIMEOUT = 24 * 60 * 60;
+
+	/* Size of the buffers between the batch games and the standard streams */
+	private static final int BATCH_BUFFER = 1 << 16;
+
     public static void main(String[] args) {
+		GameMode mode;
+		int boards;
+		AnswerSource answers;
+		try {
+			startMetrics(args);
+			boards = parseOption(args, BOARDS, 1);
+			mode = parseMode(args, boards);
+			if (WordleModel.getSharedDictionary(mode.getWordLength()).size() == 0) {
+				throw new IllegalArgumentException("There are no words of " + mode.getWordLength() 
+						+ " letters in the dictionary.");
+			}
+			answers = parseAnswers(args, mode, boards);
+			if (boards > 1 && Arrays.asList(args).contains(BATCH)) {
+				throw new IllegalArgumentException("Batch mode can only play single board games.");
+			}
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+			return;
+		}
+
         boolean commandFound = false;
     	for (String str: args) {
     		if (str.equals(TEXTUI)) {
     			commandFound = true;
-    			WordleTextView textView = new WordleTextView();
-    			textView.run();
+    			boolean color = Arrays.asList(args).contains(COLOR);
+    			if (boards > 1) {
+    				MultiBoardTextView textView = new MultiBoardTextView(boards, mode);
+    				textView.setColor(color);
+    				textView.run();
+    			} else {
+    				WordleTextView textView = new WordleTextView(mode, openStore(args), answers);
+    				textView.setColor(color);
+    				textView.run();
+    			}
+    			break;
+    		}
+    		if (str.equals(BATCH)) {
+    			commandFound = true;
+    			runBatch(mode, answers);
     			break;
     		}
     		if (str.equals(GRAPHICSUI)) {
     			commandFound = true;
-                new WordleGUIView();
+    			startGUI(boards, mode, answers, args);
     			break;
     		}
     	}
     	if (!commandFound) {
-    		new WordleGUIView();
+    		startGUI(boards, mode, answers, args);
     	}
     }
+
+	/**
+	 * This private method opens the GUI of a classic or multi board game.
+	 * 
+	 * @param boards The number of boards.
+	 * @param mode The game mode to play.
+	 * @param answers Chooses the answer of every single board game.
+	 * @param args The command arguments of the program.
+	 */
+	private static void startGUI(int boards, GameMode mode, AnswerSource answers, String[] args) {
+		if (boards > 1) {
+			new MultiBoardGUIView(boards, mode);
+		} else {
+			new WordleGUIView(mode, openStore(args), answers);
+		}
+	}
+
+	/**
+	 * This private method plays the requests of STDIN until QUIT or the end of the
+	 * input. Responses are buffered and written when no more requests are waiting,
+	 * so a script that pipes in many requests at once isn't slowed down by a
+	 * write for every response. Batch games are never saved.
+	 * 
+	 * @param mode The game mode of every game.
+	 * @param answers Chooses the answer of a game that is started without one.
+	 */
+	private static void runBatch(GameMode mode, AnswerSource answers) {
+		GameService service = new GameService(BATCH_IDLE_TIMEOUT, mode, answers);
+		BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BATCH_BUFFER);
+		Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BATCH_BUFFER);
+		try {
+			WordleServer.serveLines(in, out, service);
+		} catch (IOException e) {
+			System.err.println("Batch mode stopped: " + e.getMessage());
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	/**
+	 * This private method registers the metrics MBean, so recording can be turned
+	 * on at any time, and turns recording on if it was asked for.
+	 * 
+	 * @param args The command arguments of the program.
+	 */
+	private static void startMetrics(String[] args) {
+		Metrics.registerMBean();
+		List<String> options = Arrays.asList(args);
+		if (options.contains(METRICS)) {
+			Metrics.setEnabled(true);
+		}
+		int index = options.indexOf(METRICS_FILE);
+		if (index >= 0) {
+			if (index + 1 >= args.length) {
+				throw new IllegalArgumentException(METRICS_FILE + " must be followed by a file name.");
+			}
+			Metrics.setEnabled(true);
+			MetricsDumper.start(Path.of(args[index + 1]), MetricsDumper.DEFAULT_PERIOD_SECONDS);
+		}
+	}
+
+	/**
+	 * This private method opens the store that single board games are saved in.
+	 * The game can still be played if the store can't be opened.
+	 * 
+	 * @param args The command arguments of the program.
+	 * @return The store, or null if games shouldn't or can't be saved.
+	 */
+	private static GameStore openStore(String[] args) {
+		if (Arrays.asList(args).contains(NO_SAVE)) {
+			return null;
+		}
+		try {
+			return GameStore.open(GameStore.DEFAULT_DIRECTORY);
+		} catch (IOException e) {
+			System.err.println("Games won't be saved: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * This private method reads the game mode from the command arguments. The
+	 * classic game is used for any option that isn't given.
+	 * 
+	 * @param args The command arguments of the program.
+	 * @param boards The number of boards, which sets the default number of guesses.
+	 * @return The game mode to play.
+	 */
+	private static GameMode parseMode(String[] args, int boards) {
+		if (boards < MultiBoardModel.MIN_BOARDS || boards > MultiBoardModel.MAX_BOARDS) {
+			throw new IllegalArgumentException("The number of boards must be between " 
+					+ MultiBoardModel.MIN_BOARDS + " and " + MultiBoardModel.MAX_BOARDS + ".");
+		}
+		int wordLength = parseOption(args, LETTERS, Constants.WORD_LENGTH);
+		int guessLimit = parseOption(args, GUESSES, MultiBoardModel.defaultGuessLimit(boards));
+		boolean hardMode = Arrays.asList(args).contains(HARD);
+		if (hardMode && boards > 1) {
+			throw new IllegalArgumentException("Hard mode can only be played on a single board.");
+		}
+		return GameMode.of(wordLength, guessLimit, hardMode);
+	}
+
+	/**
+	 * This private method reads how the answers are chosen from the command
+	 * arguments. Answers are random when no option is given.
+	 * 
+	 * @param args The command arguments of the program.
+	 * @param mode The game mode to play.
+	 * @param boards The number of boards.
+	 * @return The source of the answers.
+	 */
+	private static AnswerSource parseAnswers(String[] args, GameMode mode, int boards) {
+		List<String> options = Arrays.asList(args);
+		int given = 0;
+		for (String option : new String[] {DAILY, SEED, ANSWER}) {
+			if (options.contains(option)) {
+				given++;
+			}
+		}
+		if (given == 0) {
+			return AnswerSource.RANDOM;
+		}
+		if (given > 1) {
+			throw new IllegalArgumentException("Only one of " + DAILY + ", " + SEED + " and " + ANSWER 
+					+ " can be given.");
+		}
+		if (boards > 1) {
+			throw new IllegalArgumentException("The answers can only be chosen for a single board.");
+		}
+		if (options.contains(DAILY)) {
+			return AnswerSource.daily(Clock.systemDefaultZone());
+		}
+		int index = options.indexOf(SEED);
+		if (index >= 0) {
+			try {
+				return AnswerSource.seeded(Long.parseLong(args[index + 1]));
+			} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+				throw new IllegalArgumentException(SEED + " must be followed by a number.");
+			}
+		}
+		index = options.indexOf(ANSWER);
+		if (index + 1 >= args.length) {
+			throw new IllegalArgumentException(ANSWER + " must be followed by a word.");
+		}
+		String answer = args[index + 1].toLowerCase();
+		if (!WordleModel.getSharedWordLists(mode.getWordLength()).getAnswers().contains(answer)) {
+			throw new IllegalArgumentException("The answer " + answer + " is not a word of " 
+					+ mode.getWordLength() + " letters in the answer list.");
+		}
+		return AnswerSource.fixed(answer);
+	}
+
+	/**
+	 * This private method reads the number that follows an option.
+	 * 
+	 * @param args The command arguments of the program.
+	 * @param option The name of the option.
+	 * @param defaultValue The number to use when the option isn't given.
+	 * @return The number.
+	 */
+	private static int parseOption(String[] args, String option, int defaultValue) {
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals(option)) {
+				return parseNumber(args, i + 1, option);
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * This private method reads the number that follows an option.
+	 * 
+	 * @param args The command arguments of the program.
+	 * @param index The index of the number.
+	 * @param option The name of the option, used in the error message.
+	 * @return The number.
+	 */
+	private static int parseNumber(String[] args, int index, String option) {
+		try {
+			return Integer.parseInt(args[index]);
+		} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+			throw new IllegalArgumentException(option + " must be followed by a number.");
+		}
+	}
     
 }
@@ -1,14 +1,24 @@
 package view;
 
-import java.util.Observable;
-import java.util.Observer;
+import java.io.IOException;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import controller.WordleController;
+import metrics.Metrics;
+import model.AnswerSource;
+import model.DictionaryTrie;
+import model.GameEvents;
+import model.GameListener;
+import model.GuessScored;
 import model.WordleModel;
-import utilities.Constants;
+import persistence.GameRecorder;
+import persistence.GameStore;
+import persistence.PlayerStats;
+import persistence.SavedGame;
+import utilities.GameMode;
 import utilities.Guess;
-import utilities.INDEX_RESULT;
 import utilities.IllegalGuessException;
 import javax.swing.*;
 import java.awt.*;  
@@ -21,59 +31,127 @@ import java.awt.event.*;
  * user's screen. This view takes in input differently, this view holds a field 
  * that keeps track of how many characters the user has inputed after every key
  * press. The view sends the user input through the controller and updates itself
- * after the model changed. 
+ * after the model changed. Pressing the question mark key shows a recommended guess.
+ * 
+ * Guesses and hints are worked out on background threads so that the window keeps
+ * responding to input. Hints have their own thread, so a slow hint never holds up
+ * a guess. The view and the store listen to the model through GameEvents.async,
+ * so the changes of a guess are applied on the Event Dispatch Thread, and guesses
+ * that arrive together are applied in a single update. Every game is played in the
+ * game mode the window was created with.
+ * 
+ * When the window is given a store, every game is saved as it is played and a game
+ * that wasn't finished the last time is resumed. The game over message also shows 
+ * the player's statistics.
+ * 
+ * While a guess is typed, the letters turn red as soon as no word in the dictionary
+ * starts with them, and the first few words that do are listed under the board. 
+ * Both come from a trie of the dictionary, so every key press costs the same.
  * 
  * @author Luke Genova
  *
  */
-@SuppressWarnings("deprecation")
-public class WordleGUIView extends JFrame implements Observer {
+public class WordleGUIView extends JFrame implements GameListener {
 
     /* Constants for the scene */
 	private static final int FRAME_SIZE = 800;
+	private static final int FRAME_MARGIN = 100;
 
-	/* Constants for grid of letters */
-	private static final int GRID_GAP = 8;
+	/* Font of the label that shows how many words remain */
+	private static final Font CHARACTER_FONT = new Font("Times New Roman", Font.PLAIN, 20);
 
-	/* Constants for letters in progress grid */
-	private static final int LETTER_FONT_SIZE = 40;
-	private static final int LETTER_SQUARE_SIZE = 60;
+	/* Messages shown when a guess or a hint fails for a reason other than the guess */
+	private static final String GUESS_FAILED = "Something went wrong while making the guess.";
+	private static final String HINT_FAILED = "Something went wrong while working out the hint.";
 
-    /* Constant arrays for unique RGB values */
-	private static final int[] UNIQUE_YELLOW = {201, 179, 95};
-	private static final int[] UNIQUE_GREEN = {108, 169, 103};
-	private static final int[] UNIQUE_GRAY = {120, 124, 126};
-	
-	/* Constants for letters in keyboard grid */
-	private static final int CHARACTER_FONT_SIZE = 20;
-	private static final int CHARACTER_SQUARE_HEIGHT = 50;
-	private static final int CHARACTER_SQUARE_WIDTH = 30;
-	private static final int CHARACTER_GRID_GAP = 10;
-	
-	/* Constants containing letters for the keyboard grid */
-	private static final char[] KEYBOARD_FIRST_ROW = {'Q','W','E','R','T','Y','U','I','O','P'};
-	private static final char[] KEYBOARD_SECOND_ROW = {'A','S','D','F','G','H','J','K','L'};
-	private static final char[] KEYBOARD_THIRD_ROW = {'Z','X','C','V','B','N','M'};
-	private static final int KEYBOARD_ROWS = 3;
+	/* Most words listed while a guess is typed, and the fewest letters before they are listed */
+	private static final int MAX_COMPLETIONS = 5;
+	private static final int MIN_COMPLETION_PREFIX = 2;
+
+	/* Runs guesses off the Event Dispatch Thread, one at a time. Shared by every window. */
+	static final ExecutorService GAME_LOGIC = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "wordle-game-logic");
+		thread.setDaemon(true);
+		return thread;
+	});
 
-	private static final int WHITE_VAL = 255;
+	/* Works out hints, which can take seconds, so guesses never wait behind them */
+	private static final ExecutorService HINTS = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "wordle-hints");
+		thread.setDaemon(true);
+		return thread;
+	});
 
 	private WordleController controller;
 	
+	/* The word length and number of guesses of every game */
+	private final GameMode mode;
+	
+	/* Keeps the games and statistics, or null if games aren't saved */
+	private final GameStore store;
+
+	/* Chooses the answer of every game */
+	private final AnswerSource answers;
+	
 	/* Keeps track of the user's input */
 	private String curGuess;
 	
 	/* Used to index into the progress grid*/
-	private int blocksUsed;
 	private int curRow;
 
-	/* References to labels in grid that stores guesses */
-	private JLabel[][] progressGrid;
+	/* Paints the progress grid and the keyboard */
+	private BoardComponent board;
+
+	/* Shows how many words could still be the answer */
+	private JLabel remainingLabel;
+
+	/* Shows the words that start with the letters being typed */
+	private JLabel completionLabel;
 
-	/* Reference to labels in the keyboard grid */
-	private List<List<JLabel>> keyboardGrid;
+	/* Finds the words that start with the letters being typed, and where they are written */
+	private DictionaryTrie trie;
+	private final int[] completions = new int[MAX_COMPLETIONS];
+
+	/* State of the game logic, only used by the Event Dispatch Thread */
+	private boolean guessPending;
+	private boolean hintPending;
+	private boolean gameOver;
 
     public WordleGUIView() {
+		this(GameMode.DEFAULT);
+	}
+
+	/**
+	 * WordleGUIView constructor.
+	 * 
+	 * @param mode The word length and number of guesses of every game.
+	 */
+	public WordleGUIView(GameMode mode) {
+		this(mode, null);
+	}
+
+	/**
+	 * WordleGUIView constructor for games that are saved.
+	 * 
+	 * @param mode The word length and number of guesses of every game.
+	 * @param store The store to save the games in, or null to not save them.
+	 */
+	public WordleGUIView(GameMode mode, GameStore store) {
+		this(mode, store, AnswerSource.RANDOM);
+	}
+	
+	/**
+	 * WordleGUIView constructor for games that are saved and whose answers are chosen
+	 * by a source. An unfinished game is only resumed when answers are random.
+	 * 
+	 * @param mode The word length and number of guesses of every game.
+	 * @param store The store to save the games in, or null to not save them.
+	 * @param answers Chooses the answer of every game.
+	 */
+	public WordleGUIView(GameMode mode, GameStore store, AnswerSource answers) {
+		this.mode = mode;
+		this.store = store;
+		this.answers = answers;
 		start();
 	}
 
@@ -83,41 +161,58 @@ public class WordleGUIView extends JFrame implements Observer {
 	 * 
 	 */
 	private void start(){
-		WordleModel model = new WordleModel();
-        model.addObserver(this);
+		SavedGame saved = store == null || answers != AnswerSource.RANDOM ? null : store.loadSavedGame();
+		WordleModel model = saved != null && saved.getMode().equals(mode) ? saved.newModel() : null;
+		if (model == null) {
+			saved = null;
+			String answer = answers.nextAnswer(WordleModel.getSharedWordLists(mode.getWordLength()).getAnswers());
+			model = new WordleModel(mode, answer);
+		}
+		// The model makes guesses on the game logic thread, their events are
+		// delivered on the Event Dispatch Thread before the result of the guess.
+		model.addListener(GameEvents.async(this, SwingUtilities::invokeLater));
 		controller = new WordleController(model);
+		controller.prepareHints();
 		curGuess = "";
-		blocksUsed = 0;
 		curRow = 0;
-		progressGrid = new JLabel[Constants.NUMBER_OF_GUESSES][Constants.WORD_LENGTH];
-		keyboardGrid = new ArrayList<List<JLabel>>();
-        setSize(FRAME_SIZE, FRAME_SIZE);
 		setTitle("Wordle");
 		setLayout(new BorderLayout());
 
-		JPanel mainPanel = new JPanel();
-  		mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.Y_AXIS));
-
-
-        // Set up progress grid
-        JPanel topGrid = new JPanel();
-        topGrid.setLayout(new GridLayout(Constants.NUMBER_OF_GUESSES, 1, 0, 0));
-        creatingProgressGrid(topGrid);
-        mainPanel.add(topGrid);
-		
-        // Set up keyboard grid
-        JPanel bottomGrid = new JPanel();
-        bottomGrid.setLayout(new GridLayout(KEYBOARD_ROWS, 1, 0 ,0));
-		bottomGrid.setName("Keyboard");
-        creatingKeyboardGrid(bottomGrid);
-        mainPanel.add(bottomGrid);
-
-		mainPanel.setBackground(Color.GRAY);
-		this.add(mainPanel);
+        // Set up the progress grid and keyboard
+		board = new BoardComponent(mode.getGuessLimit(), mode.getWordLength());
+		this.add(board, BorderLayout.CENTER);
+
+		// Long words or many guesses need a larger window than the classic game.
+		Dimension boardSize = board.getPreferredSize();
+		setSize(Math.max(FRAME_SIZE, boardSize.width + FRAME_MARGIN), 
+				Math.max(FRAME_SIZE, boardSize.height + FRAME_MARGIN));
+
+		// Set up the label that shows how many words remain
+		remainingLabel = new JLabel("", SwingConstants.CENTER);
+		remainingLabel.setFont(CHARACTER_FONT);
+		updateRemainingLabel(model.remainingCandidateCount());
+		this.add(remainingLabel, BorderLayout.NORTH);
+
+		// Set up the label that lists words while a guess is typed
+		trie = DictionaryTrie.forDictionary(model.getWordLists().getWords());
+		completionLabel = new JLabel(" ", SwingConstants.CENTER);
+		completionLabel.setFont(CHARACTER_FONT);
+		this.add(completionLabel, BorderLayout.SOUTH);
+
+		// Makes the guesses of an unfinished game again before any new ones are saved.
+		if (saved != null) {
+			saved.replay(controller);
+			curRow = controller.getAttempt() - 1;
+		}
+		if (store != null) {
+			// Saved on the Event Dispatch Thread, where no guess can be made until this one is done.
+			model.addListener(GameEvents.async(new GameRecorder(store, model), SwingUtilities::invokeLater));
+		}
 
         // Event listener for when the window has closed.
         this.addWindowListener(new WindowAdapter() {
         	public void windowClosing(WindowEvent windowEvent){
+        		closeStore();
             	System.exit(0);
         	 }        
       	});
@@ -126,61 +221,37 @@ public class WordleGUIView extends JFrame implements Observer {
 		this.addKeyListener(new KeyListener() {
                 @Override
                 public void keyReleased(KeyEvent key) {
-                    // When the game is over. No more text should be processed.
-					if (controller.isGameOver()) {
+                    // When the game is over or a guess is being worked out. No more 
+					// text should be processed.
+					if (gameOver || guessPending) {
 						return;
 					}
 
-					JPanel board = (JPanel) mainPanel.getComponent(0);
-					int row = curRow;
-					int col = blocksUsed % Constants.WORD_LENGTH;
-
 					// Checks if the user pressed delete or backspace (in order to delete a character for a guess)
 					if (key.getKeyCode() == KeyEvent.VK_DELETE || key.getKeyCode() == KeyEvent.VK_BACK_SPACE) {
 						if (curGuess.length() != 0) {
 							curGuess = curGuess.substring(0, curGuess.length()-1);
-							if (blocksUsed > 0) {
-								blocksUsed--;
-								col = blocksUsed % Constants.WORD_LENGTH;
-							}
-							JPanel curPanel = (JPanel) board.getComponent(row);
-							JLabel prevLabel = (JLabel) curPanel.getComponent(col);
-							prevLabel.setText("");
-							prevLabel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
+							board.clearLetter(curRow, curGuess.length());
+							updateTypingFeedback();
 						}
 						
+					// Checks if the user pressed the question mark key (in order to get a hint)
+					} else if (key.getKeyCode() == KeyEvent.VK_SLASH) {
+						requestHint();
+						
 					// Checks if the user pressed enter (in order to enter a guess)
 					} else if (key.getKeyCode() == KeyEvent.VK_ENTER) {
-						try {
-							controller.makeGuess(curGuess);
-							curGuess = "";
-							curRow++;
-							if (controller.isGameOver()) {
-								String message = "Good game! The word was " + 
-												controller.getAnswer().toUpperCase();
-								String header = "Game Over";
-								showAlert(header, message);
-							}
-						} catch (IllegalGuessException e) {
-							String message = e.getMessage();
-							String header = "Error";
-							showAlert(header, message);
-							
-						}
+						submitGuess(curGuess);
 					} else {
 						char letter = (char) key.getKeyCode();
 						
-						// Makes sure that the current guess isn't longer than 5 words and 
+						// Makes sure that the current guess isn't longer than the word length and 
 						// that the input isn't anything other than a letter. 
-						if (curGuess.length() < Constants.WORD_LENGTH) {
+						if (curGuess.length() < mode.getWordLength()) {
 							if ((letter >= 'a' && letter <= 'z') || (letter >= 'A' && letter <= 'Z')) {
+								board.setLetter(curRow, curGuess.length(), letter);
 								curGuess += letter;
-								JPanel panel = (JPanel) board.getComponent(row);
-								JLabel label = (JLabel) panel.getComponent(col);
-								label.setForeground(Color.BLACK);
-								label.setText("" + letter);
-								label.setBorder(BorderFactory.createLineBorder(Color.BLACK));
-								blocksUsed++;
+								updateTypingFeedback();
 							} else{
 								return;
 							}
@@ -203,170 +274,216 @@ public class WordleGUIView extends JFrame implements Observer {
 
 	}
 
-    /**
-	 * This method is called when the Observed object has changed. 
+	/**
+	 * This private method sends a guess to the controller on the game logic thread.
+	 * The changes the guess made reach the view through its listener, and the 
+	 * result is applied on the Event Dispatch Thread right after them.
 	 * 
-	 * @param o the observable object.
-	 * @param arg this argument contains the changed object.
-	 *
+	 * @param guess a string that contains the user's guess to the game.
 	 */
-	@Override
-	public void update(Observable o, Object arg) {
-		WordleModel newModel = (WordleModel) o;
-		updateProgressGrid(newModel.getProgress());
-		updateKeyboardGrid(newModel.getGuessedCharacters());
+	private void submitGuess(String guess) {
+		guessPending = true;
+		GAME_LOGIC.execute(() -> {
+			// The result is always sent back, so a failed guess never leaves the view waiting.
+			String error = GUESS_FAILED;
+			try {
+				controller.makeGuess(guess);
+				error = null;
+			} catch (IllegalGuessException e) {
+				error = e.getMessage();
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			} finally {
+				boolean over = controller.isGameOver();
+				String answer = controller.getAnswer();
+				String message = error;
+				SwingUtilities.invokeLater(() -> guessFinished(message, over, answer));
+			}
+		});
 	}
 
 	/**
-	 * This is a private helper method that sets 30 labels as children of
-	 * a grid panel. Each label is created and added onto the grid panel.
+	 * This private method applies the result of a guess. It is called on the
+	 * Event Dispatch Thread.
 	 * 
-	 * @param grid A panel that would be used to create the guess attempt
-	 * progress grid.
+	 * @param error a string explaining why the guess was invalid, or null.
+	 * @param over a boolean of whether the game is over.
+	 * @param answer a string that contains the answer of the game.
 	 */
-	private void creatingProgressGrid(JPanel grid){
-		for (int i = 0; i < Constants.NUMBER_OF_GUESSES; i++) {
-			JPanel row = new JPanel();
-			row.setLayout(new FlowLayout(FlowLayout.CENTER, GRID_GAP, GRID_GAP));
-        	for (int j = 0; j < Constants.WORD_LENGTH; j++) {
-        		// Creates a label that represents a single letter
-        		// in the progress grid.
-                JLabel label = new JLabel("", SwingConstants.CENTER);
-                label.setFont(new Font("Times New Roman", Font.PLAIN, LETTER_FONT_SIZE));
-                label.setForeground(Color.BLACK);
-				label.setPreferredSize(new Dimension(LETTER_SQUARE_SIZE, LETTER_SQUARE_SIZE));
-                label.setAlignmentX(Component.CENTER_ALIGNMENT);
-                label.setBackground(Color.WHITE);
-				label.setOpaque(true);
-                label.setBorder(BorderFactory.createLineBorder(Color.GRAY));
-				progressGrid[i][j] = label;
-                row.add(label);
-        	}
-			grid.add(row);
-        }
+	private void guessFinished(String error, boolean over, String answer) {
+		guessPending = false;
+		if (error != null) {
+			board.shakeRow(curRow);
+			showAlert("Error", error);
+			return;
+		}
+		curGuess = "";
+		curRow++;
+		updateTypingFeedback();
+		if (over) {
+			gameOver = true;
+			String message = "Good game! The word was " + answer.toUpperCase();
+			if (store != null) {
+				PlayerStats stats = store.getStats();
+				message += "\nPlayed: " + stats.getPlayed() + "  Win %: " + stats.getWinPercentage() 
+						+ "  Current streak: " + stats.getCurrentStreak() + "  Max streak: " + stats.getMaxStreak();
+			}
+			showAlert("Game Over", message);
+		}
 	}
 
 	/**
-	 * This is a private helper method that sets up the keyboard grid on the bottom
-	 * of the window. The keyboard grid is basically a panel with a grid layout that
-	 * containing 3 children, each of them are panels with grid layouts, 
-	 * these panels would have several children which are labels.
-	 * 
-	 * @param grid A panel that would be used to create the guess attempt
-	 * progress grid.
+	 * This private method works out a hint on the hint thread and shows it on the 
+	 * Event Dispatch Thread. What the hint needs is taken from the game on the game
+	 * logic thread, so the user can keep typing and guessing in the meantime. A hint
+	 * that arrives after another guess was made or a new game was started is 
+	 * dropped, since it was worked out for a board that is gone.
 	 */
-	private void creatingKeyboardGrid(JPanel grid){
-
-		for (int i = 0; i < KEYBOARD_ROWS; i++) {
-
-			char[] keys;
-			JPanel row = new JPanel();
-			row.setLayout(new FlowLayout(FlowLayout.CENTER, CHARACTER_GRID_GAP, 0));
-			List<JLabel> uiRow = new ArrayList<JLabel>();
-
-			// Determines what row of letters on the keyboard 
-        	// should be used to create labels.
-        	if (i == 0) {
-        		keys = KEYBOARD_FIRST_ROW;
-        	} else if (i == 1) {
-        		keys = KEYBOARD_SECOND_ROW;
-        	} else {
-        		keys = KEYBOARD_THIRD_ROW;
-        	}
-
-        	for (int j = 0; j < keys.length; j++) {
-
-        		// Creates a label that represents a single letter
-        		// in the keyboard grid and is added to a panel.
-        		JLabel label = new JLabel(Character.toString(keys[j]), SwingConstants.CENTER);
-        		label.setFont(new Font("Times New Roman", Font.PLAIN, CHARACTER_FONT_SIZE));
-        		label.setForeground(Color.BLACK);
-				label.setPreferredSize(new Dimension(CHARACTER_SQUARE_WIDTH, CHARACTER_SQUARE_HEIGHT));
-        		label.setAlignmentX(Component.CENTER_ALIGNMENT);
-        		label.setBackground(new Color(220, 220, 220));
-				label.setOpaque(true);
-        		label.setBorder(BorderFactory.createLineBorder(Color.WHITE));
-				uiRow.add(label);
-        		row.add(label);
-        	}
-			keyboardGrid.add(uiRow);
-        	grid.add(row);
+	private void requestHint() {
+		if (hintPending) {
+			return;
+		}
+		hintPending = true;
+		WordleController hinted = controller;
+		int row = curRow;
+		GAME_LOGIC.execute(() -> {
+			Supplier<String> task;
+			try {
+				task = hinted.hintTask();
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+				SwingUtilities.invokeLater(() -> hintFinished(hinted, row, null, HINT_FAILED));
+				return;
+			}
+			HINTS.execute(() -> {
+				// The result is always sent back, so a failed hint never blocks the next one.
+				String hint = null;
+				String error = HINT_FAILED;
+				try {
+					hint = task.get();
+					error = null;
+				} catch (RuntimeException e) {
+					e.printStackTrace();
+				} finally {
+					String result = hint;
+					String message = error;
+					SwingUtilities.invokeLater(() -> hintFinished(hinted, row, result, message));
+				}
+			});
+		});
+	}
 
+	/**
+	 * This private method shows a hint once it has been worked out. It is called
+	 * on the Event Dispatch Thread.
+	 * 
+	 * @param hinted the controller of the game the hint was asked for.
+	 * @param row the row the user was on when the hint was asked for.
+	 * @param hint a string of the recommended guess, or null if there is none.
+	 * @param error a string explaining why the hint couldn't be worked out, or null.
+	 */
+	private void hintFinished(WordleController hinted, int row, String hint, String error) {
+		hintPending = false;
+		if (error != null) {
+			showAlert("Error", error);
+			return;
+		}
+		if (hint != null && hinted == controller && row == curRow && !guessPending && !gameOver) {
+			showAlert("Hint", "Try " + hint.toUpperCase());
 		}
 	}
 
 	/**
-	 * This private method updates the progress grid which is represented by
-	 * a grid pane with labels as children and changes the color of the boxes
-	 * in the grid.
+	 * This method is called on the Event Dispatch Thread with the guesses the
+	 * model scored since the last call, which is usually just one.
 	 * 
-	 * @param progress An array holding the total amount of guesses the user made.
+	 * @param events the changes of every guess, oldest first.
 	 */
-	private void updateProgressGrid(Guess[] progress) {
-		int row = blocksUsed / Constants.NUMBER_OF_GUESSES;
-		Guess guess = progress[controller.getAttempt()-1];
-		INDEX_RESULT[] indices = guess.getIndices();
-		String str_guess = guess.getGuess();
-		for (int i = 0; i < str_guess.length(); i++) {
-			JLabel curLabel = progressGrid[row][i];
-			curLabel.setForeground(Color.WHITE);
-			curLabel.setBorder(null);
-			
-			// Change the color of a label 
-			String description = indices[i].getDescription();
-			if (description.equals("Correct")) {
-				changeBoxColor(curLabel, "Green");
-			} else if (description.equals("Correct letter, wrong index")) {
-				changeBoxColor(curLabel, "Yellow");
-			} else {
-				changeBoxColor(curLabel, "Gray");
-			}
+	@Override
+	public void guessesScored(List<GuessScored> events) {
+		long start = Metrics.startTimer();
+		GameListener.super.guessesScored(events);
+		Metrics.VIEW_UPDATE.recordSince(start);
+	}
+
+    /**
+	 * This method is called when the model has scored a guess. Only the row 
+	 * of the guess and the keys of the letters that changed are repainted.
+	 * 
+	 * @param event the changes the guess made.
+	 *
+	 */
+	@Override
+	public void guessScored(GuessScored event) {
+		Guess guess = event.getGuess();
+		board.revealRow(event.getRow(), guess.getGuess(), guess.getIndices());
+		for (int i = 0; i < event.getChangedLetterCount(); i++) {
+			board.setKeyState(event.getChangedLetter(i), event.getChangedResult(i));
 		}
-		
+		updateRemainingLabel(event.getRemainingCandidates());
 	}
-	
+
 	/**
-	 * This private method updates the keyboard grid which is represented by
-	 * a grid pane with HBoxs and labels as children and changes the color of the boxes
-	 * in the grid.
+	 * This private method updates the label that shows how many words 
+	 * could still be the answer.
 	 * 
-	 * @param guessedCharacters an array describing the usage result for each letter in the alphabet.
+	 * @param remaining the number of words that could still be the answer.
 	 */
-	private void updateKeyboardGrid(INDEX_RESULT[] guessedCharacters) {
-		for (int i = 0; i < guessedCharacters.length; i++) {
-			if (guessedCharacters[i] != null) {
-				char letter = (char) (i+65);
-				
-				// Get the index of the HBox and get the label representing the specific letter.
-				List<JLabel> row;
-				JLabel label;
-				int first_index = inArray(letter, KEYBOARD_FIRST_ROW);
-				int second_index = inArray(letter, KEYBOARD_SECOND_ROW);
-				int third_index = inArray(letter, KEYBOARD_THIRD_ROW);
-				if (first_index != -1) {
-					row = keyboardGrid.get(0);
-					label = row.get(first_index);
-				} else if (second_index != -1) {
-					row = keyboardGrid.get(1);
-					label = row.get(second_index);
-				} else {
-					row = keyboardGrid.get(2);
-					label = row.get(third_index);
-				}
-				label.setForeground(Color.WHITE);
-				label.setBorder(null);
-				
-				// Change the color of a label 
-				String category = guessedCharacters[i].getDescription();
-				if (category.equals("Correct")) {
-					changeBoxColor(label, "Green");
-				} else if (category.equals("Correct letter, wrong index")) {
-					changeBoxColor(label, "Yellow");
-				} else {
-					changeBoxColor(label, "Gray");
-				}
-						
+	private void updateRemainingLabel(int remaining) {
+		if (remaining == 1) {
+			remainingLabel.setText("1 word remains");
+		} else {
+			remainingLabel.setText(remaining + " words remain");
+		}
+	}
+
+	/**
+	 * This private method flags the current row when no word starts with the
+	 * letters typed so far, and otherwise lists the first words that do.
+	 */
+	private void updateTypingFeedback() {
+		if (curGuess.isEmpty()) {
+			board.setFlaggedRow(-1);
+			completionLabel.setText(" ");
+			return;
+		}
+		if (!trie.hasPrefix(curGuess)) {
+			board.setFlaggedRow(curRow);
+			completionLabel.setText("No word starts with " + curGuess.toUpperCase());
+			return;
+		}
+		board.setFlaggedRow(-1);
+		if (curGuess.length() < MIN_COMPLETION_PREFIX || curGuess.length() == mode.getWordLength()) {
+			completionLabel.setText(" ");
+			return;
+		}
+		int count = trie.completions(curGuess, completions);
+		StringBuilder text = new StringBuilder(64);
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				text.append("  ");
 			}
+			text.append(trie.getDictionary().wordAt(completions[i]).toUpperCase());
+		}
+		int more = trie.countWithPrefix(curGuess) - count;
+		if (more > 0) {
+			text.append("  and ").append(more).append(" more");
+		}
+		completionLabel.setText(text.toString());
+	}
+
+	/**
+	 * This private method writes everything that is waiting in the store to 
+	 * the disk before the program exits.
+	 */
+	private void closeStore() {
+		if (store == null) {
+			return;
+		}
+		try {
+			store.close();
+		} catch (IOException e) {
+			System.err.println("Could not save the statistics: " + e.getMessage());
 		}
 	}
 
@@ -380,6 +497,8 @@ public class WordleGUIView extends JFrame implements Observer {
 	private void showAlert(String header, String content) {
 		if (header.equals("Error")) {
 			JOptionPane.showMessageDialog(this, content, header, JOptionPane.ERROR_MESSAGE);
+		} else if (header.equals("Hint")) {
+			JOptionPane.showMessageDialog(this, content, header, JOptionPane.INFORMATION_MESSAGE);
 		} else {
 			String[] options = {"Restart", "Exit Game"};
 			int result = JOptionPane.showOptionDialog(this, content, header, 
@@ -387,72 +506,17 @@ public class WordleGUIView extends JFrame implements Observer {
 									null, options, options[0]);
 			if (result == JOptionPane.YES_OPTION){
 				// Play a new game
-				new WordleGUIView();
-				this.setVisible(false);
+				new WordleGUIView(mode, store, answers);
+				this.dispose();
 
 			}
 
 			if (result == JOptionPane.NO_OPTION){
+				closeStore();
 				System.exit(0);
 			}
 		}
 		return;
 		
 	}
-
-	/**
-	 * This private method changes the background color of the boxes
-	 * in the progress grid which are represented by labels. Determines 
-	 * which custom rgb color values which are stored as constant integer arrays to
-	 * use.
-	 * 
-	 * @param label the label that will have its background changed to a specific
-	 * color.
-	 * @param color a string that is used to determine which custom rgb to use.
-	 * 
-	 */
-	private static void changeBoxColor(JLabel label, String color) {
-		final int red;
-		final int green;
-		final int blue;
-		
-		if (color.equals("Green")) {
-			red = UNIQUE_GREEN[0];
-			green = UNIQUE_GREEN[1];
-			blue = UNIQUE_GREEN[2];
-			
-		} else if (color.equals("Yellow")) {
-			red = UNIQUE_YELLOW[0];
-			green = UNIQUE_YELLOW[1];
-			blue = UNIQUE_YELLOW[2];
-		} else {
-			red = UNIQUE_GRAY[0];
-			green = UNIQUE_GRAY[1];
-			blue = UNIQUE_GRAY[2];
-		}
-
-		label.setForeground(new Color(WHITE_VAL, WHITE_VAL, WHITE_VAL));
-		label.setBackground(new Color(red, green, blue));
-		
-	}
-
-	/** 
-	 * This private helper method searches through an array of characters and 
-	 * returns the index of a character if its found. Used to index into the
-	 * panel and the label inside the panel which represents the guessed 
-	 * character grid.
-	 * 
-	 * @param letter a character representing a letter of the alphabet. 
-	 * @param array an array of letters.
-	 * @return an integer representing the the index position of the letter Returns
-	 * -1 if the letter isn't in the array
-	 */
-	private int inArray(char letter, char[] array) {
-		for (int i = 0; i < array.length; i++) {
-			if (array[i] == letter) {
-				return i;
-			}
-		}
-		return -1;
-	}	
 }
@@ -1,16 +1,23 @@
 package view;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Observable;
-import java.util.Observer;
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.PrintStream;
 
 import controller.WordleController;
+import metrics.Metrics;
+import model.AnswerSource;
+import model.GameListener;
+import model.GuessScored;
 import model.WordleModel;
+import persistence.GameRecorder;
+import persistence.GameStore;
+import persistence.PlayerStats;
+import persistence.SavedGame;
+import utilities.Constants;
+import utilities.GameMode;
 import utilities.Guess;
+import utilities.GuessCheck;
 import utilities.INDEX_RESULT;
-import utilities.IllegalGuessException;
 
 
 /**
@@ -21,14 +28,93 @@ import utilities.IllegalGuessException;
  * output). The view sends the user input through the controller and updates itself
  * after the model changed. The text UI also has a feature were it asks the user if they
  * want to play again and it will restart and play a new game if the user
- * requested it. 
+ * requested it. Typing "hint" instead of a guess shows a recommended guess.
+ * Every game is played in the game mode the view was created with.
  * 
+ * When the view is given a store, every game is saved as it is played and the
+ * player's statistics are shown after each game. A game that wasn't finished the
+ * last time is resumed when the view starts.
+ * 
+ * Each frame is drawn by a TextRenderer and written out in one go, and every
+ * prompt reads from the same shared reader, so the view can be driven by a
+ * script that pipes in many lines at once.
  * 
  * @author Luke Genova
  *
  */
-@SuppressWarnings("deprecation")
-public class WordleTextView implements Observer{
+public class WordleTextView implements GameListener {
+	
+	private static final String HINT = "hint";
+	
+	/* The word length and number of guesses of every game */
+	private final GameMode mode;
+	
+	/* The view's own copy of the progress, filled in from events */
+	private Guess[] progress;
+	
+	/* The view's own copy of the result of each letter, filled in from events */
+	private INDEX_RESULT[] guessedCharacters;
+	
+	/* Keeps the games and statistics, or null if games aren't saved */
+	private final GameStore store;
+
+	/* Chooses the answer of every game */
+	private final AnswerSource answers;
+	
+	/* Draws every frame into the same buffer */
+	private final TextRenderer renderer = new TextRenderer(false);
+	
+	/* Every line is written through the shared buffered output */
+	private final PrintStream out = TextConsole.OUT;
+	
+	/**
+	 * WordleTextView constructor for the classic game.
+	 */
+	public WordleTextView() {
+		this(GameMode.DEFAULT);
+	}
+	
+	/**
+	 * WordleTextView constructor.
+	 * 
+	 * @param mode The word length and number of guesses of every game.
+	 */
+	public WordleTextView(GameMode mode) {
+		this(mode, null);
+	}
+	
+	/**
+	 * WordleTextView constructor for games that are saved.
+	 * 
+	 * @param mode The word length and number of guesses of every game.
+	 * @param store The store to save the games in, or null to not save them.
+	 */
+	public WordleTextView(GameMode mode, GameStore store) {
+		this(mode, store, AnswerSource.RANDOM);
+	}
+	
+	/**
+	 * WordleTextView constructor for games that are saved and whose answers are chosen
+	 * by a source. An unfinished game is only resumed when answers are random.
+	 * 
+	 * @param mode The word length and number of guesses of every game.
+	 * @param store The store to save the games in, or null to not save them.
+	 * @param answers Chooses the answer of every game.
+	 */
+	public WordleTextView(GameMode mode, GameStore store, AnswerSource answers) {
+		this.mode = mode;
+		this.store = store;
+		this.answers = answers;
+	}
+	
+	/**
+	 * Turns ANSI colours on or off for the progress grid and the letters.
+	 * 
+	 * @param color A boolean of whether to use ANSI colours.
+	 */
+	public void setColor(boolean color) {
+		renderer.setColor(color);
+	}
 	
 	/**
 	 * This method starts the textUI version of Wordle.
@@ -38,16 +124,44 @@ public class WordleTextView implements Observer{
 		
 		// Keeps looping until the user doesn't want to play anymore.
 		while (keepPlaying) {
-			WordleModel model = new WordleModel();
-			WordleController controller = new WordleController(model);
-			
-			model.addObserver(this);
+			SavedGame saved = store == null || answers != AnswerSource.RANDOM ? null : store.loadSavedGame();
+			WordleModel model = saved != null && saved.getMode().equals(mode) ? saved.newModel() : null;
+			WordleController controller;
+			if (model != null) {
+				controller = new WordleController(model);
+				saved.replay(controller);
+				progress = model.getProgress().clone();
+				guessedCharacters = model.getGuessedCharacters().clone();
+				renderer.clear().line("Resuming your last game.").progress(progress, mode.getWordLength()).line("")
+						.guessedCharacters(guessedCharacters).line("").flushTo(out);
+			} else {
+				String answer = answers.nextAnswer(WordleModel.getSharedWordLists(mode.getWordLength()).getAnswers());
+				model = new WordleModel(mode, answer);
+				controller = new WordleController(model);
+				progress = new Guess[mode.getGuessLimit()];
+				guessedCharacters = new INDEX_RESULT[Constants.LETTERS_IN_ALPHABET];
+			}
+			controller.prepareHints();
+			model.addListener(this);
+			if (store != null) {
+				model.addListener(new GameRecorder(store, model));
+			}
 			
 			while (!controller.isGameOver()) {
 				
-				Scanner userInput = new Scanner(System.in);
-				System.out.print("Enter a guess: ");
-				String guess= userInput.nextLine();
+				String guess = TextConsole.readLine("Enter a guess: ");
+				if (guess == null) {
+					// Standard input ended, so there is nobody left to play. An unfinished
+					// game stays saved.
+					closeStore();
+					return;
+				}
+				
+				if (guess.trim().equalsIgnoreCase(HINT)) {
+					out.println("Hint: try " + controller.suggestGuess().toUpperCase());
+					out.println("");
+					continue;
+				}
 				
 				boolean exceptionCaught = checkingExceptions(guess, controller); 
 				if (exceptionCaught) {
@@ -55,15 +169,17 @@ public class WordleTextView implements Observer{
 				}
 			}
 			
-			System.out.println("Good game! The word was " + controller.getAnswer().toUpperCase());
+			out.println("Good game! The word was " + controller.getAnswer().toUpperCase());
+			if (store != null) {
+				out.println(printStats(store.getStats()));
+			}
 			
 			// Ask the user if they want to play again, if not then the main loop would
 			// stop which ends the program.
 			boolean questionAnswered = false;
 			while (!questionAnswered) {
-				Scanner userInput = new Scanner(System.in);
-				System.out.print("Would you like to play again?(yes/no) ");
-				String play_again = userInput.nextLine().toLowerCase();
+				String line = TextConsole.readLine("Would you like to play again?(yes/no) ");
+				String play_again = line == null ? "no" : line.toLowerCase();
 				questionAnswered = answeredQuestion(play_again);
 				if (play_again.equals("no")) {
 					keepPlaying = false;
@@ -71,23 +187,41 @@ public class WordleTextView implements Observer{
 			}
 			
 		}
+		out.flush();
+		closeStore();
+	}
+	
+	/**
+	 * This private method writes everything that is waiting in the store to the disk.
+	 */
+	private void closeStore() {
+		if (store == null) {
+			return;
+		}
+		try {
+			store.close();
+		} catch (IOException e) {
+			System.err.println("Could not save the statistics: " + e.getMessage());
+		}
 	}
 	
 	/**
-	 * This method is called when the Observed object has changed. 
+	 * This method is called when the model has scored a guess. Only the row of
+	 * the guess and the letters that changed are copied into the view.
 	 *
-	 * @param o the observable object.
-	 * @param arg this argument contains the changed object.
+	 * @param event the changes the guess made.
 	 * 
 	 */
 	@Override
-	public void update(Observable o, Object arg) {
-		WordleModel newModel = (WordleModel) o;
-		System.out.println(printProgress(newModel.getProgress()));
-		System.out.println(printGuessedCharacters(newModel.getGuessedCharacters()));
-		System.out.println("");
-		System.out.println("");
-		
+	public void guessScored(GuessScored event) {
+		long start = Metrics.startTimer();
+		progress[event.getRow()] = event.getGuess();
+		for (int i = 0; i < event.getChangedLetterCount(); i++) {
+			guessedCharacters[event.getChangedLetter(i)] = event.getChangedResult(i);
+		}
+		renderer.clear().progress(progress, mode.getWordLength()).line("")
+				.guessedCharacters(guessedCharacters).line("").line("").line("").flushTo(out);
+		Metrics.VIEW_UPDATE.recordSince(start);
 	}
 	
 	/**
@@ -103,9 +237,9 @@ public class WordleTextView implements Observer{
 		if (answer.equals("no")) {
 			return true;
 		} else if (!answer.equals("no") && !answer.equals("yes")){
-			System.out.println("");
-			System.out.println("You didn't answer with yes or no. Answer again.");
-			System.out.println("");
+			TextConsole.OUT.println("");
+			TextConsole.OUT.println("You didn't answer with yes or no. Answer again.");
+			TextConsole.OUT.println("");
 			return false;
 		} else {
 			return true;
@@ -113,128 +247,80 @@ public class WordleTextView implements Observer{
 	}
 	
 	/**
-	 * This function generally checks for exceptions when calling the makeGuess
-	 * method from the controller.
+	 * This function makes a guess through the controller and prints why the guess
+	 * was rejected, if it was.
 	 * 
 	 * @param guess A string that contains the user's guess to the game.
 	 * @param controller A controller object that represents the controller component of the MVC.
-	 * @return A boolean value that determines if the function caught an exception from
-	 * the makeGuess method in the Controller class.
+	 * @return A boolean value that determines if the guess was rejected by the controller.
 	 */
 	public static boolean checkingExceptions(String guess, WordleController controller) {
-		
-		// Pass the string guess to the controller makeGuess 
-		try {
-			controller.makeGuess(guess);
-		} catch (IllegalGuessException e) {
-			System.out.println(e.getMessage());	
-			System.out.println("");
+		GuessCheck check = controller.tryGuess(guess);
+		if (!check.isValid()) {
+			TextConsole.OUT.println(controller.explain(guess, check));	
+			TextConsole.OUT.println("");
 			return true;
 		}
 		return false;
 	}
 	
 	
+	/**
+     * This function prints out the current results of a game of five letter words
+     * at some point.
+     * 
+     * @param progress An array holding the total amount of guesses the user made.
+     * @return a string that contains the result of the guess in the progress grid.
+     * 
+     */
+	public static String printProgress(Guess[] progress) {
+		return printProgress(progress, Constants.WORD_LENGTH);
+	}
+	
 	/**
      * This function prints out the current results of a game at some point.
      * 
      * @param progress An array holding the total amount of guesses the user made.
+     * @param wordLength The number of letters in a word, used for the rows that
+     * haven't been guessed yet.
      * @return a string that contains the result of the guess in the progress grid.
      * 
      */
-	private static String printProgress(Guess[] progress) {
-		String result = "";
-		for (int i = 0; i < progress.length; i++) {
-			if (progress[i] != null) {
-				Guess guess = progress[i];
-				INDEX_RESULT[] indices = guess.getIndices();
-				String str_guess = guess.getGuess();
-				for (int j = 0; j < str_guess.length(); j++) {
-					char letter = str_guess.charAt(j);
-					if (indices[j].getDescription().equals("Correct")) {
-						result += Character.toUpperCase(letter) + " ";
-						
-					} else if (indices[j].getDescription().equals("Correct letter, wrong index")) {
-						result += Character.toLowerCase(letter) + " "; 
-					} else {
-						result += "_ ";
-					}
-				}
-				result += "\n";
-				
-			} else {
-				for (int j = 0; j < progress.length-1; j++) {
-					result += "_ ";
-				}
-				result += "\n";
-			}
-		}
-		result += "\n";
-		return result;
-		
+	public static String printProgress(Guess[] progress, int wordLength) {
+		StringBuilder result = new StringBuilder((wordLength * 2 + 1) * progress.length + 1);
+		TextRenderer.appendProgress(result, progress, wordLength, false);
+		return result.toString();
 	}
 	
 	/**
-	 * This private function prints out the usage result of each letter in the alphabet.
+	 * This function prints out the statistics of every game the player finished.
 	 * 
-	 * @param guessedCharacters An array describing the usage result for each letter in the alphabet.
+	 * @param stats The statistics of the player.
+	 * @return a string that contains the statistics and the number of games won in
+	 * each number of guesses.
 	 */
-	private static String printGuessedCharacters(INDEX_RESULT[] guessedCharacters) {
-		String category = "";
-		int categories = 4;
-		String result = "";
-		for (int i = 0; i < categories; i++) {
-			if (i == 0) {
-				category = "Unguessed";
-			}
-			if (i == 1) {
-				category = "Incorrect";
-			}
-			if (i == 2) {
-				category = "Correct";
-			} 
-			if (i == 3) {
-				category = "Correct letter, wrong index";
-			}
-			List<Character> listOfLetters = iteratingGuessedCharacters(category, guessedCharacters);
-			if (listOfLetters.size() == 0) {
-				continue;
-			} else {
-				result += category + " [";
-				result += listOfLetters.get(0);
-				for (int j = 1; j < listOfLetters.size(); j++) {
-					result += ", " + listOfLetters.get(j);
-				}
-				result += "]\n";
-			}
+	public static String printStats(PlayerStats stats) {
+		StringBuilder result = new StringBuilder();
+		result.append("Played: ").append(stats.getPlayed());
+		result.append("  Win %: ").append(stats.getWinPercentage());
+		result.append("  Current streak: ").append(stats.getCurrentStreak());
+		result.append("  Max streak: ").append(stats.getMaxStreak()).append("\n");
+		for (int guesses = 1; guesses <= stats.getMostGuessesToWin(); guesses++) {
+			result.append(guesses).append(": ").append(stats.getWinsIn(guesses)).append("\n");
 		}
-		return result;
+		return result.toString();
 	}
 	
 	/**
-	 * This private function iterates through the array of letter results and creates a list 
-	 * that contains all the letters that where in a specific category.
+	 * This function prints out the usage result of each letter in the alphabet.
 	 * 
-	 * @param category A string that represents the name of a specific category of guessed letters.
 	 * @param guessedCharacters An array describing the usage result for each letter in the alphabet.
-	 * @return A list of characters where the characters represents letters in the alphabet.
+	 * @return a string that lists the letters of every result.
 	 */
-	private static List<Character> iteratingGuessedCharacters(String category, INDEX_RESULT[] guessedCharacters) {
-		List<Character> letters = new ArrayList<Character>();
-		char letter = ' ';
-		for (int i = 0; i < guessedCharacters.length; i++) {
-			letter = (char) (i + 65);
-			if (guessedCharacters[i] == null) {
-				if (category.equals("Unguessed")) {
-					letters.add(letter);
-				} 
-			} else {
-				if (guessedCharacters[i].getDescription().equals(category)) {
-					letters.add(letter);
-				} 
-			}
-		}
-		return letters;
+	public static String printGuessedCharacters(INDEX_RESULT[] guessedCharacters) {
+		StringBuilder result = new StringBuilder(160);
+		TextRenderer.appendGuessedCharacters(result, guessedCharacters, false);
+		return result.toString();
 	}
 
 }